@@ -1,5 +1,6 @@
 plugins {
     id("io.freefair.lombok") version "8.11"
+    id("me.champeau.jmh") version "0.7.2"
     `maven-publish`
     `java-library`
     java
@@ -16,6 +17,10 @@ repositories {
 dependencies {
     compileOnly("io.papermc.paper:paper-api:1.21.11-R0.1-SNAPSHOT")
     compileOnly("org.jetbrains:annotations:26.0.2-1")
+
+    // Benchmarks run headless, so the API jar is needed at runtime there
+    jmh("io.papermc.paper:paper-api:1.21.11-R0.1-SNAPSHOT")
+    jmh("org.jetbrains:annotations:26.0.2-1")
 }
 
 java {
@@ -29,6 +34,47 @@ tasks.withType<JavaCompile>().configureEach {
     options.compilerArgs.add("-parameters")
 }
 
+// ---- JMH benchmarks ----
+jmh {
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    (project.findProperty("jmh.includes") as String?)?.let { includes.set(listOf(it)) }
+}
+
+// Copies the latest run over the committed baseline
+tasks.register<Copy>("jmhBaseline") {
+    group = "benchmark"
+    description = "Records the latest JMH results as the local baseline"
+    dependsOn("jmh")
+    from(layout.buildDirectory.file("results/jmh/results.json"))
+    into(layout.projectDirectory.dir("benchmarks"))
+    rename { "baseline.json" }
+}
+
+// ---- Load test harness ----
+// Headless, reuses the JMH Bukkit stubs; not part of the published jar
+val loadtest by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output + sourceSets["jmh"].output
+    runtimeClasspath += output + compileClasspath
+}
+
+dependencies {
+    "loadtestImplementation"("io.papermc.paper:paper-api:1.21.11-R0.1-SNAPSHOT")
+    "loadtestImplementation"("org.jetbrains:annotations:26.0.2-1")
+}
+
+tasks.register<JavaExec>("loadtest") {
+    group = "verification"
+    description = "Simulates players against an in-memory storage and reports throughput and latency"
+    classpath = loadtest.runtimeClasspath
+    mainClass.set("com.glance.codex.loadtest.LoadTest")
+    jvmArgs("-Xms1g", "-Xmx1g")
+    (project.findProperty("args") as String?)?.let { args(it.split(" ").filter(String::isNotBlank)) }
+}
+
 // ---- GitHub Packages publishing ----
 publishing {
     publications {
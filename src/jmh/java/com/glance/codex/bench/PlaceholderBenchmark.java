@@ -0,0 +1,62 @@
+package com.glance.codex.bench;
+
+import com.glance.codex.api.collectable.config.model.command.CommandTemplate;
+import com.glance.codex.bench.support.SimplePlaceholderService;
+import com.glance.codex.bench.support.Stubs;
+import org.bukkit.OfflinePlayer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Placeholder expansion: full {@code apply} rescans versus a precompiled template fill
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PlaceholderBenchmark {
+
+    private static final String TEMPLATE =
+        "give {player} minecraft:paper{display:{Name:'{entry}'}} {amount} - {server} {world}";
+
+    private SimplePlaceholderService service;
+    private CommandTemplate compiled;
+    private OfflinePlayer player;
+    private Map<String, String> locals;
+
+    @Setup
+    public void setup() {
+        service = new SimplePlaceholderService();
+        for (int i = 0; i < 20; i++) {
+            String value = "value_" + i;
+            service.registerDynamic("global_" + i, () -> value);
+        }
+        service.registerDynamic("server", () -> "lobby-1");
+        service.registerDynamic("world", p -> "world");
+
+        compiled = CommandTemplate.compile(TEMPLATE);
+        player = Stubs.offlinePlayer(UUID.randomUUID(), "Steve");
+        locals = Map.of("player", "Steve", "entry", "Ancient Scroll", "amount", "1");
+    }
+
+    @Benchmark
+    public String apply() {
+        return service.apply(TEMPLATE, player, locals);
+    }
+
+    @Benchmark
+    public String compiledFill() {
+        return compiled.fill(key -> {
+            String local = locals.get(key);
+            return local != null ? local : service.resolve(key, player);
+        });
+    }
+
+    @Benchmark
+    public CommandTemplate compile() {
+        return CommandTemplate.compile(TEMPLATE);
+    }
+
+}
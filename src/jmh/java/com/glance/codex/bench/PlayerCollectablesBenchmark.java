@@ -0,0 +1,70 @@
+package com.glance.codex.bench;
+
+import com.glance.codex.api.data.PlayerCollectables;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot-path operations on an in-memory {@link PlayerCollectables}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PlayerCollectablesBenchmark {
+
+    @Param({"100", "5000"})
+    public int unlocked;
+
+    private PlayerCollectables progress;
+    private String[] ids;
+    private int cursor;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        progress = new PlayerCollectables();
+        ids = new String[unlocked * 2];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = "entry_" + i;
+        }
+        for (int i = 0; i < unlocked; i++) {
+            progress.markUnlock("notes", ids[i], i);
+        }
+    }
+
+    private String next() {
+        cursor = (cursor + 1) % ids.length;
+        return ids[cursor];
+    }
+
+    @Benchmark
+    public boolean isUnlocked() {
+        return progress.isUnlocked("notes", next());
+    }
+
+    @Benchmark
+    public boolean isUnlockedMissingNamespace() {
+        return progress.isUnlocked("fish", next());
+    }
+
+    @Benchmark
+    public boolean markUnlockExisting() {
+        return progress.markUnlock("notes", ids[cursor = (cursor + 1) % unlocked], 1L);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1000)
+    public PlayerCollectables markUnlockFresh() {
+        PlayerCollectables fresh = new PlayerCollectables();
+        for (int i = 0; i < 1000; i++) {
+            fresh.markUnlock("notes", ids[i % ids.length], i);
+        }
+        return fresh;
+    }
+
+    @Benchmark
+    public void markReplay() {
+        progress.markReplay("notes", next(), 1L);
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.glance.codex.bench;
+
+import com.glance.codex.utils.lifecycle.ClassAccessors;
+import com.glance.codex.utils.lifecycle.FieldAccessor;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Config binding primitives: plain reflection (the previous {@code ReflectionUtils} path)
+ * against the cached accessors from {@link ClassAccessors}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ReflectionBenchmark {
+
+    public static class Handler {
+        public String name = "";
+        public int modelData;
+        public boolean showWhenLocked;
+        public List<String> lore = List.of();
+    }
+
+    private Field name;
+    private Field modelData;
+    private FieldAccessor nameAccessor;
+    private FieldAccessor modelDataAccessor;
+    private Handler instance;
+
+    @Setup
+    public void setup() throws NoSuchFieldException {
+        name = Handler.class.getField("name");
+        modelData = Handler.class.getField("modelData");
+        ClassAccessors accessors = ClassAccessors.of(Handler.class);
+        nameAccessor = accessors.field(name);
+        modelDataAccessor = accessors.field(modelData);
+        instance = new Handler();
+    }
+
+    @Benchmark
+    public Object reflectionInstantiate() throws ReflectiveOperationException {
+        return Handler.class.getDeclaredConstructor().newInstance();
+    }
+
+    @Benchmark
+    public Object accessorInstantiate() {
+        return ClassAccessors.of(Handler.class).newInstance();
+    }
+
+    @Benchmark
+    public Object reflectionGet() throws IllegalAccessException {
+        return name.get(instance);
+    }
+
+    @Benchmark
+    public Object accessorGet() {
+        return nameAccessor.get(instance);
+    }
+
+    @Benchmark
+    public Handler reflectionSet() throws IllegalAccessException {
+        name.set(instance, "Ancient Scroll");
+        modelData.set(instance, 1001);
+        return instance;
+    }
+
+    @Benchmark
+    public Handler accessorSet() {
+        nameAccessor.set(instance, "Ancient Scroll");
+        modelDataAccessor.set(instance, 1001);
+        return instance;
+    }
+
+    /** Full bind of one entry, as the loader does per config node */
+    @Benchmark
+    public Handler reflectionBind() throws ReflectiveOperationException {
+        Handler handler = Handler.class.getDeclaredConstructor().newInstance();
+        name.set(handler, "Ancient Scroll");
+        modelData.set(handler, 1001);
+        return handler;
+    }
+
+    @Benchmark
+    public Handler accessorBind() {
+        ClassAccessors accessors = ClassAccessors.of(Handler.class);
+        Handler handler = accessors.newInstance();
+        accessors.field(name).set(handler, "Ancient Scroll");
+        accessors.field(modelData).set(handler, 1001);
+        return handler;
+    }
+
+}
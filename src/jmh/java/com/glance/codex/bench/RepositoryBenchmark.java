@@ -0,0 +1,50 @@
+package com.glance.codex.bench;
+
+import com.glance.codex.api.collectable.Collectable;
+import com.glance.codex.bench.support.StubRepository;
+import org.bukkit.NamespacedKey;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry lookups on a {@link com.glance.codex.api.collectable.CollectableRepository}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RepositoryBenchmark {
+
+    @Param({"50", "2000"})
+    public int size;
+
+    private StubRepository repository;
+    private NamespacedKey[] keys;
+    private String[] ids;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        repository = new StubRepository("notes", size);
+        keys = new NamespacedKey[size];
+        ids = new String[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = "entry_" + i;
+            keys[i] = new NamespacedKey("notes", ids[i]);
+        }
+    }
+
+    @Benchmark
+    public Collectable getByKey() {
+        cursor = (cursor + 1) % size;
+        return repository.get(keys[cursor]);
+    }
+
+    /** Goes through the default {@code get(String)}, which allocates a key per call */
+    @Benchmark
+    public Collectable getById() {
+        cursor = (cursor + 1) % size;
+        return repository.get(ids[cursor]);
+    }
+
+}
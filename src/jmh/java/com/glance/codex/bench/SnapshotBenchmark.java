@@ -0,0 +1,50 @@
+package com.glance.codex.bench;
+
+import com.glance.codex.api.data.PlayerCollectables;
+import com.glance.codex.bench.support.SnapshotCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Walking and rebuilding a full snapshot, through the benchmark-only {@link SnapshotCodec} blob format
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SnapshotBenchmark {
+
+    @Param({"4", "16"})
+    public int namespaces;
+
+    @Param({"50", "500"})
+    public int perNamespace;
+
+    private PlayerCollectables snapshot;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() {
+        snapshot = new PlayerCollectables();
+        for (int n = 0; n < namespaces; n++) {
+            String namespace = "repo_" + n;
+            for (int i = 0; i < perNamespace; i++) {
+                String id = "entry_" + i;
+                snapshot.markUnlock(namespace, id, 1_700_000_000_000L + i);
+                if (i % 3 == 0) snapshot.markReplay(namespace, id, 1_700_000_100_000L + i);
+            }
+        }
+        encoded = SnapshotCodec.encode(snapshot);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return SnapshotCodec.encode(snapshot);
+    }
+
+    @Benchmark
+    public PlayerCollectables decode() {
+        return SnapshotCodec.decode(encoded);
+    }
+
+}
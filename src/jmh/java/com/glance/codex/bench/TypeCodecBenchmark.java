@@ -0,0 +1,91 @@
+package com.glance.codex.bench;
+
+import com.glance.codex.utils.data.TypeCodec;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.MemoryConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding a small config object through a {@link TypeCodec}, from a section and from raw maps
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TypeCodecBenchmark {
+
+    public record Icon(String material, String name, List<String> lore, int modelData) {}
+
+    public static final class IconCodec implements TypeCodec<Icon> {
+
+        @Override
+        public @Nullable Icon decode(ConfigurationSection section, String path, Type type, @Nullable Icon defaultValue) {
+            ConfigurationSection node = section.getConfigurationSection(path);
+            if (node == null) return defaultValue;
+            return new Icon(
+                node.getString("material", "STONE"),
+                node.getString("name", ""),
+                node.getStringList("lore"),
+                node.getInt("model-data", 0)
+            );
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Icon decodeFromRaw(@Nullable Object raw, @NotNull Type type, @Nullable Icon defaultValue) {
+            if (!(raw instanceof Map<?, ?> map)) return defaultValue;
+            Object lore = map.get("lore");
+            Object modelData = map.get("model-data");
+            return new Icon(
+                String.valueOf(map.get("material")),
+                String.valueOf(map.get("name")),
+                lore instanceof List<?> list ? (List<String>) list : List.of(),
+                modelData instanceof Number n ? n.intValue() : 0
+            );
+        }
+
+        @Override
+        public @Nullable Object encode(Icon value) {
+            return Map.of(
+                "material", value.material(),
+                "name", value.name(),
+                "lore", value.lore(),
+                "model-data", value.modelData()
+            );
+        }
+    }
+
+    private IconCodec codec;
+    private MemoryConfiguration section;
+    private Map<String, Object> raw;
+
+    @Setup
+    public void setup() {
+        codec = new IconCodec();
+        raw = Map.of(
+            "material", "PAPER",
+            "name", "<gold>Ancient Scroll",
+            "lore", List.of("<gray>Found in the ruins", "<gray>Smells of dust"),
+            "model-data", 1001
+        );
+        section = new MemoryConfiguration();
+        section.createSection("icon", raw);
+    }
+
+    @Benchmark
+    public Icon decodeSection() {
+        return codec.decode(section, "icon", Icon.class, null);
+    }
+
+    @Benchmark
+    public Icon decodeRaw() {
+        return codec.decodeFromRaw(raw, Icon.class, null);
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.glance.codex.bench.support;
+
+import com.glance.codex.api.text.PlaceholderService;
+import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Reference {@link PlaceholderService} following the documented
+ * locals-then-globals replacement order, without PlaceholderAPI
+ * <p>
+ * Each phase rescans the whole template with {@link String#replace}, which is
+ * the baseline the compiled command templates are measured against
+ */
+public class SimplePlaceholderService implements PlaceholderService {
+
+    private final Map<String, Function<@Nullable OfflinePlayer, String>> globals =
+        Collections.synchronizedMap(new LinkedHashMap<>());
+
+    @Override
+    public void registerDynamic(String key, Function<@Nullable OfflinePlayer, String> resolver) {
+        globals.put(key, resolver);
+    }
+
+    @Override
+    public void unregisterDynamic(String key) {
+        globals.remove(key);
+    }
+
+    @Override
+    public Set<String> listRegistered() {
+        return Set.copyOf(globals.keySet());
+    }
+
+    @Override
+    public @Nullable String resolve(String key, @Nullable OfflinePlayer player) {
+        Function<@Nullable OfflinePlayer, String> resolver = globals.get(key);
+        return resolver != null ? resolver.apply(player) : null;
+    }
+
+    @Override
+    public String apply(String template, @Nullable OfflinePlayer player, Map<String, String> locals) {
+        String result = template;
+        for (Map.Entry<String, String> local : locals.entrySet()) {
+            result = result.replace("{" + local.getKey() + "}", local.getValue());
+        }
+        synchronized (globals) {
+            for (Map.Entry<String, Function<@Nullable OfflinePlayer, String>> global : globals.entrySet()) {
+                String token = "{" + global.getKey() + "}";
+                if (result.contains(token)) {
+                    result = result.replace(token, global.getValue().apply(player));
+                }
+            }
+        }
+        return result;
+    }
+
+}
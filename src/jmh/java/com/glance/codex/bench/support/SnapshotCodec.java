@@ -0,0 +1,162 @@
+package com.glance.codex.bench.support;
+
+import com.glance.codex.api.data.PlayerCollectables;
+import lombok.experimental.UtilityClass;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reference binary format for {@link PlayerCollectables} snapshots, used by benchmarks only
+ * <p>
+ * Stands in for a storage backend that persists whole snapshots as a single
+ * blob, so the cost of walking and rebuilding a snapshot's maps can be
+ * tracked without a database
+ *
+ * <h2>Layout</h2>
+ * <pre>
+ * byte    version
+ * section unlocks          (namespace -> id set)
+ * section firstUnlockedAt  (namespace -> id -> epoch millis)
+ * section lastReplayedAt   (namespace -> id -> epoch millis)
+ * </pre>
+ * Counts are written as ints and strings as modified UTF-8
+ *
+ * @author Cammy
+ */
+@UtilityClass
+public class SnapshotCodec {
+
+    public final byte VERSION = 1;
+
+    /** Upper bound for collection pre-sizing, counts come from untrusted data */
+    private final int MAX_PRESIZE = 1024;
+
+    /**
+     * Encodes a snapshot into a new byte array
+     *
+     * @param snapshot the snapshot to encode
+     * @return the encoded bytes
+     */
+    public byte[] encode(@NotNull PlayerCollectables snapshot) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            write(snapshot, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a snapshot previously produced by {@link #encode(PlayerCollectables)}
+     *
+     * @param data the encoded bytes
+     * @return the decoded snapshot
+     * @throws UncheckedIOException if the data is truncated or malformed
+     */
+    public @NotNull PlayerCollectables decode(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            return read(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes a snapshot to the given output
+     */
+    public void write(@NotNull PlayerCollectables snapshot, @NotNull DataOutput out) throws IOException {
+        out.writeByte(VERSION);
+
+        out.writeInt(snapshot.unlocks().size());
+        for (Map.Entry<String, Set<String>> ns : snapshot.unlocks().entrySet()) {
+            out.writeUTF(ns.getKey());
+            out.writeInt(ns.getValue().size());
+            for (String id : ns.getValue()) {
+                out.writeUTF(id);
+            }
+        }
+
+        writeTimes(snapshot.firstUnlockedAt(), out);
+        writeTimes(snapshot.lastReplayedAt(), out);
+    }
+
+    /**
+     * Reads a snapshot from the given input
+     *
+     * @throws IOException if the input is truncated or has an unknown version
+     */
+    public @NotNull PlayerCollectables read(@NotNull DataInput in) throws IOException {
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version: " + version);
+        }
+
+        PlayerCollectables snapshot = new PlayerCollectables();
+
+        int namespaces = readCount(in);
+        for (int i = 0; i < namespaces; i++) {
+            String namespace = in.readUTF();
+            int count = readCount(in);
+            Set<String> ids = new HashSet<>(presize(count));
+            for (int j = 0; j < count; j++) {
+                ids.add(in.readUTF());
+            }
+            snapshot.unlocks().put(namespace, ids);
+        }
+
+        readTimes(snapshot.firstUnlockedAt(), in);
+        readTimes(snapshot.lastReplayedAt(), in);
+        return snapshot;
+    }
+
+    private void writeTimes(Map<String, Map<String, Long>> times, DataOutput out) throws IOException {
+        out.writeInt(times.size());
+        for (Map.Entry<String, Map<String, Long>> ns : times.entrySet()) {
+            out.writeUTF(ns.getKey());
+            out.writeInt(ns.getValue().size());
+            for (Map.Entry<String, Long> e : ns.getValue().entrySet()) {
+                out.writeUTF(e.getKey());
+                out.writeLong(e.getValue());
+            }
+        }
+    }
+
+    private void readTimes(Map<String, Map<String, Long>> into, DataInput in) throws IOException {
+        int namespaces = readCount(in);
+        for (int i = 0; i < namespaces; i++) {
+            String namespace = in.readUTF();
+            int count = readCount(in);
+            Map<String, Long> times = new HashMap<>(presize(count));
+            for (int j = 0; j < count; j++) {
+                times.put(in.readUTF(), in.readLong());
+            }
+            into.put(namespace, times);
+        }
+    }
+
+    private int readCount(DataInput in) throws IOException {
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("Negative count in snapshot: " + count);
+        }
+        return count;
+    }
+
+    private int presize(int count) {
+        return Math.max(16, Math.min(count, MAX_PRESIZE) * 2);
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.glance.codex.bench.support;
+
+import com.glance.codex.api.collectable.Collectable;
+import com.glance.codex.api.collectable.CollectableMeta;
+import lombok.RequiredArgsConstructor;
+import net.kyori.adventure.text.Component;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Minimal collectable with no item or component state
+ */
+@RequiredArgsConstructor
+public class StubCollectable implements Collectable {
+
+    private final String id;
+    private final boolean showWhenLocked;
+    private CollectableMeta meta;
+
+    @Override
+    public @NotNull Component displayName() {
+        return Component.text(id);
+    }
+
+    @Override
+    public @NotNull String rawDisplayName() {
+        return id;
+    }
+
+    @Override
+    public @NotNull String plainDisplayName() {
+        return id;
+    }
+
+    @Override
+    public @NotNull ItemStack iconUnlocked(@Nullable OfflinePlayer player) {
+        throw new UnsupportedOperationException("Icons are not available headless");
+    }
+
+    @Override
+    public boolean showWhenLocked() {
+        return showWhenLocked;
+    }
+
+    @Override
+    public void setMeta(@NotNull CollectableMeta meta) {
+        this.meta = meta;
+    }
+
+    @Override
+    public @Nullable CollectableMeta getMeta() {
+        return meta;
+    }
+
+}
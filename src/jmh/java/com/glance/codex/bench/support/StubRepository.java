@@ -0,0 +1,76 @@
+package com.glance.codex.bench.support;
+
+import com.glance.codex.api.collectable.Collectable;
+import com.glance.codex.api.collectable.CollectableMeta;
+import com.glance.codex.api.collectable.CollectableRepository;
+import net.kyori.adventure.text.Component;
+import org.bukkit.NamespacedKey;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Map-backed repository populated with {@link StubCollectable} entries
+ * <p>
+ * Mirrors how config-loaded repositories key entries by ID
+ */
+public class StubRepository implements CollectableRepository {
+
+    private final String namespace;
+    private final Map<String, Collectable> entries;
+
+    public StubRepository(String namespace, int size) {
+        this.namespace = namespace;
+
+        Map<String, Collectable> map = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            String id = "entry_" + i;
+            StubCollectable entry = new StubCollectable(id, i % 4 != 0);
+            entry.setMeta(new CollectableMeta(namespace, id, this));
+            map.put(id, entry);
+        }
+        this.entries = Collections.unmodifiableMap(map);
+    }
+
+    @Override
+    public @NotNull String namespace() {
+        return namespace;
+    }
+
+    @Override
+    public @NotNull Component displayName() {
+        return Component.text(namespace);
+    }
+
+    @Override
+    public @NotNull String displayNameRaw() {
+        return namespace;
+    }
+
+    @Override
+    public @NotNull String plainDisplayName() {
+        return namespace;
+    }
+
+    @Override
+    public @NotNull Map<String, Collectable> entries() {
+        return entries;
+    }
+
+    @Override
+    public @NotNull ItemStack getRepoIcon(@Nullable OfflinePlayer player) {
+        throw new UnsupportedOperationException("Icons are not available headless");
+    }
+
+    @Override
+    public @Nullable Collectable get(@NotNull NamespacedKey key) {
+        if (!namespace.equals(key.getNamespace())) return null;
+        return entries.get(key.getKey());
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.glance.codex.bench.support;
+
+import lombok.experimental.UtilityClass;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+
+import java.lang.reflect.Proxy;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Lightweight stand-ins for Bukkit types so benchmarks run without a server
+ * <p>
+ * Only identity methods are answered; anything else returns a zero value
+ */
+@UtilityClass
+public class Stubs {
+
+    public OfflinePlayer offlinePlayer(UUID id, String name) {
+        return (OfflinePlayer) proxy(OfflinePlayer.class, id, name);
+    }
+
+    public Player player(UUID id, String name) {
+        return (Player) proxy(Player.class, id, name);
+    }
+
+    private Object proxy(Class<?> type, UUID id, String name) {
+        return Proxy.newProxyInstance(Stubs.class.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            return switch (method.getName()) {
+                case "getUniqueId" -> id;
+                case "getName" -> name;
+                case "isOnline" -> type == Player.class;
+                case "locale" -> Locale.US;
+                case "hashCode" -> id.hashCode();
+                case "equals" -> self == args[0];
+                case "toString" -> type.getSimpleName() + "{" + name + "}";
+                default -> defaultValue(method.getReturnType());
+            };
+        });
+    }
+
+    private Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive()) return null;
+        if (type == boolean.class) return false;
+        if (type == long.class) return 0L;
+        if (type == double.class) return 0D;
+        if (type == float.class) return 0F;
+        if (type == void.class) return null;
+        return 0;
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.glance.codex.loadtest;
+
+import com.glance.codex.api.data.ConcurrentPlayerCollectables;
+import com.glance.codex.api.data.PlayerCollectables;
+import com.glance.codex.api.data.storage.CollectableStorage;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Heap-backed {@link CollectableStorage} with an optional simulated round-trip delay
+ * <p>
+ * Without a delay every future is already complete, so the harness measures
+ * Codex itself; with one, completions arrive on the common pool like a real driver's would
+ */
+public final class InMemoryStorage implements CollectableStorage {
+
+    private final Map<UUID, ConcurrentPlayerCollectables> players = new ConcurrentHashMap<>();
+    private final Executor delayed;
+
+    public InMemoryStorage(Duration latency) {
+        this.delayed = latency.isZero() ? null : CompletableFuture.delayedExecutor(latency.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private <T> CompletableFuture<T> complete(Supplier<T> result) {
+        return delayed == null
+            ? CompletableFuture.completedFuture(result.get())
+            : CompletableFuture.supplyAsync(result, delayed);
+    }
+
+    private ConcurrentPlayerCollectables player(UUID playerId) {
+        return players.computeIfAbsent(playerId, id -> new ConcurrentPlayerCollectables());
+    }
+
+    @Override
+    public CompletableFuture<Set<String>> loadUnlockedIds(@NotNull UUID playerId, @NotNull String namespace) {
+        return complete(() -> new HashSet<>(player(playerId).view().unlockedIds(namespace)));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> putUnlock(
+        @NotNull UUID playerId, @NotNull String namespace, @NotNull String id, long whenMillis
+    ) {
+        return complete(() -> player(playerId).markUnlock(namespace, id, whenMillis));
+    }
+
+    @Override
+    public CompletableFuture<Void> recordReplay(
+        @NotNull UUID playerId, @NotNull String namespace, @NotNull String id, long whenMillis
+    ) {
+        return complete(() -> {
+            player(playerId).markReplay(namespace, id, whenMillis);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteUnlock(@NotNull UUID playerId, @NotNull String namespace, @NotNull String id) {
+        return complete(() -> player(playerId).markRelock(namespace, id));
+    }
+
+    @Override
+    public CompletableFuture<Integer> clearNamespace(@NotNull UUID playerId, @NotNull String namespace) {
+        return complete(() -> player(playerId).clearNamespace(namespace));
+    }
+
+    @Override
+    public CompletableFuture<Void> clearAll(@NotNull UUID playerId) {
+        return complete(() -> {
+            player(playerId).clearAll();
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> isUnlocked(@NotNull UUID playerId, @NotNull String namespace, @NotNull String id) {
+        return complete(() -> player(playerId).isUnlocked(namespace, id));
+    }
+
+    @Override
+    public CompletableFuture<PlayerCollectables> loadSnapshot(@NotNull UUID playerId) {
+        return complete(() -> ConcurrentPlayerCollectables.copyOf(player(playerId)));
+    }
+
+    @Override
+    public CompletableFuture<Void> saveSnapshot(@NotNull UUID playerId, @NotNull PlayerCollectables snapshot) {
+        return complete(() -> {
+            players.put(playerId, ConcurrentPlayerCollectables.copyOf(snapshot));
+            return null;
+        });
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.glance.codex.loadtest;
+
+import com.glance.codex.api.data.journal.DurabilityMode;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Load test parameters, parsed from {@code key=value} arguments
+ *
+ * @param players simulated online players
+ * @param threads worker threads issuing calls; each waits for its call to complete before the next
+ * @param warmup time to run before measuring
+ * @param duration measured run time
+ * @param repositories registered repositories
+ * @param entries entries per repository
+ * @param pageSize entries per menu page
+ * @param storageLatency simulated delay added to every storage call
+ * @param storage {@code memory}, or a decorator around it: {@code resilient} or {@code journal}
+ * @param durability journal durability mode when {@code storage=journal}
+ * @param mix the operation mix
+ * @param seed random seed, for repeatable runs
+ */
+public record LoadConfig(
+    int players,
+    int threads,
+    Duration warmup,
+    Duration duration,
+    int repositories,
+    int entries,
+    int pageSize,
+    Duration storageLatency,
+    String storage,
+    DurabilityMode durability,
+    OperationMix mix,
+    long seed
+) {
+
+    public static final String USAGE = """
+        Arguments (all optional, key=value):
+          players=2000          simulated online players
+          threads=8             worker threads
+          warmup=10s            warmup before measuring
+          duration=30s          measured run time
+          repositories=6        registered repositories
+          entries=250           entries per repository
+          pageSize=28           entries per menu page
+          storageLatency=0ms    simulated delay per storage call
+          storage=memory        memory, resilient or journal
+          durability=grouped    per_op, grouped or periodic (storage=journal)
+          mix=unlock:35,is_unlocked:35,page:20,replay:8,clear:2
+          seed=42
+        """;
+
+    public static LoadConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int split = arg.indexOf('=');
+            if (split <= 0) throw new IllegalArgumentException("Expected key=value, got " + arg);
+            values.put(arg.substring(0, split).trim(), arg.substring(split + 1).trim());
+        }
+        return new LoadConfig(
+            Integer.parseInt(values.getOrDefault("players", "2000")),
+            Integer.parseInt(values.getOrDefault("threads", "8")),
+            duration(values.getOrDefault("warmup", "10s")),
+            duration(values.getOrDefault("duration", "30s")),
+            Integer.parseInt(values.getOrDefault("repositories", "6")),
+            Integer.parseInt(values.getOrDefault("entries", "250")),
+            Integer.parseInt(values.getOrDefault("pageSize", "28")),
+            duration(values.getOrDefault("storageLatency", "0ms")),
+            values.getOrDefault("storage", "memory").toLowerCase(Locale.ROOT),
+            DurabilityMode.valueOf(values.getOrDefault("durability", "grouped").toUpperCase(Locale.ROOT)),
+            OperationMix.parse(values.getOrDefault("mix", "unlock:35,is_unlocked:35,page:20,replay:8,clear:2")),
+            Long.parseLong(values.getOrDefault("seed", "42"))
+        );
+    }
+
+    /**
+     * Parses {@code 250ms}, {@code 30s} or {@code 2m}
+     */
+    static Duration duration(String raw) {
+        if (raw.endsWith("ms")) return Duration.ofMillis(Long.parseLong(raw.substring(0, raw.length() - 2)));
+        if (raw.endsWith("s")) return Duration.ofSeconds(Long.parseLong(raw.substring(0, raw.length() - 1)));
+        if (raw.endsWith("m")) return Duration.ofMinutes(Long.parseLong(raw.substring(0, raw.length() - 1)));
+        return Duration.ofMillis(Long.parseLong(raw));
+    }
+
+}
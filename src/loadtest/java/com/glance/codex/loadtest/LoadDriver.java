@@ -0,0 +1,171 @@
+package com.glance.codex.loadtest;
+
+import com.glance.codex.api.collectable.CollectableManager;
+import com.glance.codex.api.collectable.view.EntryOrder;
+import com.glance.codex.api.metrics.LatencyHistogram;
+import com.glance.codex.bench.support.Stubs;
+import com.glance.codex.bench.support.StubRepository;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Player;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives a {@link ReferenceManager} with simulated players in a closed loop
+ * <p>
+ * Each worker picks a random player and {@link Operation}, issues the call and
+ * waits for its future before the next, so throughput reflects end-to-end
+ * latency. Samples taken during warmup are discarded
+ */
+public final class LoadDriver {
+
+    private final LoadConfig config;
+    private final ReferenceManager manager;
+    private final String[] namespaces;
+    private final NamespacedKey[][] keys;
+    private final Player[] players;
+    private final Map<Operation, LatencyHistogram> latency = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final LongAdder allocatedBytes = new LongAdder();
+
+    public LoadDriver(LoadConfig config, ReferenceManager manager) {
+        this.config = config;
+        this.manager = manager;
+        this.namespaces = new String[config.repositories()];
+        this.keys = new NamespacedKey[config.repositories()][config.entries()];
+        for (int r = 0; r < namespaces.length; r++) {
+            namespaces[r] = "repo_" + r;
+            manager.registerRepository(new StubRepository(namespaces[r], config.entries()));
+            for (int e = 0; e < config.entries(); e++) {
+                keys[r][e] = new NamespacedKey(namespaces[r], "entry_" + e);
+            }
+        }
+        this.players = new Player[config.players()];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = Stubs.player(new UUID(0L, i), "player_" + i);
+        }
+        for (Operation operation : Operation.values()) {
+            latency.put(operation, new LatencyHistogram());
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * Joins every player, runs warmup and the measured phase, then quits every player
+     *
+     * @return the measured results
+     */
+    public LoadReport run() throws InterruptedException {
+        CompletableFuture.allOf(Arrays.stream(players).map(manager::join).toArray(CompletableFuture[]::new)).join();
+
+        long gcCountBefore = gcCount();
+        long gcTimeBefore = gcTimeMillis();
+        long measureFrom = System.nanoTime() + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+
+        Thread[] workers = new Thread[config.threads()];
+        SplittableRandom seed = new SplittableRandom(config.seed());
+        for (int t = 0; t < workers.length; t++) {
+            SplittableRandom random = seed.split();
+            workers[t] = new Thread(() -> work(random, measureFrom, end), "loadtest-worker-" + t);
+            workers[t].start();
+        }
+        for (Thread worker : workers) worker.join();
+
+        long gcCount = gcCount() - gcCountBefore;
+        long gcTime = gcTimeMillis() - gcTimeBefore;
+        CompletableFuture.allOf(Arrays.stream(players).map(manager::quit).toArray(CompletableFuture[]::new)).join();
+
+        Map<Operation, LoadReport.Row> rows = new EnumMap<>(Operation.class);
+        latency.forEach((operation, histogram) ->
+            rows.put(operation, new LoadReport.Row(histogram.snapshot(), errors.get(operation).sum())));
+        return new LoadReport(config, rows, allocatedBytes.sum(), gcCount, gcTime);
+    }
+
+    private void work(SplittableRandom random, long measureFrom, long end) {
+        com.sun.management.ThreadMXBean threads = allocationBean();
+        long allocatedAtStart = -1;
+
+        long now;
+        while ((now = System.nanoTime()) < end) {
+            boolean measuring = now >= measureFrom;
+            if (measuring && allocatedAtStart < 0 && threads != null) {
+                allocatedAtStart = threads.getCurrentThreadAllocatedBytes();
+            }
+
+            Operation operation = config.mix().next(random);
+            Player player = players[random.nextInt(players.length)];
+            int repo = random.nextInt(namespaces.length);
+
+            long start = System.nanoTime();
+            try {
+                call(operation, player, repo, random).join();
+                if (measuring) latency.get(operation).record(System.nanoTime() - start);
+            } catch (RuntimeException e) {
+                if (measuring) errors.get(operation).increment();
+            }
+        }
+
+        if (allocatedAtStart >= 0) {
+            allocatedBytes.add(threads.getCurrentThreadAllocatedBytes() - allocatedAtStart);
+        }
+    }
+
+    private CompletableFuture<?> call(Operation operation, Player player, int repo, SplittableRandom random) {
+        return switch (operation) {
+            case UNLOCK -> manager.unlock(player, keys[repo][random.nextInt(config.entries())]);
+            case IS_UNLOCKED -> manager.isUnlocked(player, keys[repo][random.nextInt(config.entries())]);
+            case PAGE -> {
+                int pages = Math.max(1, (config.entries() + config.pageSize() - 1) / config.pageSize());
+                yield manager.page(player, namespaces[repo], random.nextInt(pages), config.pageSize(), EntryOrder.CONFIG);
+            }
+            case REPLAY -> manager.unlockedIds(player, namespaces[repo]).thenCompose(ids -> {
+                String id = pick(ids, random);
+                NamespacedKey key = id == null
+                    ? keys[repo][random.nextInt(config.entries())]
+                    : new NamespacedKey(namespaces[repo], id);
+                return manager.unlock(player, key);
+            });
+            case CLEAR -> manager.clearRepo(player, namespaces[repo]);
+        };
+    }
+
+    private static String pick(Set<String> ids, SplittableRandom random) {
+        if (ids.isEmpty()) return null;
+        int skip = random.nextInt(Math.min(ids.size(), 16));
+        for (String id : ids) {
+            if (skip-- == 0) return id;
+        }
+        return null;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+            return bean;
+        }
+        return null;
+    }
+
+    private static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+
+    private static long gcTimeMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.glance.codex.loadtest;
+
+import com.glance.codex.api.metrics.LatencyHistogram;
+
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Results of a measured {@link LoadDriver} run
+ *
+ * @param config the parameters used
+ * @param rows latency and error count per operation
+ * @param allocatedBytes bytes allocated by worker threads while measuring
+ * @param gcCount collections during the run, warmup included
+ * @param gcTimeMillis time spent in collections during the run, warmup included
+ */
+public record LoadReport(
+    LoadConfig config,
+    Map<Operation, Row> rows,
+    long allocatedBytes,
+    long gcCount,
+    long gcTimeMillis
+) {
+
+    /**
+     * @param latency latency summary in nanoseconds
+     * @param errors calls that failed
+     */
+    public record Row(LatencyHistogram.Snapshot latency, long errors) {}
+
+    public long totalOperations() {
+        long total = 0;
+        for (Row row : rows.values()) total += row.latency().count() + row.errors();
+        return total;
+    }
+
+    public double seconds() {
+        return config.duration().toNanos() / 1e9;
+    }
+
+    public void print(PrintStream out) {
+        out.printf(Locale.ROOT, "players=%d threads=%d repositories=%d entries=%d storage=%s storageLatency=%s mix=%s%n",
+            config.players(), config.threads(), config.repositories(), config.entries(),
+            config.storage(), config.storageLatency(), config.mix());
+        if (config.storage().equals("journal") && config.storageLatency().isZero()) {
+            out.println("note: storageLatency=0 makes the delegate free, so journal numbers mostly measure the journal writer (append, fsync and grouping), not realistic database writes");
+        }
+        out.printf(Locale.ROOT, "%-12s %12s %12s %10s %10s %10s %10s %10s %8s%n",
+            "operation", "count", "ops/s", "mean(us)", "p50(us)", "p99(us)", "p99.9(us)", "max(us)", "errors");
+
+        rows.forEach((operation, row) -> {
+            LatencyHistogram.Snapshot s = row.latency();
+            if (s.count() == 0 && row.errors() == 0) return;
+            out.printf(Locale.ROOT, "%-12s %12d %12.0f %10.1f %10.1f %10.1f %10.1f %10.1f %8d%n",
+                operation.name().toLowerCase(Locale.ROOT), s.count(), s.count() / seconds(),
+                s.mean() / 1e3, s.p50() / 1e3, s.p99() / 1e3, s.p999() / 1e3, s.max() / 1e3, row.errors());
+        });
+
+        long total = totalOperations();
+        out.printf(Locale.ROOT, "%ntotal: %d ops, %.0f ops/s%n", total, total / seconds());
+        out.printf(Locale.ROOT, "allocation (worker threads): %.1f MB/s, %.0f B/op%n",
+            allocatedBytes / seconds() / (1024 * 1024), total == 0 ? 0.0 : (double) allocatedBytes / total);
+        out.printf(Locale.ROOT, "gc: %d collections, %d ms%n", gcCount, gcTimeMillis);
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.glance.codex.loadtest;
+
+import com.glance.codex.api.data.journal.JournalingCollectableStorage;
+import com.glance.codex.api.data.journal.WriteAheadJournal;
+import com.glance.codex.api.data.storage.CollectableStorage;
+import com.glance.codex.api.data.storage.resilience.ResilientCollectableStorage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * Headless load test entry point
+ * <p>
+ * Simulates online players against a {@link ReferenceManager} over an
+ * {@link InMemoryStorage}, optionally wrapped in a storage decorator, and prints
+ * throughput, latency percentiles and allocation rate. Run with {@code ./gradlew loadtest -Pargs="players=5000 duration=60s"}
+ */
+public final class LoadTest {
+
+    private LoadTest() {}
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        if (args.length == 1 && (args[0].equals("help") || args[0].equals("--help"))) {
+            System.out.print(LoadConfig.USAGE);
+            return;
+        }
+        LoadConfig config = LoadConfig.parse(args);
+        CollectableStorage memory = new InMemoryStorage(config.storageLatency());
+
+        Path journalDir = null;
+        WriteAheadJournal journal = null;
+        CollectableStorage storage = switch (config.storage()) {
+            case "memory" -> memory;
+            case "resilient" -> ResilientCollectableStorage.builder().delegate(memory).callEvents(false).build();
+            case "journal" -> {
+                journalDir = Files.createTempDirectory("codex-loadtest-journal");
+                journal = WriteAheadJournal.open(journalDir, config.durability());
+                yield new JournalingCollectableStorage(memory, journal, ForkJoinPool.commonPool());
+            }
+            default -> throw new IllegalArgumentException("Unknown storage: " + config.storage());
+        };
+
+        try {
+            new LoadDriver(config, new ReferenceManager(storage)).run().print(System.out);
+        } finally {
+            try {
+                if (journal != null) journal.close();
+            } finally {
+                if (journalDir != null) deleteRecursively(journalDir);
+            }
+        }
+    }
+
+    private static void deleteRecursively(Path root) throws IOException {
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(root)) {
+            paths = walk.sorted(Comparator.reverseOrder()).toList();
+        }
+        for (Path path : paths) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+}
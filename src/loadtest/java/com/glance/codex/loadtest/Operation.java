@@ -0,0 +1,23 @@
+package com.glance.codex.loadtest;
+
+/**
+ * Kinds of {@link com.glance.codex.api.collectable.CollectableManager} calls a simulated player makes
+ */
+public enum Operation {
+
+    /** Unlock a random entry, replaying it if already unlocked */
+    UNLOCK,
+
+    /** Check a random entry */
+    IS_UNLOCKED,
+
+    /** Open a random page of a repository menu */
+    PAGE,
+
+    /** Unlock an entry the player already has */
+    REPLAY,
+
+    /** Clear a repository */
+    CLEAR
+
+}
@@ -0,0 +1,64 @@
+package com.glance.codex.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Weighted choice between {@link Operation}s, e.g. {@code unlock:40,is_unlocked:30,page:20,replay:8,clear:2}
+ */
+public final class OperationMix {
+
+    private final Operation[] operations;
+    private final int[] cumulative;
+    private final int total;
+
+    private OperationMix(Map<Operation, Integer> weights) {
+        this.operations = weights.keySet().toArray(Operation[]::new);
+        this.cumulative = new int[operations.length];
+        int sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += weights.get(operations[i]);
+            cumulative[i] = sum;
+        }
+        if (sum <= 0) throw new IllegalArgumentException("Operation mix needs at least one positive weight");
+        this.total = sum;
+    }
+
+    /**
+     * @param spec comma-separated {@code operation:weight} pairs; unlisted operations get weight 0
+     */
+    public static OperationMix parse(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            if (part.isBlank()) continue;
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) throw new IllegalArgumentException("Expected operation:weight, got " + part);
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) weights.put(Operation.valueOf(pair[0].trim().toUpperCase(Locale.ROOT)), weight);
+        }
+        return new OperationMix(weights);
+    }
+
+    public Operation next(SplittableRandom random) {
+        int roll = random.nextInt(total);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (roll < cumulative[i]) return operations[i];
+        }
+        return operations[operations.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder();
+        int previous = 0;
+        for (int i = 0; i < operations.length; i++) {
+            if (i > 0) out.append(',');
+            out.append(operations[i].name().toLowerCase(Locale.ROOT)).append(':').append(cumulative[i] - previous);
+            previous = cumulative[i];
+        }
+        return out.toString();
+    }
+
+}
@@ -0,0 +1,161 @@
+package com.glance.codex.loadtest;
+
+import com.glance.codex.api.collectable.Collectable;
+import com.glance.codex.api.collectable.CollectableManager;
+import com.glance.codex.api.collectable.CollectableRepository;
+import com.glance.codex.api.collectable.config.RepositoryConfig;
+import com.glance.codex.api.collectable.query.CollectableIndex;
+import com.glance.codex.api.data.ConcurrentPlayerCollectables;
+import com.glance.codex.api.data.PlayerCollectables;
+import com.glance.codex.api.data.storage.CollectableStorage;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Minimal {@link CollectableManager} following the contract the plugin implements
+ * <p>
+ * Online players are served from a {@link ConcurrentPlayerCollectables} cache
+ * loaded on {@link #join(Player)}; every mutation updates the cache and writes
+ * through to storage. Offline queries go straight to storage
+ */
+public final class ReferenceManager implements CollectableManager {
+
+    private final CollectableStorage storage;
+    private final Map<String, CollectableRepository> repositories = new LinkedHashMap<>();
+    private final Map<UUID, PlayerCollectables> online = new ConcurrentHashMap<>();
+    private volatile CollectableIndex index = CollectableIndex.empty();
+
+    public ReferenceManager(CollectableStorage storage) {
+        this.storage = storage;
+    }
+
+    /**
+     * Loads a player's progress into the online cache
+     */
+    public CompletableFuture<Void> join(@NotNull Player player) {
+        return storage.loadSnapshot(player.getUniqueId()).thenAccept(data ->
+            online.put(player.getUniqueId(), ConcurrentPlayerCollectables.copyOf(data)));
+    }
+
+    /**
+     * Saves and drops a player's progress
+     */
+    public CompletableFuture<Void> quit(@NotNull Player player) {
+        PlayerCollectables data = online.remove(player.getUniqueId());
+        if (data == null) return CompletableFuture.completedFuture(null);
+        return storage.saveSnapshot(player.getUniqueId(), data);
+    }
+
+    private PlayerCollectables progress(Player player) {
+        PlayerCollectables data = online.get(player.getUniqueId());
+        if (data == null) throw new IllegalStateException(player.getName() + " has not joined");
+        return data;
+    }
+
+    @Override
+    public void loadFromConfig(RepositoryConfig config) {
+        throw new UnsupportedOperationException("Config loading is not available headless");
+    }
+
+    @Override
+    public synchronized void registerRepository(CollectableRepository repo) {
+        repositories.put(repo.namespace(), repo);
+        index = CollectableIndex.build(repositories.values(), List.of());
+    }
+
+    @Override
+    public synchronized Collection<CollectableRepository> getRepositories() {
+        return List.copyOf(repositories.values());
+    }
+
+    @Override
+    public synchronized @Nullable CollectableRepository getRepo(@NotNull String namespace) {
+        return repositories.get(namespace);
+    }
+
+    @Override
+    public @Nullable Collectable get(@NotNull NamespacedKey key) {
+        CollectableRepository repo = getRepo(key.getNamespace());
+        return repo == null ? null : repo.get(key);
+    }
+
+    @Override
+    public @NotNull CollectableIndex index() {
+        return index;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> unlock(@NotNull Player player, NamespacedKey key) {
+        Collectable collectable = get(key);
+        if (collectable == null) return CompletableFuture.completedFuture(false);
+
+        UUID playerId = player.getUniqueId();
+        PlayerCollectables data = progress(player);
+        long now = System.currentTimeMillis();
+        if (data.markUnlock(key, now)) {
+            return storage.putUnlock(playerId, key.getNamespace(), key.getKey(), now);
+        }
+        if (!collectable.allowReplay()) return CompletableFuture.completedFuture(false);
+        if (!collectable.trackReplays()) return CompletableFuture.completedFuture(true);
+        data.markReplay(key, now);
+        return storage.recordReplay(playerId, key.getNamespace(), key.getKey(), now).thenApply(ignored -> true);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> isUnlocked(@NotNull Player player, NamespacedKey key) {
+        return CompletableFuture.completedFuture(progress(player).isUnlocked(key));
+    }
+
+    @Override
+    public CompletableFuture<Set<String>> unlockedIds(@NotNull Player player, @NotNull String namespace) {
+        return CompletableFuture.completedFuture(progress(player).view().unlockedIds(namespace));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> isUnlocked(@NotNull UUID playerId, @NotNull NamespacedKey key) {
+        PlayerCollectables data = online.get(playerId);
+        if (data != null) return CompletableFuture.completedFuture(data.isUnlocked(key));
+        return storage.isUnlocked(playerId, key.getNamespace(), key.getKey());
+    }
+
+    @Override
+    public CompletableFuture<Set<String>> unlockedIds(@NotNull UUID playerId, @NotNull String namespace) {
+        PlayerCollectables data = online.get(playerId);
+        if (data != null) return CompletableFuture.completedFuture(data.view().unlockedIds(namespace));
+        return storage.loadUnlockedIds(playerId, namespace);
+    }
+
+    @Override
+    public CompletableFuture<Integer> unlockedCount(@NotNull UUID playerId, @NotNull String namespace) {
+        PlayerCollectables data = online.get(playerId);
+        if (data != null) return CompletableFuture.completedFuture(data.view().unlockedCount(namespace));
+        return storage.countUnlocked(playerId, namespace);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> relock(@NotNull Player player, @NotNull NamespacedKey key) {
+        if (!progress(player).markRelock(key.getNamespace(), key.getKey())) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return storage.deleteUnlock(player.getUniqueId(), key.getNamespace(), key.getKey());
+    }
+
+    @Override
+    public CompletableFuture<Integer> clearRepo(@NotNull Player player, @NotNull String namespace) {
+        int cleared = progress(player).clearNamespace(namespace);
+        return storage.clearNamespace(player.getUniqueId(), namespace).thenApply(ignored -> cleared);
+    }
+
+    @Override
+    public CompletableFuture<Void> clearAll(@NotNull Player player) {
+        progress(player).clearAll();
+        return storage.clearAll(player.getUniqueId());
+    }
+
+}
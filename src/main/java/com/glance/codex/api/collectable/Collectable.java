@@ -6,6 +6,9 @@ import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.time.Duration;
+import java.util.Set;
+
 /**
  * Represents a single entry in a {@link CollectableRepository}
  * <p>
@@ -92,6 +95,29 @@ public interface Collectable {
         return true;
     }
 
+    /**
+     * Minimum time between replays of this collectable by the same player
+     *
+     * @return the cooldown, or {@link Duration#ZERO} for none
+     * @see com.glance.codex.api.collectable.cooldown.ReplayCooldowns
+     */
+    @NotNull
+    default Duration replayCooldown() {
+        return Duration.ZERO;
+    }
+
+    /**
+     * User-defined tags for this collectable, typically read from config
+     * <p>
+     * Tags are matched case-insensitively by {@link com.glance.codex.api.collectable.query.CollectableQuery#tag(String)}
+     *
+     * @return the tags, empty by default
+     */
+    @NotNull
+    default Set<String> tags() {
+        return Set.of();
+    }
+
     /**
      * Attaches metadata to this collectable, typically loaded from config
      *
@@ -1,6 +1,11 @@
 package com.glance.codex.api.collectable;
 
 import com.glance.codex.api.collectable.type.CollectableType;
+import com.glance.codex.api.metrics.CodexMetrics;
+import com.glance.codex.api.metrics.MetricsExporter;
+import com.glance.codex.api.metrics.analytics.UnlockAnalytics;
+import com.glance.codex.api.metrics.profile.ProfileReport;
+import com.glance.codex.api.metrics.profile.UnlockProfiler;
 import com.glance.codex.utils.data.TypeCodec;
 import org.jetbrains.annotations.NotNull;
 
@@ -44,6 +49,58 @@ public interface CollectableAPI {
      */
     Optional<CollectableType> getCollectableType(@NotNull String typeId);
 
+    /**
+     * @return the metrics surface for Codex internals, or {@link CodexMetrics#noop()}
+     * if no exporter has been installed
+     */
+    @NotNull
+    default CodexMetrics metrics() {
+        return CodexMetrics.noop();
+    }
+
+    /**
+     * Installs the exporter that Codex metrics are forwarded to
+     * <p>
+     * Replaces any previously installed exporter. Instruments already handed
+     * out keep reporting to the exporter they were created with
+     * <p>
+     * Implementations that keep the default {@link #metrics()} ignore the
+     * exporter, matching its no-op surface
+     *
+     * @param exporter the exporter bridging to an external metrics stack
+     */
+    default void registerMetricsExporter(@NotNull MetricsExporter exporter) {
+    }
+
+    /**
+     * @return the per-stage unlock pipeline profiler, or {@link UnlockProfiler#disabled()}
+     * if profiling is turned off
+     */
+    @NotNull
+    default UnlockProfiler unlockProfiler() {
+        return UnlockProfiler.disabled();
+    }
+
+    /**
+     * Convenience for dumping p50/p99/p999 per stage and per repository,
+     * e.g. from an admin command
+     *
+     * @return the current unlock pipeline report
+     */
+    @NotNull
+    default ProfileReport unlockProfile() {
+        return unlockProfiler().report();
+    }
+
+    /**
+     * @return live rolling-window unlock and replay rates, or {@link UnlockAnalytics#noop()}
+     * if analytics are turned off
+     */
+    @NotNull
+    default UnlockAnalytics analytics() {
+        return UnlockAnalytics.noop();
+    }
+
     /**
      * @return the API version string
      */
@@ -1,14 +1,27 @@
 package com.glance.codex.api.collectable;
 
 import com.glance.codex.api.collectable.config.RepositoryConfig;
+import com.glance.codex.api.collectable.query.CollectableIndex;
+import com.glance.codex.api.collectable.query.CollectableQuery;
+import com.glance.codex.api.collectable.query.QueryResult;
+import com.glance.codex.api.collectable.rule.RuleTracker;
+import com.glance.codex.api.collectable.validation.ValidationPipeline;
+import com.glance.codex.api.collectable.validation.ValidationReport;
+import com.glance.codex.api.collectable.view.EntryOrder;
+import com.glance.codex.api.collectable.view.RepositoryPage;
 import com.glance.codex.utils.lifecycle.Manager;
 import org.bukkit.NamespacedKey;
+import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.time.Duration;
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -21,6 +34,8 @@ import java.util.concurrent.CompletableFuture;
  *   <li>Registering new repositories programmatically</li>
  *   <li>Handling player unlock/relock/clear operations asynchronously</li>
  *   <li>Querying unlocked progress for players</li>
+ *   <li>Querying offline players by UUID without loading them into the online cache</li>
+ *   <li>Filtering collectables by type, flags and tags through a precomputed {@link #index()}</li>
  * </ul>
  * <p>
  * All persistence and player-specific operations are asynchronous and return
@@ -68,16 +83,71 @@ public interface CollectableManager extends Manager {
      */
     @Nullable Collectable get(@NotNull NamespacedKey key);
 
+    /**
+     * Runs a validation pipeline over every registered repository, e.g. once loading completes
+     *
+     * @param pipeline the validators and failure mode to apply
+     * @return a future completed with the aggregated report
+     */
+    default CompletableFuture<ValidationReport> validate(@NotNull ValidationPipeline pipeline) {
+        return pipeline.validate(getRepositories());
+    }
+
+    /**
+     * Returns the bitset index over every registered collectable
+     * <p>
+     * Implementations rebuild this whenever repositories are registered or reloaded,
+     * so callers should not hold on to it across reloads
+     *
+     * @return the current index
+     */
+    @NotNull CollectableIndex index();
+
+    /**
+     * Filters registered collectables using the current {@link #index()}
+     *
+     * @param query the filter
+     * @return the matching collectables
+     */
+    default @NotNull QueryResult query(@NotNull CollectableQuery query) {
+        return index().query(query);
+    }
+
+    /**
+     * Returns the completion rules tracked for online players, if any are configured
+     * <p>
+     * Implementations feed the tracker from {@link #unlock}, {@link #relock},
+     * {@link #clearRepo} and {@link #clearAll}, and recompile it whenever
+     * {@link #index()} is rebuilt
+     *
+     * @return the tracker, or empty if no rules are configured
+     */
+    default @NotNull Optional<RuleTracker> completionRules() {
+        return Optional.empty();
+    }
+
     /**
      * Unlocks a collectable for a player
      *
      * @param player the player to unlock for
      * @param key the collectable ID
      * @return a future completed with {@code true} if the 'unlock' succeeded,
-     * {@code false} if the collectable was already unlocked (and replay not allowed)
+     * {@code false} if the collectable was already unlocked (and replay not allowed),
+     * or its {@link Collectable#replayCooldown() replay cooldown} is still running
      */
     CompletableFuture<Boolean> unlock(@NotNull Player player, NamespacedKey key);
 
+    /**
+     * Returns the time left before a player may replay a collectable again
+     *
+     * @param player the player
+     * @param key the collectable ID
+     * @return the remaining cooldown, or {@link Duration#ZERO} if a replay is allowed now
+     */
+    default @NotNull Duration replayCooldownRemaining(@NotNull Player player, @NotNull NamespacedKey key) {
+        return Duration.ZERO;
+    }
+
     /**
      * Checks if a collectable is unlocked for a player
      *
@@ -96,6 +166,96 @@ public interface CollectableManager extends Manager {
      */
     CompletableFuture<Set<String>> unlockedIds(@NotNull Player player, @NotNull String namespace);
 
+    /**
+     * Counts the unlocked entries within a repository for a player
+     *
+     * @param player the player
+     * @param namespace the repository namespace
+     * @return a future completed with the number of unlocked entries
+     */
+    default CompletableFuture<Integer> unlockedCount(@NotNull Player player, @NotNull String namespace) {
+        return unlockedIds(player, namespace).thenApply(Set::size);
+    }
+
+    /**
+     * Returns one page of the entries a player can see in a repository
+     *
+     * @param player the viewing player
+     * @param namespace the repository namespace
+     * @param pageIndex zero-based page number
+     * @param pageSize entries per page
+     * @param order the sort order
+     * @return a future completed with the page, or an empty page if the repository is not registered
+     * @see CollectableRepository#page(OfflinePlayer, Set, int, int, EntryOrder)
+     */
+    default CompletableFuture<RepositoryPage> page(
+        @NotNull Player player, @NotNull String namespace,
+        int pageIndex, int pageSize, @NotNull EntryOrder order
+    ) {
+        CollectableRepository repo = getRepo(namespace);
+        if (repo == null) {
+            return CompletableFuture.completedFuture(new RepositoryPage(pageIndex, pageSize, 0, List.of()));
+        }
+        return unlockedIds(player, namespace)
+            .thenApply(ids -> repo.page(player, ids, pageIndex, pageSize, order));
+    }
+
+    /* Offline queries */
+
+    /**
+     * Checks if a collectable is unlocked for a player who may be offline
+     * <p>
+     * Online players are answered from the online cache. Offline players are
+     * answered from a short-lived read-through cache or a targeted storage
+     * query; they are never loaded into the online cache
+     *
+     * @param playerId the player's UUID
+     * @param key the collectable ID
+     * @return a future completed with {@code true} if unlocked, else false
+     */
+    CompletableFuture<Boolean> isUnlocked(@NotNull UUID playerId, @NotNull NamespacedKey key);
+
+    /**
+     * @see #isUnlocked(UUID, NamespacedKey)
+     */
+    default CompletableFuture<Boolean> isUnlocked(@NotNull OfflinePlayer player, @NotNull NamespacedKey key) {
+        return isUnlocked(player.getUniqueId(), key);
+    }
+
+    /**
+     * Retrieves the unlocked IDs within a repository for a player who may be offline
+     *
+     * @param playerId the player's UUID
+     * @param namespace the repository namespace
+     * @return a future completed with the set of unlocked entry IDs
+     * @see #isUnlocked(UUID, NamespacedKey)
+     */
+    CompletableFuture<Set<String>> unlockedIds(@NotNull UUID playerId, @NotNull String namespace);
+
+    /**
+     * @see #unlockedIds(UUID, String)
+     */
+    default CompletableFuture<Set<String>> unlockedIds(@NotNull OfflinePlayer player, @NotNull String namespace) {
+        return unlockedIds(player.getUniqueId(), namespace);
+    }
+
+    /**
+     * Counts the unlocked entries within a repository for a player who may be offline
+     *
+     * @param playerId the player's UUID
+     * @param namespace the repository namespace
+     * @return a future completed with the number of unlocked entries
+     * @see #isUnlocked(UUID, NamespacedKey)
+     */
+    CompletableFuture<Integer> unlockedCount(@NotNull UUID playerId, @NotNull String namespace);
+
+    /**
+     * @see #unlockedCount(UUID, String)
+     */
+    default CompletableFuture<Integer> unlockedCount(@NotNull OfflinePlayer player, @NotNull String namespace) {
+        return unlockedCount(player.getUniqueId(), namespace);
+    }
+
     /**
      * Relocks a collectable for a player, removing it from their unlocked state
      *
@@ -1,5 +1,9 @@
 package com.glance.codex.api.collectable;
 
+import com.glance.codex.api.collectable.view.EntryOrder;
+import com.glance.codex.api.collectable.view.OrderedEntries;
+import com.glance.codex.api.collectable.view.RepositoryPage;
+import com.glance.codex.api.collectable.view.RepositoryPager;
 import net.kyori.adventure.text.Component;
 import org.bukkit.NamespacedKey;
 import org.bukkit.OfflinePlayer;
@@ -8,6 +12,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Represents a namespaced repository of {@link Collectable} entries
@@ -53,6 +58,39 @@ public interface CollectableRepository {
     @NotNull
     Map<String, Collectable> entries();
 
+    /**
+     * Returns a counter that changes whenever {@link #entries()} is replaced in place
+     * <p>
+     * Shared views such as {@link #orderedEntries()} are rebuilt when this
+     * changes. Repositories that are replaced wholesale on reload can keep the default
+     *
+     * @return the current entries generation
+     */
+    default long generation() {
+        return 0L;
+    }
+
+    /**
+     * @return the order entries are listed in, usually from {@link com.glance.codex.api.collectable.config.RepositoryConfig#entryOrder()}
+     */
+    @NotNull
+    default EntryOrder entryOrder() {
+        return EntryOrder.CONFIG;
+    }
+
+    /**
+     * Returns the entries sorted by {@link #entryOrder()} as an immutable random-access list
+     * <p>
+     * The view is shared and only rebuilt when the repository is replaced or its
+     * {@link #generation()} changes, so it can be indexed and sliced freely
+     *
+     * @return the ordered entries
+     */
+    @NotNull
+    default OrderedEntries orderedEntries() {
+        return OrderedEntries.of(this, entryOrder());
+    }
+
     /**
      * Returns the icon representing this repository in a menu
      * <p>
@@ -95,4 +133,26 @@ public interface CollectableRepository {
         return get(new NamespacedKey(namespace(), id));
     }
 
+    /**
+     * Returns one page of the entries a player can see: every entry shown
+     * while locked, plus the player's unlocked entries
+     * <p>
+     * Backed by a shared {@link RepositoryPager}, so page flips cost
+     * O(pageSize + unlocked) once the player's view is cached
+     *
+     * @param player the viewing player
+     * @param unlockedIds the player's unlocked IDs in this repository
+     * @param pageIndex zero-based page number
+     * @param pageSize entries per page
+     * @param order the sort order
+     * @return the page
+     */
+    @NotNull
+    default RepositoryPage page(
+        @NotNull OfflinePlayer player, @NotNull Set<String> unlockedIds,
+        int pageIndex, int pageSize, @NotNull EntryOrder order
+    ) {
+        return RepositoryPager.of(this, order).page(player.getUniqueId(), unlockedIds, pageIndex, pageSize);
+    }
+
 }
@@ -62,6 +62,24 @@ public abstract class PlayerCollectable implements Collectable, Discoverable {
         return globalMessageOnDiscover();
     }
 
+    /**
+     * @return the broadcast used when several discoveries of this collectable are
+     * coalesced into one message, or an empty string to use the configured default
+     * @see com.glance.codex.api.text.broadcast.BroadcastAggregator
+     */
+    public String globalMessageOnDiscoverGrouped() {
+        return "";
+    }
+
+    /**
+     * @return the broadcast used when several replays of this collectable are
+     * coalesced into one message, or the grouped discover message by default
+     * @see com.glance.codex.api.text.broadcast.BroadcastAggregator
+     */
+    public String globalMessageOnReplayGrouped() {
+        return globalMessageOnDiscoverGrouped();
+    }
+
     /**
      * @return a private message shown to the discovering player,
      * or an empty string if none
@@ -3,6 +3,7 @@ package com.glance.codex.api.collectable.config;
 import com.glance.codex.api.collectable.Collectable;
 import com.glance.codex.api.collectable.CollectableRepository;
 import com.glance.codex.api.collectable.config.model.ItemConfig;
+import com.glance.codex.api.collectable.view.EntryOrder;
 import org.bukkit.configuration.ConfigurationSection;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -51,6 +52,14 @@ public interface RepositoryConfig {
     @NotNull
     ItemConfig selectedIcon();
 
+    /**
+     * @return the order entries are listed in menus, defaulting to config order
+     */
+    @NotNull
+    default EntryOrder entryOrder() {
+        return EntryOrder.CONFIG;
+    }
+
     /**
      * Raw node per entry
      * <p>
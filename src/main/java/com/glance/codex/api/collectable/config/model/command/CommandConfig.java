@@ -1,6 +1,9 @@
 package com.glance.codex.api.collectable.config.model.command;
 
+import com.glance.codex.api.text.PlaceholderService;
+
 import java.util.List;
+import java.util.Set;
 
 /**
  * Base configuration contract for entries that define a list of commands
@@ -34,4 +37,17 @@ public interface CommandConfig<T extends CommandInfo> {
         return (commands() == null || commands().isEmpty());
     }
 
+    /**
+     * Compiles this command set into pre-tokenized templates bound to a placeholder service
+     *
+     * @param placeholders the service used to resolve global tokens
+     * @param locals the local keys supplied at execution time
+     * @return the compiled form
+     * @throws IllegalArgumentException if any command references an unknown placeholder
+     * @see CompiledCommandConfig#compile(CommandConfig, PlaceholderService, Set)
+     */
+    default CompiledCommandConfig compile(PlaceholderService placeholders, Set<String> locals) {
+        return CompiledCommandConfig.compile(this, placeholders, locals);
+    }
+
 }
@@ -0,0 +1,139 @@
+package com.glance.codex.api.collectable.config.model.command;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A command string pre-tokenized into literal and placeholder slot segments
+ * <p>
+ * Templates are parsed once at load time. Filling a template is a single
+ * pass over the segments with no regex or rescanning of the source string
+ * <p>
+ * Slots use the same {@code {key}} syntax as the {@link com.glance.codex.api.text.PlaceholderService}.
+ * Unmatched, empty or nested braces are treated as literals
+ *
+ * @author Cammy
+ */
+public final class CommandTemplate {
+
+    private final String raw;
+    /** literals[i] precedes slots[i]; the final literal trails the last slot */
+    private final String[] literals;
+    private final String[] slots;
+    private final boolean external;
+    private final int literalLength;
+
+    private CommandTemplate(String raw, String[] literals, String[] slots) {
+        this.raw = raw;
+        this.literals = literals;
+        this.slots = slots;
+        this.external = raw.indexOf('%') >= 0;
+
+        int length = 0;
+        for (String literal : literals) length += literal.length();
+        this.literalLength = length;
+    }
+
+    /**
+     * Parses a raw command string into a template
+     *
+     * @param raw the raw command string
+     * @return the compiled template
+     */
+    public static @NotNull CommandTemplate compile(@NotNull String raw) {
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < raw.length()) {
+            char c = raw.charAt(i);
+            if (c == '{') {
+                int close = raw.indexOf('}', i + 1);
+                int nested = raw.indexOf('{', i + 1);
+                if (close > i + 1 && (nested < 0 || nested > close)) {
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                    slots.add(raw.substring(i + 1, close));
+                    i = close + 1;
+                    continue;
+                }
+            }
+            literal.append(c);
+            i++;
+        }
+        literals.add(literal.toString());
+
+        return new CommandTemplate(raw, literals.toArray(String[]::new), slots.toArray(String[]::new));
+    }
+
+    /**
+     * @return the original, unparsed command string
+     */
+    public @NotNull String raw() {
+        return raw;
+    }
+
+    /**
+     * @return the distinct slot keys referenced by this template, in order of appearance
+     */
+    public @NotNull Set<String> slotKeys() {
+        Set<String> keys = new LinkedHashSet<>();
+        Collections.addAll(keys, slots);
+        return keys;
+    }
+
+    /**
+     * @return true if this template has no slots
+     */
+    public boolean isConstant() {
+        return slots.length == 0;
+    }
+
+    /**
+     * @return true if the raw string contains {@code %...%} tokens that need
+     * an external expansion pass (e.g. PlaceholderAPI) after filling
+     */
+    public boolean needsExternalExpansion() {
+        return external;
+    }
+
+    /**
+     * Fills every slot using the given resolver
+     * <p>
+     * Slots the resolver returns {@code null} for are written back verbatim
+     * as {@code {key}}
+     *
+     * @param resolver maps a slot key to its replacement
+     * @return the filled command string
+     */
+    public @NotNull String fill(@NotNull Function<String, @Nullable String> resolver) {
+        if (slots.length == 0) return literals[0];
+
+        StringBuilder out = new StringBuilder(literalLength + slots.length * 16);
+        for (int i = 0; i < slots.length; i++) {
+            out.append(literals[i]);
+            String value = resolver.apply(slots[i]);
+            if (value != null) {
+                out.append(value);
+            } else {
+                out.append('{').append(slots[i]).append('}');
+            }
+        }
+        out.append(literals[slots.length]);
+        return out.toString();
+    }
+
+    @Override
+    public String toString() {
+        return raw;
+    }
+
+}
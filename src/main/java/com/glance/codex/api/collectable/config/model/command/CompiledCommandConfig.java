@@ -0,0 +1,163 @@
+package com.glance.codex.api.collectable.config.model.command;
+
+import com.glance.codex.api.text.PlaceholderService;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Load-time compiled form of a {@link CommandConfig}
+ * <p>
+ * Each {@link CommandInfo#command()} is tokenized once into a {@link CommandTemplate}
+ * and bound to a {@link PlaceholderService}. Executing the config is then a
+ * single-pass fill per command
+ * <p>
+ * Placeholders are validated when compiling: every slot must either be a
+ * declared local or a token registered with the service at that time
+ *
+ * @author Cammy
+ */
+public final class CompiledCommandConfig {
+
+    private static final CompiledCommandConfig EMPTY =
+        new CompiledCommandConfig(List.of(), null);
+
+    private final List<Entry> commands;
+    private final @Nullable PlaceholderService placeholders;
+
+    private CompiledCommandConfig(List<Entry> commands, @Nullable PlaceholderService placeholders) {
+        this.commands = commands;
+        this.placeholders = placeholders;
+    }
+
+    /**
+     * A single compiled command
+     *
+     * @param runAs the execution context
+     * @param template the pre-tokenized command string
+     */
+    public record Entry(@NotNull CommandInfo.Target runAs, @NotNull CommandTemplate template) {}
+
+    /**
+     * A filled command, ready to dispatch
+     *
+     * @param runAs the execution context
+     * @param command the command string (without leading slash)
+     */
+    public record Rendered(@NotNull CommandInfo.Target runAs, @NotNull String command) {}
+
+    /**
+     * @return a compiled config with no commands
+     */
+    public static @NotNull CompiledCommandConfig empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Compiles a command config, validating placeholders up front
+     *
+     * @param config the config to compile (null or disabled yields {@link #empty()})
+     * @param placeholders the service used to resolve global tokens
+     * @param locals the local keys that will be supplied at execution time
+     * @return the compiled config
+     * @throws IllegalArgumentException if any command references an unknown placeholder
+     */
+    public static @NotNull CompiledCommandConfig compile(
+        @Nullable CommandConfig<? extends CommandInfo> config,
+        @NotNull PlaceholderService placeholders,
+        @NotNull Set<String> locals
+    ) {
+        if (config == null || !config.enabled() || config.isEmpty()) return EMPTY;
+
+        Set<String> registered = placeholders.listRegistered();
+        List<Entry> compiled = new ArrayList<>(config.commands().size());
+        List<String> unknown = new ArrayList<>();
+
+        for (CommandInfo info : config.commands()) {
+            if (info == null || info.command() == null || info.command().isBlank()) continue;
+
+            String command = info.command().startsWith("/") ? info.command().substring(1) : info.command();
+            CommandTemplate template = CommandTemplate.compile(command);
+            for (String key : template.slotKeys()) {
+                if (!locals.contains(key) && !registered.contains(key)) {
+                    unknown.add("{" + key + "} in '" + command + "'");
+                }
+            }
+            compiled.add(new Entry(info.runAs(), template));
+        }
+
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Unknown placeholders: " + String.join(", ", unknown));
+        }
+        return new CompiledCommandConfig(Collections.unmodifiableList(compiled), placeholders);
+    }
+
+    /**
+     * @return the compiled commands in configured order
+     */
+    public @NotNull List<Entry> commands() {
+        return commands;
+    }
+
+    /**
+     * @return true if there is nothing to execute
+     */
+    public boolean isEmpty() {
+        return commands.isEmpty();
+    }
+
+    /**
+     * Fills every command for the given context
+     * <p>
+     * Locals take precedence over global tokens. Commands containing
+     * {@code %...%} tokens are additionally passed through the service so
+     * PlaceholderAPI expansions still apply
+     *
+     * @param player optional player context for global resolvers
+     * @param locals per-execution replacements
+     * @return the filled commands
+     */
+    public @NotNull List<Rendered> render(@Nullable OfflinePlayer player, @NotNull Map<String, String> locals) {
+        if (commands.isEmpty() || placeholders == null) return List.of();
+
+        List<Rendered> out = new ArrayList<>(commands.size());
+        for (Entry entry : commands) {
+            CommandTemplate template = entry.template();
+            String filled = template.fill(key -> {
+                String local = locals.get(key);
+                return local != null ? local : placeholders.resolve(key, player);
+            });
+            if (template.needsExternalExpansion() && player != null) {
+                filled = placeholders.apply(filled, player, Collections.emptyMap());
+            }
+            out.add(new Rendered(entry.runAs(), filled));
+        }
+        return out;
+    }
+
+    /**
+     * Fills and dispatches every command
+     * <p>
+     * Must be called on the main thread
+     *
+     * @param player the player the commands are run for
+     * @param locals per-execution replacements
+     */
+    public void execute(@NotNull Player player, @NotNull Map<String, String> locals) {
+        for (Rendered rendered : render(player, locals)) {
+            switch (rendered.runAs()) {
+                case CONSOLE -> Bukkit.dispatchCommand(Bukkit.getConsoleSender(), rendered.command());
+                case PLAYER -> player.performCommand(rendered.command());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.glance.codex.api.collectable.cooldown;
+
+import org.bukkit.NamespacedKey;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * Notified when a replay cooldown runs out
+ *
+ * @author Cammy
+ */
+@FunctionalInterface
+public interface CooldownListener {
+
+    /**
+     * Called on the thread driving {@link ReplayCooldowns#tick()}
+     *
+     * @param playerId the player whose cooldown expired
+     * @param key the collectable that can be replayed again
+     */
+    void expired(@NotNull UUID playerId, @NotNull NamespacedKey key);
+
+}
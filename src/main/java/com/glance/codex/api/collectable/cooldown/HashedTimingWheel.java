@@ -0,0 +1,164 @@
+package com.glance.codex.api.collectable.cooldown;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel for large numbers of short timers
+ * <p>
+ * Time is split into fixed ticks and each timer is hashed into the bucket
+ * of its deadline tick modulo the wheel size, carrying the number of full
+ * rotations ("rounds") left before it is due. Scheduling is O(1) and
+ * lock-free from any thread: timers land in a queue and are moved into
+ * their bucket on the next {@link #advance(long)}. Advancing visits only
+ * the buckets for elapsed ticks, so no per-timer scheduler task is needed
+ * <p>
+ * Expiry precision is one tick. {@link #advance(long)} must be called from a
+ * single thread, e.g. a repeating server task
+ *
+ * @param <T> the payload handed to the expiry callback
+ *
+ * @author Cammy
+ */
+public final class HashedTimingWheel<T> {
+
+    private final long tickNanos;
+    private final Timeout<T>[] heads;
+    private final int mask;
+    private final long startNanos;
+    private final Consumer<? super T> onExpire;
+    private final Queue<Timeout<T>> pending = new ConcurrentLinkedQueue<>();
+    private long tick;
+
+    /**
+     * A scheduled timer
+     */
+    public static final class Timeout<T> {
+        private final T payload;
+        private final long deadline;
+        private long rounds;
+        private Timeout<T> next;
+        private volatile boolean cancelled;
+
+        private Timeout(T payload, long deadline) {
+            this.payload = payload;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Prevents the timer from firing; it is unlinked lazily
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public @NotNull T payload() {
+            return payload;
+        }
+    }
+
+    /**
+     * @param tick duration of one tick
+     * @param tickUnit unit of {@code tick}
+     * @param wheelSize number of buckets, rounded up to a power of two
+     * @param onExpire receives the payload of each timer as it expires, on the advancing thread
+     */
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tick, @NotNull TimeUnit tickUnit, int wheelSize, @NotNull Consumer<? super T> onExpire) {
+        if (tick <= 0) throw new IllegalArgumentException("Tick must be positive: " + tick);
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.tickNanos = tickUnit.toNanos(tick);
+        this.heads = (Timeout<T>[]) new Timeout[size];
+        this.mask = size - 1;
+        this.startNanos = System.nanoTime();
+        this.onExpire = onExpire;
+    }
+
+    /**
+     * Schedules a timer
+     *
+     * @param payload handed to the expiry callback
+     * @param delay time until expiry
+     * @param unit unit of {@code delay}
+     * @return the handle, which can be cancelled
+     */
+    public @NotNull Timeout<T> schedule(@NotNull T payload, long delay, @NotNull TimeUnit unit) {
+        long deadline = System.nanoTime() - startNanos + Math.max(0, unit.toNanos(delay));
+        Timeout<T> timeout = new Timeout<>(payload, deadline);
+        pending.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Processes every tick up to the given time, firing due timers
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return how many timers fired
+     */
+    public int advance(long nowNanos) {
+        long target = (nowNanos - startNanos) / tickNanos;
+        int fired = 0;
+        while (tick <= target) {
+            transferPending();
+            fired += expireBucket((int) (tick & mask));
+            tick++;
+        }
+        return fired;
+    }
+
+    /**
+     * @return the tick duration in nanoseconds
+     */
+    public long tickNanos() {
+        return tickNanos;
+    }
+
+    private void transferPending() {
+        Timeout<T> timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.cancelled) continue;
+            // Round up so a timer never fires before its deadline
+            long due = Math.max((timeout.deadline + tickNanos - 1) / tickNanos, tick);
+            timeout.rounds = (due - tick) / heads.length;
+            int index = (int) (due & mask);
+            timeout.next = heads[index];
+            heads[index] = timeout;
+        }
+    }
+
+    private int expireBucket(int index) {
+        int fired = 0;
+        Timeout<T> prev = null;
+        Timeout<T> timeout = heads[index];
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            boolean remove = timeout.cancelled;
+            if (!remove && timeout.rounds <= 0) {
+                remove = true;
+                fired++;
+                onExpire.accept(timeout.payload);
+            } else if (!remove) {
+                timeout.rounds--;
+            }
+
+            if (remove) {
+                if (prev == null) heads[index] = next;
+                else prev.next = next;
+                timeout.next = null;
+            } else {
+                prev = timeout;
+            }
+            timeout = next;
+        }
+        return fired;
+    }
+
+}
@@ -0,0 +1,171 @@
+package com.glance.codex.api.collectable.cooldown;
+
+import org.bukkit.Bukkit;
+import org.bukkit.NamespacedKey;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-player, per-collectable replay cooldowns
+ * <p>
+ * Active cooldowns live in a concurrent map for O(1) checks. Their expiry is
+ * tracked on a {@link HashedTimingWheel}, which drops them from the map and
+ * notifies {@link CooldownListener}s, so no scheduler task is created per
+ * cooldown. The wheel is driven by one repeating task started with
+ * {@link #register(Plugin)}, or by calling {@link #tick()} directly
+ *
+ * @see com.glance.codex.api.collectable.Collectable#replayCooldown()
+ *
+ * @author Cammy
+ */
+public final class ReplayCooldowns {
+
+    private static final int WHEEL_SIZE = 512;
+
+    private final Map<Key, Active> active = new ConcurrentHashMap<>();
+    private final List<CooldownListener> listeners = new CopyOnWriteArrayList<>();
+    private final HashedTimingWheel<Active> wheel;
+    private @Nullable BukkitTask tickTask;
+
+    private record Key(UUID playerId, NamespacedKey key) {}
+
+    private static final class Active {
+        private final Key key;
+        private final long expiresAt;
+        private HashedTimingWheel.Timeout<Active> timeout;
+
+        private Active(Key key, long expiresAt) {
+            this.key = key;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Creates cooldowns with a one server tick (50 ms) resolution
+     */
+    public ReplayCooldowns() {
+        this(Duration.ofMillis(50));
+    }
+
+    /**
+     * @param resolution the timing wheel tick; expiry notifications are at most this late
+     */
+    public ReplayCooldowns(@NotNull Duration resolution) {
+        this.wheel = new HashedTimingWheel<>(resolution.toNanos(), TimeUnit.NANOSECONDS, WHEEL_SIZE, this::expire);
+    }
+
+    /**
+     * Starts a repeating task that advances the wheel every server tick
+     *
+     * @param plugin the owning plugin
+     */
+    public void register(@NotNull Plugin plugin) {
+        if (tickTask != null) return;
+        tickTask = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    /**
+     * Stops the tick task and drops every cooldown without notifying
+     */
+    public void shutdown() {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+        active.values().forEach(a -> a.timeout.cancel());
+        active.clear();
+    }
+
+    /**
+     * @param listener notified when cooldowns expire, e.g. to tell the player
+     */
+    public void addListener(@NotNull CooldownListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(@NotNull CooldownListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Starts a cooldown unless one is already running
+     *
+     * @param playerId the replaying player
+     * @param key the collectable being replayed
+     * @param cooldown the cooldown length; zero or negative disables it
+     * @return {@link Duration#ZERO} if the replay may proceed, otherwise the time left
+     */
+    public @NotNull Duration tryAcquire(@NotNull UUID playerId, @NotNull NamespacedKey key, @NotNull Duration cooldown) {
+        if (cooldown.isZero() || cooldown.isNegative()) return Duration.ZERO;
+
+        long now = System.nanoTime();
+        Key id = new Key(playerId, key);
+        Active[] blocked = new Active[1];
+        active.compute(id, (k, existing) -> {
+            if (existing != null && existing.expiresAt - now > 0) {
+                blocked[0] = existing;
+                return existing;
+            }
+            if (existing != null) existing.timeout.cancel();
+            Active started = new Active(k, now + cooldown.toNanos());
+            started.timeout = wheel.schedule(started, cooldown.toNanos(), TimeUnit.NANOSECONDS);
+            return started;
+        });
+        return blocked[0] == null ? Duration.ZERO : Duration.ofNanos(blocked[0].expiresAt - now);
+    }
+
+    /**
+     * @return the time left on a cooldown, or {@link Duration#ZERO} if none is running
+     */
+    public @NotNull Duration remaining(@NotNull UUID playerId, @NotNull NamespacedKey key) {
+        Active entry = active.get(new Key(playerId, key));
+        if (entry == null) return Duration.ZERO;
+        long left = entry.expiresAt - System.nanoTime();
+        return left > 0 ? Duration.ofNanos(left) : Duration.ZERO;
+    }
+
+    /**
+     * Drops every cooldown of a player without notifying, e.g. on quit
+     */
+    public void clear(@NotNull UUID playerId) {
+        active.values().removeIf(entry -> {
+            if (!entry.key.playerId().equals(playerId)) return false;
+            entry.timeout.cancel();
+            return true;
+        });
+    }
+
+    /**
+     * @return the number of running cooldowns
+     */
+    public int size() {
+        return active.size();
+    }
+
+    /**
+     * Advances the timing wheel, expiring due cooldowns
+     *
+     * @return how many cooldowns expired
+     */
+    public int tick() {
+        return wheel.advance(System.nanoTime());
+    }
+
+    private void expire(Active entry) {
+        if (!active.remove(entry.key, entry)) return;
+        for (CooldownListener listener : listeners) {
+            listener.expired(entry.key.playerId(), entry.key.key());
+        }
+    }
+
+}
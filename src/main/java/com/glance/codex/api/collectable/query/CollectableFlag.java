@@ -0,0 +1,41 @@
+package com.glance.codex.api.collectable.query;
+
+import com.glance.codex.api.collectable.Collectable;
+import com.glance.codex.api.collectable.Discoverable;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Predicate;
+
+/**
+ * Boolean properties of a {@link Collectable} that are precomputed into
+ * a {@link CollectableIndex}
+ *
+ * @author Cammy
+ */
+public enum CollectableFlag {
+
+    /** {@link Collectable#showWhenLocked()} */
+    SHOW_WHEN_LOCKED(Collectable::showWhenLocked),
+    /** {@link Collectable#allowReplay()} */
+    ALLOW_REPLAY(Collectable::allowReplay),
+    /** {@link Collectable#trackReplays()} */
+    TRACK_REPLAYS(Collectable::trackReplays),
+    /** {@link Collectable#replayOnClick()} */
+    REPLAY_ON_CLICK(Collectable::replayOnClick),
+    /** The collectable implements {@link Discoverable} */
+    DISCOVERABLE(c -> c instanceof Discoverable);
+
+    private final Predicate<Collectable> test;
+
+    CollectableFlag(Predicate<Collectable> test) {
+        this.test = test;
+    }
+
+    /**
+     * @return true if the collectable has this flag set
+     */
+    public boolean test(@NotNull Collectable collectable) {
+        return test.test(collectable);
+    }
+
+}
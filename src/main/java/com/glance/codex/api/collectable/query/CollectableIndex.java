@@ -0,0 +1,241 @@
+package com.glance.codex.api.collectable.query;
+
+import com.glance.codex.api.collectable.Collectable;
+import com.glance.codex.api.collectable.CollectableRepository;
+import com.glance.codex.api.collectable.type.CollectableType;
+import org.bukkit.NamespacedKey;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Immutable bitset index over every registered collectable
+ * <p>
+ * Each collectable gets a global ordinal (repositories in registration order,
+ * then entries in map order). Type IDs, {@link CollectableFlag flags}, tags and
+ * namespaces each map to a {@link BitSet} over those ordinals, so a
+ * {@link CollectableQuery} is answered with a handful of word-wise bit operations
+ * <p>
+ * The index is a snapshot; the manager rebuilds it whenever repositories
+ * are registered or reloaded
+ *
+ * @author Cammy
+ */
+public final class CollectableIndex {
+
+    private static final CollectableIndex EMPTY = new CollectableIndex(
+        new NamespacedKey[0], new Collectable[0], Map.of(), new EnumMap<>(CollectableFlag.class), Map.of(), Map.of());
+
+    private final NamespacedKey[] keys;
+    private final Collectable[] entries;
+    private final Map<NamespacedKey, Integer> ordinals;
+    private final Map<String, BitSet> byType;
+    private final EnumMap<CollectableFlag, BitSet> byFlag;
+    private final Map<String, BitSet> byTag;
+    private final Map<String, BitSet> byNamespace;
+    private final BitSet all;
+
+    private CollectableIndex(
+        NamespacedKey[] keys,
+        Collectable[] entries,
+        Map<String, BitSet> byType,
+        EnumMap<CollectableFlag, BitSet> byFlag,
+        Map<String, BitSet> byTag,
+        Map<String, BitSet> byNamespace
+    ) {
+        this.keys = keys;
+        this.entries = entries;
+        this.byType = byType;
+        this.byFlag = byFlag;
+        this.byTag = byTag;
+        this.byNamespace = byNamespace;
+        this.all = new BitSet(keys.length);
+        this.all.set(0, keys.length);
+
+        Map<NamespacedKey, Integer> ordinals = new HashMap<>(keys.length * 2);
+        for (int i = 0; i < keys.length; i++) ordinals.put(keys[i], i);
+        this.ordinals = ordinals;
+    }
+
+    /**
+     * @return an index with no entries
+     */
+    public static @NotNull CollectableIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds an index over the given repositories
+     * <p>
+     * A collectable's type is the registered type whose class is the closest
+     * superclass (or the class itself) of the collectable's runtime class.
+     * Collectables matching no registered type are still indexed by flag, tag
+     * and namespace
+     *
+     * @param repositories repositories to index, in ordinal order
+     * @param types registered collectable types
+     * @return the index
+     */
+    public static @NotNull CollectableIndex build(
+        @NotNull Collection<? extends CollectableRepository> repositories,
+        @NotNull Collection<? extends CollectableType> types
+    ) {
+        List<NamespacedKey> keys = new ArrayList<>();
+        List<Collectable> entries = new ArrayList<>();
+        Map<String, BitSet> byType = new HashMap<>();
+        EnumMap<CollectableFlag, BitSet> byFlag = new EnumMap<>(CollectableFlag.class);
+        Map<String, BitSet> byTag = new HashMap<>();
+        Map<String, BitSet> byNamespace = new HashMap<>();
+        Map<Class<?>, String> typeCache = new HashMap<>();
+
+        for (CollectableFlag flag : CollectableFlag.values()) {
+            byFlag.put(flag, new BitSet());
+        }
+
+        for (CollectableRepository repo : repositories) {
+            BitSet namespaceBits = byNamespace.computeIfAbsent(repo.namespace(), k -> new BitSet());
+            for (Map.Entry<String, Collectable> entry : repo.entries().entrySet()) {
+                int ordinal = keys.size();
+                Collectable collectable = entry.getValue();
+                keys.add(new NamespacedKey(repo.namespace(), entry.getKey()));
+                entries.add(collectable);
+                namespaceBits.set(ordinal);
+
+                String typeId = typeCache.computeIfAbsent(collectable.getClass(), c -> resolveType(c, types));
+                if (!typeId.isEmpty()) {
+                    byType.computeIfAbsent(typeId, k -> new BitSet()).set(ordinal);
+                }
+                for (CollectableFlag flag : CollectableFlag.values()) {
+                    if (flag.test(collectable)) byFlag.get(flag).set(ordinal);
+                }
+                for (String tag : collectable.tags()) {
+                    byTag.computeIfAbsent(normalize(tag), k -> new BitSet()).set(ordinal);
+                }
+            }
+        }
+
+        return new CollectableIndex(
+            keys.toArray(NamespacedKey[]::new),
+            entries.toArray(Collectable[]::new),
+            Map.copyOf(byType), byFlag, Map.copyOf(byTag), Map.copyOf(byNamespace));
+    }
+
+    /**
+     * Evaluates a query
+     *
+     * @param query the filter
+     * @return the matching collectables
+     */
+    public @NotNull QueryResult query(@NotNull CollectableQuery query) {
+        return new QueryResult(this, evaluate(query));
+    }
+
+    /**
+     * @return a fresh bitset of the ordinals matching the query
+     */
+    public @NotNull BitSet matching(@NotNull CollectableQuery query) {
+        return evaluate(query);
+    }
+
+    /**
+     * @return the number of collectables matching the query
+     */
+    public int count(@NotNull CollectableQuery query) {
+        return evaluate(query).cardinality();
+    }
+
+    /**
+     * @return the number of indexed collectables
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * @return the ordinal of a collectable, or -1 if it is not indexed
+     */
+    public int ordinalOf(@NotNull NamespacedKey key) {
+        Integer ordinal = ordinals.get(key);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    /**
+     * @return the key at an ordinal
+     */
+    public @NotNull NamespacedKey keyAt(int ordinal) {
+        return keys[ordinal];
+    }
+
+    /**
+     * @return the collectable at an ordinal
+     */
+    public @NotNull Collectable entryAt(int ordinal) {
+        return entries[ordinal];
+    }
+
+    /**
+     * @return every indexed type ID
+     */
+    public @NotNull Set<String> typeIds() {
+        return byType.keySet();
+    }
+
+    /**
+     * @return every indexed tag (lower-cased)
+     */
+    public @NotNull Set<String> tags() {
+        return byTag.keySet();
+    }
+
+    private BitSet evaluate(CollectableQuery query) {
+        return switch (query) {
+            case CollectableQuery.All q -> copy(all);
+            case CollectableQuery.Type q -> copy(byType.get(normalize(q.typeId())));
+            case CollectableQuery.Flag q -> copy(byFlag.get(q.flag()));
+            case CollectableQuery.Tag q -> copy(byTag.get(normalize(q.tag())));
+            case CollectableQuery.Namespace q -> copy(byNamespace.get(q.namespace()));
+            case CollectableQuery.Not q -> {
+                BitSet result = copy(all);
+                result.andNot(evaluate(q.operand()));
+                yield result;
+            }
+            case CollectableQuery.And q -> {
+                if (q.operands().isEmpty()) yield copy(all);
+                BitSet result = evaluate(q.operands().get(0));
+                for (int i = 1; i < q.operands().size() && !result.isEmpty(); i++) {
+                    result.and(evaluate(q.operands().get(i)));
+                }
+                yield result;
+            }
+            case CollectableQuery.Or q -> {
+                BitSet result = new BitSet(keys.length);
+                for (CollectableQuery operand : q.operands()) {
+                    result.or(evaluate(operand));
+                }
+                yield result;
+            }
+        };
+    }
+
+    private static BitSet copy(@Nullable BitSet bits) {
+        return bits == null ? new BitSet() : (BitSet) bits.clone();
+    }
+
+    private static String normalize(String id) {
+        return id.toLowerCase(Locale.ROOT);
+    }
+
+    private static String resolveType(Class<?> clazz, Collection<? extends CollectableType> types) {
+        for (Class<?> c = clazz; c != null; c = c.getSuperclass()) {
+            for (CollectableType type : types) {
+                if (type.type() == c) return normalize(type.id());
+            }
+        }
+        for (CollectableType type : types) {
+            if (type.type().isAssignableFrom(clazz)) return normalize(type.id());
+        }
+        return "";
+    }
+
+}
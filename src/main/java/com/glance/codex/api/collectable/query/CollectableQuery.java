@@ -0,0 +1,87 @@
+package com.glance.codex.api.collectable.query;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Boolean filter over collectables, evaluated against a {@link CollectableIndex}
+ * <p>
+ * Every leaf maps to a precomputed bitset and combinators map to bitwise
+ * AND/OR/ANDNOT, so evaluation never touches the collectables themselves
+ *
+ * <pre>{@code
+ * CollectableQuery q = CollectableQuery.type("note")
+ *     .and(CollectableQuery.tag("lore"))
+ *     .and(CollectableQuery.flag(CollectableFlag.ALLOW_REPLAY).negate());
+ * }</pre>
+ *
+ * @author Cammy
+ */
+public sealed interface CollectableQuery {
+
+    /** Matches every indexed collectable */
+    record All() implements CollectableQuery {}
+
+    /** Matches collectables of a registered {@link com.glance.codex.api.collectable.type.CollectableType} ID */
+    record Type(@NotNull String typeId) implements CollectableQuery {}
+
+    /** Matches collectables with a flag set */
+    record Flag(@NotNull CollectableFlag flag) implements CollectableQuery {}
+
+    /** Matches collectables carrying a config tag */
+    record Tag(@NotNull String tag) implements CollectableQuery {}
+
+    /** Matches collectables in a repository */
+    record Namespace(@NotNull String namespace) implements CollectableQuery {}
+
+    /** Matches collectables matching every operand */
+    record And(@NotNull List<CollectableQuery> operands) implements CollectableQuery {}
+
+    /** Matches collectables matching any operand */
+    record Or(@NotNull List<CollectableQuery> operands) implements CollectableQuery {}
+
+    /** Matches collectables not matching the operand */
+    record Not(@NotNull CollectableQuery operand) implements CollectableQuery {}
+
+    static @NotNull CollectableQuery all() {
+        return new All();
+    }
+
+    static @NotNull CollectableQuery type(@NotNull String typeId) {
+        return new Type(typeId);
+    }
+
+    static @NotNull CollectableQuery flag(@NotNull CollectableFlag flag) {
+        return new Flag(flag);
+    }
+
+    static @NotNull CollectableQuery tag(@NotNull String tag) {
+        return new Tag(tag);
+    }
+
+    static @NotNull CollectableQuery namespace(@NotNull String namespace) {
+        return new Namespace(namespace);
+    }
+
+    static @NotNull CollectableQuery allOf(@NotNull CollectableQuery... operands) {
+        return new And(List.of(operands));
+    }
+
+    static @NotNull CollectableQuery anyOf(@NotNull CollectableQuery... operands) {
+        return new Or(List.of(operands));
+    }
+
+    default @NotNull CollectableQuery and(@NotNull CollectableQuery other) {
+        return allOf(this, other);
+    }
+
+    default @NotNull CollectableQuery or(@NotNull CollectableQuery other) {
+        return anyOf(this, other);
+    }
+
+    default @NotNull CollectableQuery negate() {
+        return new Not(this);
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.glance.codex.api.collectable.query;
+
+import com.glance.codex.api.collectable.Collectable;
+import org.bukkit.NamespacedKey;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Collectables matched by a {@link CollectableQuery}, in index ordinal order
+ *
+ * @author Cammy
+ */
+public final class QueryResult {
+
+    private final CollectableIndex index;
+    private final BitSet matches;
+
+    QueryResult(@NotNull CollectableIndex index, @NotNull BitSet matches) {
+        this.index = index;
+        this.matches = matches;
+    }
+
+    /**
+     * @return the number of matches
+     */
+    public int size() {
+        return matches.cardinality();
+    }
+
+    public boolean isEmpty() {
+        return matches.isEmpty();
+    }
+
+    /**
+     * @return true if the collectable matched
+     */
+    public boolean contains(@NotNull NamespacedKey key) {
+        int ordinal = index.ordinalOf(key);
+        return ordinal >= 0 && matches.get(ordinal);
+    }
+
+    /**
+     * @return the matching keys
+     */
+    public @NotNull List<NamespacedKey> keys() {
+        List<NamespacedKey> keys = new ArrayList<>(size());
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            keys.add(index.keyAt(i));
+        }
+        return keys;
+    }
+
+    /**
+     * @return the matching collectables
+     */
+    public @NotNull List<Collectable> collectables() {
+        return stream().toList();
+    }
+
+    /**
+     * @return a stream over the matching collectables
+     */
+    public @NotNull Stream<Collectable> stream() {
+        return matches.stream().mapToObj(index::entryAt);
+    }
+
+}
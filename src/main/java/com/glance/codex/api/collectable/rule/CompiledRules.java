@@ -0,0 +1,200 @@
+package com.glance.codex.api.collectable.rule;
+
+import com.glance.codex.api.collectable.query.CollectableIndex;
+import com.glance.codex.api.collectable.query.CollectableQuery;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * {@link CompletionRule}s compiled against a {@link CollectableIndex}
+ * <p>
+ * Every rule becomes one or more groups (one for {@code AllOf} and {@code AnyOf},
+ * one per group for {@code PerGroup}), each with a required count. Every
+ * collectable ordinal keeps the list of groups that reference it, so an unlock
+ * only touches the counters of rules that actually mention that collectable.
+ * Per-player state lives in {@link RuleProgress}
+ * <p>
+ * Immutable; compile again whenever the index is rebuilt
+ *
+ * @author Cammy
+ */
+public final class CompiledRules {
+
+    private static final int[] NO_GROUPS = new int[0];
+
+    private final CollectableIndex index;
+    private final CompletionRule[] rules;
+    private final Map<String, Integer> ruleIndex;
+    private final int[] firstGroup;
+    private final int[] groupRule;
+    private final int[] required;
+    private final int[][] groupsByOrdinal;
+
+    private CompiledRules(
+        CollectableIndex index,
+        CompletionRule[] rules,
+        int[] firstGroup,
+        int[] groupRule,
+        int[] required,
+        int[][] groupsByOrdinal
+    ) {
+        this.index = index;
+        this.rules = rules;
+        this.firstGroup = firstGroup;
+        this.groupRule = groupRule;
+        this.required = required;
+        this.groupsByOrdinal = groupsByOrdinal;
+
+        Map<String, Integer> ruleIndex = new HashMap<>(rules.length * 2);
+        for (int i = 0; i < rules.length; i++) ruleIndex.put(rules[i].id(), i);
+        this.ruleIndex = ruleIndex;
+    }
+
+    /**
+     * Compiles rules against an index
+     * <p>
+     * An {@code AllOf} whose scope matches nothing can never be satisfied,
+     * rather than being satisfied immediately
+     *
+     * @param index the current collectable index
+     * @param rules the rules; IDs must be unique
+     * @return the compiled rules
+     * @throws IllegalArgumentException if two rules share an ID
+     */
+    public static @NotNull CompiledRules compile(
+        @NotNull CollectableIndex index,
+        @NotNull Collection<? extends CompletionRule> rules
+    ) {
+        CompletionRule[] ruleArray = rules.toArray(CompletionRule[]::new);
+        Set<String> seen = new HashSet<>();
+        for (CompletionRule rule : ruleArray) {
+            if (!seen.add(rule.id())) {
+                throw new IllegalArgumentException("Duplicate completion rule ID: " + rule.id());
+            }
+        }
+
+        List<BitSet> groupMembers = new ArrayList<>();
+        List<Integer> groupRequired = new ArrayList<>();
+        List<Integer> groupOwner = new ArrayList<>();
+        int[] firstGroup = new int[ruleArray.length + 1];
+
+        for (int r = 0; r < ruleArray.length; r++) {
+            firstGroup[r] = groupMembers.size();
+            switch (ruleArray[r]) {
+                case CompletionRule.AllOf rule -> {
+                    BitSet members = index.matching(rule.scope());
+                    int count = members.cardinality();
+                    addGroup(groupMembers, groupRequired, groupOwner, r, members, count == 0 ? Integer.MAX_VALUE : count);
+                }
+                case CompletionRule.AnyOf rule ->
+                    addGroup(groupMembers, groupRequired, groupOwner, r, index.matching(rule.scope()), rule.count());
+                case CompletionRule.PerGroup rule -> {
+                    for (CollectableQuery group : rule.groups()) {
+                        addGroup(groupMembers, groupRequired, groupOwner, r, index.matching(group), rule.count());
+                    }
+                }
+            }
+        }
+        firstGroup[ruleArray.length] = groupMembers.size();
+
+        int[] refCounts = new int[index.size()];
+        for (BitSet members : groupMembers) {
+            for (int o = members.nextSetBit(0); o >= 0; o = members.nextSetBit(o + 1)) refCounts[o]++;
+        }
+        int[][] groupsByOrdinal = new int[index.size()][];
+        for (int o = 0; o < groupsByOrdinal.length; o++) {
+            groupsByOrdinal[o] = refCounts[o] == 0 ? NO_GROUPS : new int[refCounts[o]];
+            refCounts[o] = 0;
+        }
+        for (int g = 0; g < groupMembers.size(); g++) {
+            BitSet members = groupMembers.get(g);
+            for (int o = members.nextSetBit(0); o >= 0; o = members.nextSetBit(o + 1)) {
+                groupsByOrdinal[o][refCounts[o]++] = g;
+            }
+        }
+
+        return new CompiledRules(
+            index, ruleArray, firstGroup,
+            groupOwner.stream().mapToInt(Integer::intValue).toArray(),
+            groupRequired.stream().mapToInt(Integer::intValue).toArray(),
+            groupsByOrdinal);
+    }
+
+    private static void addGroup(
+        List<BitSet> members, List<Integer> required, List<Integer> owner,
+        int rule, BitSet groupMembers, int groupRequired
+    ) {
+        members.add(groupMembers);
+        required.add(groupRequired);
+        owner.add(rule);
+    }
+
+    /**
+     * @return fresh per-player state with nothing unlocked or completed
+     */
+    public @NotNull RuleProgress newProgress() {
+        return new RuleProgress(this);
+    }
+
+    /**
+     * @return the index these rules were compiled against
+     */
+    public @NotNull CollectableIndex index() {
+        return index;
+    }
+
+    /**
+     * @return the compiled rules, in compile order
+     */
+    public @NotNull List<CompletionRule> rules() {
+        return List.of(rules);
+    }
+
+    /**
+     * @return the rule with an ID, or null if none was compiled
+     */
+    public @Nullable CompletionRule rule(@NotNull String id) {
+        Integer i = ruleIndex.get(id);
+        return i == null ? null : rules[i];
+    }
+
+    int ruleCount() {
+        return rules.length;
+    }
+
+    int groupCount() {
+        return groupRule.length;
+    }
+
+    int ruleIndexOf(String id) {
+        Integer i = ruleIndex.get(id);
+        return i == null ? -1 : i;
+    }
+
+    CompletionRule ruleAt(int rule) {
+        return rules[rule];
+    }
+
+    int firstGroup(int rule) {
+        return firstGroup[rule];
+    }
+
+    int groupsOf(int rule) {
+        return firstGroup[rule + 1] - firstGroup[rule];
+    }
+
+    int ruleOfGroup(int group) {
+        return groupRule[group];
+    }
+
+    int required(int group) {
+        return required[group];
+    }
+
+    int[] groupsReferencing(int ordinal) {
+        return groupsByOrdinal[ordinal];
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.glance.codex.api.collectable.rule;
+
+import com.glance.codex.api.collectable.query.CollectableQuery;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Declarative goal over collectables, e.g. a derived reward
+ * <p>
+ * Rules select collectables with {@link CollectableQuery queries}, so they
+ * follow config changes without naming entries one by one
+ *
+ * <pre>{@code
+ * CompletionRule.allOf("all_fish", CollectableQuery.namespace("fish"));
+ * CompletionRule.anyOf("ten_notes", CollectableQuery.namespace("notes"), 10);
+ * CompletionRule.perGroup("explorer", 3,
+ *     CollectableQuery.tag("north"), CollectableQuery.tag("south"), CollectableQuery.tag("east"));
+ * }</pre>
+ *
+ * @see CompiledRules
+ *
+ * @author Cammy
+ */
+public sealed interface CompletionRule {
+
+    /**
+     * @return the unique ID, used to remember which rules a player already completed
+     */
+    @NotNull String id();
+
+    /** Satisfied once every matching collectable is unlocked */
+    record AllOf(@NotNull String id, @NotNull CollectableQuery scope) implements CompletionRule {}
+
+    /** Satisfied once at least {@code count} matching collectables are unlocked */
+    record AnyOf(@NotNull String id, @NotNull CollectableQuery scope, int count) implements CompletionRule {
+        public AnyOf {
+            if (count < 1) throw new IllegalArgumentException("Rule '" + id + "' needs a count of at least 1");
+        }
+    }
+
+    /** Satisfied once at least {@code count} collectables from each group are unlocked */
+    record PerGroup(@NotNull String id, @NotNull List<CollectableQuery> groups, int count) implements CompletionRule {
+        public PerGroup {
+            if (count < 1) throw new IllegalArgumentException("Rule '" + id + "' needs a count of at least 1");
+            if (groups.isEmpty()) throw new IllegalArgumentException("Rule '" + id + "' needs at least one group");
+            groups = List.copyOf(groups);
+        }
+    }
+
+    static @NotNull CompletionRule allOf(@NotNull String id, @NotNull CollectableQuery scope) {
+        return new AllOf(id, scope);
+    }
+
+    static @NotNull CompletionRule anyOf(@NotNull String id, @NotNull CollectableQuery scope, int count) {
+        return new AnyOf(id, scope, count);
+    }
+
+    static @NotNull CompletionRule perGroup(@NotNull String id, int count, @NotNull CollectableQuery... groups) {
+        return new PerGroup(id, List.of(groups), count);
+    }
+
+}
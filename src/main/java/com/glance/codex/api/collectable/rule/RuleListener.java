@@ -0,0 +1,23 @@
+package com.glance.codex.api.collectable.rule;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * Notified when a player completes a {@link CompletionRule}, e.g. to grant a reward
+ *
+ * @author Cammy
+ */
+@FunctionalInterface
+public interface RuleListener {
+
+    /**
+     * Called once per player and rule, on the thread that reported the unlock
+     *
+     * @param playerId the player who completed the rule
+     * @param rule the completed rule
+     */
+    void completed(@NotNull UUID playerId, @NotNull CompletionRule rule);
+
+}
@@ -0,0 +1,212 @@
+package com.glance.codex.api.collectable.rule;
+
+import com.glance.codex.api.data.ProgressView;
+import org.bukkit.NamespacedKey;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * One player's counters against a set of {@link CompiledRules}
+ * <p>
+ * Keeps the unlocked ordinals, a counter per rule group, a bitmask of groups
+ * that have reached their required count and a bitmask of completed rules.
+ * An unlock walks only the groups referencing that collectable; a rule
+ * completes when all of its groups are met and is reported exactly once,
+ * even if the player later relocks and unlocks again
+ * <p>
+ * Not thread-safe; {@link RuleTracker} serialises access per player
+ *
+ * @author Cammy
+ */
+public final class RuleProgress {
+
+    private final CompiledRules rules;
+    private final BitSet unlocked;
+    private final int[] counts;
+    private final BitSet metGroups;
+    private final int[] metPerRule;
+    private final BitSet completed;
+
+    RuleProgress(@NotNull CompiledRules rules) {
+        this.rules = rules;
+        this.unlocked = new BitSet(rules.index().size());
+        this.counts = new int[rules.groupCount()];
+        this.metGroups = new BitSet(rules.groupCount());
+        this.metPerRule = new int[rules.ruleCount()];
+        this.completed = new BitSet(rules.ruleCount());
+    }
+
+    /**
+     * Loads existing progress, e.g. when a player joins
+     * <p>
+     * Rules listed in {@code alreadyCompleted} are marked complete without being
+     * reported. Rules the player satisfies but has not been rewarded for, such as
+     * rules added since their last session, are returned so they can be awarded now
+     *
+     * @param view the player's unlocked progress
+     * @param alreadyCompleted IDs of rules already awarded
+     * @return rules newly completed by the loaded progress
+     */
+    public @NotNull List<CompletionRule> load(@NotNull ProgressView view, @NotNull Set<String> alreadyCompleted) {
+        for (String id : alreadyCompleted) {
+            int rule = rules.ruleIndexOf(id);
+            if (rule >= 0) completed.set(rule);
+        }
+
+        List<CompletionRule> fired = List.of();
+        for (String namespace : view.namespaces()) {
+            for (String id : view.unlockedIds(namespace)) {
+                fired = append(fired, unlock(new NamespacedKey(namespace, id)));
+            }
+        }
+        return fired;
+    }
+
+    /**
+     * Counts an unlock
+     *
+     * @param key the unlocked collectable
+     * @return rules completed by this unlock, usually empty
+     */
+    public @NotNull List<CompletionRule> unlock(@NotNull NamespacedKey key) {
+        int ordinal = rules.index().ordinalOf(key);
+        if (ordinal < 0 || unlocked.get(ordinal)) return List.of();
+        unlocked.set(ordinal);
+
+        List<CompletionRule> fired = List.of();
+        for (int group : rules.groupsReferencing(ordinal)) {
+            if (++counts[group] != rules.required(group)) continue;
+            metGroups.set(group);
+            int rule = rules.ruleOfGroup(group);
+            if (++metPerRule[rule] == rules.groupsOf(rule) && !completed.get(rule)) {
+                completed.set(rule);
+                fired = append(fired, List.of(rules.ruleAt(rule)));
+            }
+        }
+        return fired;
+    }
+
+    /**
+     * Uncounts a relock; rules already completed stay completed
+     *
+     * @param key the relocked collectable
+     */
+    public void relock(@NotNull NamespacedKey key) {
+        int ordinal = rules.index().ordinalOf(key);
+        if (ordinal < 0 || !unlocked.get(ordinal)) return;
+        unlocked.clear(ordinal);
+
+        for (int group : rules.groupsReferencing(ordinal)) {
+            if (counts[group]-- == rules.required(group)) {
+                metGroups.clear(group);
+                metPerRule[rules.ruleOfGroup(group)]--;
+            }
+        }
+    }
+
+    /**
+     * Uncounts every unlock in a repository
+     */
+    public void clearNamespace(@NotNull String namespace) {
+        for (int o = unlocked.nextSetBit(0); o >= 0; o = unlocked.nextSetBit(o + 1)) {
+            NamespacedKey key = rules.index().keyAt(o);
+            if (key.getNamespace().equals(namespace)) relock(key);
+        }
+    }
+
+    /**
+     * Uncounts every unlock
+     */
+    public void clearAll() {
+        unlocked.clear();
+        metGroups.clear();
+        Arrays.fill(counts, 0);
+        Arrays.fill(metPerRule, 0);
+    }
+
+    /**
+     * @return true if the rule has been completed
+     */
+    public boolean isCompleted(@NotNull String ruleId) {
+        int rule = rules.ruleIndexOf(ruleId);
+        return rule >= 0 && completed.get(rule);
+    }
+
+    /**
+     * @return IDs of every completed rule, for persisting alongside progress
+     */
+    public @NotNull Set<String> completedIds() {
+        Set<String> ids = new HashSet<>();
+        for (int r = completed.nextSetBit(0); r >= 0; r = completed.nextSetBit(r + 1)) {
+            ids.add(rules.ruleAt(r).id());
+        }
+        return ids;
+    }
+
+    /**
+     * Counted progress towards a rule, capped per group, e.g. "7 of 10"
+     *
+     * @return the progress, or 0 if the rule is unknown
+     * @see #target(String)
+     */
+    public int progress(@NotNull String ruleId) {
+        int rule = rules.ruleIndexOf(ruleId);
+        if (rule < 0) return 0;
+        int total = 0;
+        int first = rules.firstGroup(rule);
+        for (int g = first; g < first + rules.groupsOf(rule); g++) {
+            total += Math.min(counts[g], rules.required(g));
+        }
+        return total;
+    }
+
+    /**
+     * @return the progress at which a rule completes, or 0 if the rule is unknown
+     * or can never complete
+     */
+    public int target(@NotNull String ruleId) {
+        int rule = rules.ruleIndexOf(ruleId);
+        if (rule < 0) return 0;
+        long total = 0;
+        int first = rules.firstGroup(rule);
+        for (int g = first; g < first + rules.groupsOf(rule); g++) {
+            total += rules.required(g);
+        }
+        return total > Integer.MAX_VALUE ? 0 : (int) total;
+    }
+
+    /**
+     * Carries this progress over to newly compiled rules, e.g. after a reload
+     *
+     * @param next the recompiled rules
+     * @return progress against {@code next}, with rules newly satisfied by the carried-over unlocks
+     */
+    @NotNull Rebased rebase(@NotNull CompiledRules next) {
+        RuleProgress progress = next.newProgress();
+        for (int r = completed.nextSetBit(0); r >= 0; r = completed.nextSetBit(r + 1)) {
+            int rule = next.ruleIndexOf(rules.ruleAt(r).id());
+            if (rule >= 0) progress.completed.set(rule);
+        }
+        List<CompletionRule> fired = List.of();
+        for (int o = unlocked.nextSetBit(0); o >= 0; o = unlocked.nextSetBit(o + 1)) {
+            fired = append(fired, progress.unlock(rules.index().keyAt(o)));
+        }
+        return new Rebased(progress, fired);
+    }
+
+    record Rebased(RuleProgress progress, List<CompletionRule> fired) {}
+
+    CompiledRules rules() {
+        return rules;
+    }
+
+    private static List<CompletionRule> append(List<CompletionRule> to, List<CompletionRule> more) {
+        if (more.isEmpty()) return to;
+        if (to.isEmpty()) return more;
+        List<CompletionRule> merged = new ArrayList<>(to);
+        merged.addAll(more);
+        return merged;
+    }
+
+}
@@ -0,0 +1,199 @@
+package com.glance.codex.api.collectable.rule;
+
+import com.glance.codex.api.collectable.query.CollectableIndex;
+import com.glance.codex.api.data.ProgressView;
+import org.bukkit.NamespacedKey;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * Keeps {@link RuleProgress} for online players and reports completions
+ * <p>
+ * The manager feeds it from the unlock, relock and clear paths. Each call
+ * only updates the counters of rules referencing the affected collectable,
+ * instead of rescanning every repository, and {@link RuleListener}s hear
+ * about each completed rule once
+ * <p>
+ * A player's progress object is replaced when rules are recompiled. Updates
+ * lock the object they fetched and retry if it was swapped in the meantime,
+ * so no update is applied to a discarded copy
+ *
+ * <pre>{@code
+ * RuleTracker tracker = new RuleTracker(manager.index(), rules);
+ * tracker.addListener((playerId, rule) -> rewards.grant(playerId, rule.id()));
+ * tracker.load(player.getUniqueId(), progress.view(), awardedRuleIds);
+ * tracker.unlocked(player.getUniqueId(), key);
+ * }</pre>
+ *
+ * @author Cammy
+ */
+public final class RuleTracker {
+
+    private final List<CompletionRule> definitions;
+    private final List<RuleListener> listeners = new CopyOnWriteArrayList<>();
+    private final Map<UUID, RuleProgress> players = new ConcurrentHashMap<>();
+    private volatile CompiledRules rules;
+
+    /**
+     * @param index the current collectable index
+     * @param rules the rules to track
+     */
+    public RuleTracker(@NotNull CollectableIndex index, @NotNull Collection<? extends CompletionRule> rules) {
+        this.definitions = List.copyOf(rules);
+        this.rules = CompiledRules.compile(index, definitions);
+    }
+
+    public void addListener(@NotNull RuleListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(@NotNull RuleListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Starts tracking a player, reporting any rules their loaded progress already
+     * satisfies but that are not in {@code alreadyCompleted}
+     *
+     * @param playerId the player
+     * @param view the player's loaded progress
+     * @param alreadyCompleted IDs of rules the player was already rewarded for
+     */
+    public void load(@NotNull UUID playerId, @NotNull ProgressView view, @NotNull Set<String> alreadyCompleted) {
+        RuleProgress progress = rules.newProgress();
+        List<CompletionRule> fired;
+        synchronized (progress) {
+            fired = progress.load(view, alreadyCompleted);
+            players.put(playerId, progress);
+        }
+        fire(playerId, fired);
+        // A recompile that ran between newProgress and the put skipped this player
+        rebase(playerId, progress);
+    }
+
+    /**
+     * Stops tracking a player
+     *
+     * @return the IDs of the rules they have completed, or an empty set if not tracked
+     */
+    public @NotNull Set<String> unload(@NotNull UUID playerId) {
+        RuleProgress progress = players.remove(playerId);
+        if (progress == null) return Set.of();
+        synchronized (progress) {
+            return progress.completedIds();
+        }
+    }
+
+    /**
+     * Counts an unlock, reporting any rules it completes
+     */
+    public void unlocked(@NotNull UUID playerId, @NotNull NamespacedKey key) {
+        List<CompletionRule> fired = update(playerId, progress -> progress.unlock(key), List.of());
+        fire(playerId, fired);
+    }
+
+    public void relocked(@NotNull UUID playerId, @NotNull NamespacedKey key) {
+        update(playerId, progress -> {
+            progress.relock(key);
+            return null;
+        }, null);
+    }
+
+    public void clearedNamespace(@NotNull UUID playerId, @NotNull String namespace) {
+        update(playerId, progress -> {
+            progress.clearNamespace(namespace);
+            return null;
+        }, null);
+    }
+
+    public void clearedAll(@NotNull UUID playerId) {
+        update(playerId, progress -> {
+            progress.clearAll();
+            return null;
+        }, null);
+    }
+
+    /**
+     * @return whether a tracked player has completed a rule
+     */
+    public boolean isCompleted(@NotNull UUID playerId, @NotNull String ruleId) {
+        RuleProgress progress = players.get(playerId);
+        if (progress == null) return false;
+        synchronized (progress) {
+            return progress.isCompleted(ruleId);
+        }
+    }
+
+    /**
+     * @return the IDs of every rule a tracked player has completed
+     */
+    public @NotNull Set<String> completedIds(@NotNull UUID playerId) {
+        RuleProgress progress = players.get(playerId);
+        if (progress == null) return Set.of();
+        synchronized (progress) {
+            return progress.completedIds();
+        }
+    }
+
+    /**
+     * Recompiles the rules after the index is rebuilt, carrying every tracked
+     * player's progress over and reporting rules the new index lets them complete
+     *
+     * @param index the rebuilt index
+     */
+    public void recompile(@NotNull CollectableIndex index) {
+        this.rules = CompiledRules.compile(index, definitions);
+        for (Map.Entry<UUID, RuleProgress> entry : players.entrySet()) {
+            rebase(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * @return the compiled rules currently in use
+     */
+    public @NotNull CompiledRules rules() {
+        return rules;
+    }
+
+    /**
+     * Applies an update to the player's current progress under its lock,
+     * retrying if a recompile swapped the progress before the lock was taken
+     */
+    private <T> T update(UUID playerId, Function<RuleProgress, T> update, T untracked) {
+        while (true) {
+            RuleProgress progress = players.get(playerId);
+            if (progress == null) return untracked;
+            synchronized (progress) {
+                if (players.get(playerId) == progress) return update.apply(progress);
+            }
+        }
+    }
+
+    /**
+     * Moves a player's progress onto the latest compiled rules, unless it is
+     * already there or was replaced
+     */
+    private void rebase(UUID playerId, RuleProgress current) {
+        RuleProgress.Rebased rebased;
+        synchronized (current) {
+            CompiledRules latest = rules;
+            if (current.rules() == latest) return;
+            rebased = current.rebase(latest);
+            if (!players.replace(playerId, current, rebased.progress())) return;
+        }
+        fire(playerId, rebased.fired());
+    }
+
+    private void fire(UUID playerId, List<CompletionRule> fired) {
+        for (CompletionRule rule : fired) {
+            for (RuleListener listener : listeners) {
+                listener.completed(playerId, rule);
+            }
+        }
+    }
+
+}
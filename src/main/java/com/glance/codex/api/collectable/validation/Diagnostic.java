@@ -0,0 +1,36 @@
+package com.glance.codex.api.collectable.validation;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Comparator;
+
+/**
+ * A single validation failure for a collectable entry
+ *
+ * @param repository the repository namespace
+ * @param entry the entry ID
+ * @param path the config path that failed, or empty for the entry as a whole
+ * @param message the validator's message
+ *
+ * @author Cammy
+ */
+public record Diagnostic(
+    @NotNull String repository,
+    @NotNull String entry,
+    @NotNull String path,
+    @NotNull String message
+) {
+
+    /** Orders diagnostics by repository, entry, then path */
+    public static final Comparator<Diagnostic> ORDER = Comparator
+        .comparing(Diagnostic::repository)
+        .thenComparing(Diagnostic::entry)
+        .thenComparing(Diagnostic::path);
+
+    @Override
+    public String toString() {
+        String location = repository + ":" + entry;
+        return path.isEmpty() ? location + " - " + message : location + " @ " + path + " - " + message;
+    }
+
+}
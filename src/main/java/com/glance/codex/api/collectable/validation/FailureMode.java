@@ -0,0 +1,15 @@
+package com.glance.codex.api.collectable.validation;
+
+/**
+ * How a {@link ValidationPipeline} reacts to the first failure
+ *
+ * @author Cammy
+ */
+public enum FailureMode {
+
+    /** Stop scheduling further entries once any diagnostic is reported */
+    FAIL_FAST,
+    /** Validate everything and report every diagnostic */
+    CONTINUE
+
+}
@@ -0,0 +1,22 @@
+package com.glance.codex.api.collectable.validation;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Thrown when startup validation is configured to fail on errors
+ *
+ * @author Cammy
+ */
+@Getter
+public class ValidationException extends RuntimeException {
+
+    private final ValidationReport report;
+
+    public ValidationException(@NotNull ValidationReport report) {
+        super(report.diagnostics().size() + " collectable validation error(s), first: "
+            + (report.diagnostics().isEmpty() ? "none" : report.diagnostics().get(0)));
+        this.report = report;
+    }
+
+}
@@ -0,0 +1,159 @@
+package com.glance.codex.api.collectable.validation;
+
+import com.glance.codex.api.collectable.Collectable;
+import com.glance.codex.api.collectable.CollectableRepository;
+import com.glance.codex.utils.data.Validator;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs every registered {@link Validator} against every entry of a set of
+ * repositories in parallel, collecting all failures into one {@link ValidationReport}
+ * <p>
+ * Rules are registered per collectable class and apply to every entry that is an
+ * instance of it. Entries are split into chunks validated concurrently on the
+ * given executor. A validator that throws is reported as a diagnostic rather
+ * than aborting the run
+ *
+ * <pre>{@code
+ * ValidationPipeline pipeline = new ValidationPipeline(FailureMode.CONTINUE)
+ *     .rule(NoteCollectable.class, "pages", NoteCollectable::pages, pages -> pages.isEmpty()
+ *         ? Optional.of("must have at least one page") : Optional.empty());
+ * pipeline.validate(manager.getRepositories()).join().throwIfInvalid();
+ * }</pre>
+ *
+ * @author Cammy
+ */
+public final class ValidationPipeline {
+
+    private static final int CHUNK_SIZE = 64;
+
+    private final FailureMode mode;
+    private final List<Rule<?, ?>> rules = new ArrayList<>();
+
+    private record Rule<T, V>(Class<T> type, String path, Function<? super T, ? extends V> getter, Validator<? super V> validator) {
+        Optional<String> check(Collectable entry) {
+            Optional<String> error = validator.validate(getter.apply(type.cast(entry)));
+            // A validator returning null means it found nothing, same as an empty Optional
+            return error == null ? Optional.empty() : error;
+        }
+    }
+
+    private record Work(String repository, String entry, Collectable collectable) {}
+
+    /**
+     * @param mode whether to stop at the first failure
+     */
+    public ValidationPipeline(@NotNull FailureMode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Registers a validator for a value read from each matching entry
+     *
+     * @param type entries of this class (or a subclass) are checked
+     * @param path the config path reported on failure
+     * @param getter reads the value to validate from the entry
+     * @param validator the validator
+     * @return this pipeline
+     */
+    public <T extends Collectable, V> @NotNull ValidationPipeline rule(
+        @NotNull Class<T> type, @NotNull String path,
+        @NotNull Function<? super T, ? extends V> getter, @NotNull Validator<? super V> validator
+    ) {
+        rules.add(new Rule<>(type, path, getter, validator));
+        return this;
+    }
+
+    /**
+     * Registers a validator for whole entries
+     *
+     * @param type entries of this class (or a subclass) are checked
+     * @param validator the validator
+     * @return this pipeline
+     */
+    public <T extends Collectable> @NotNull ValidationPipeline rule(
+        @NotNull Class<T> type, @NotNull Validator<? super T> validator
+    ) {
+        return rule(type, "", Function.identity(), validator);
+    }
+
+    /**
+     * Validates on the common fork-join pool
+     *
+     * @see #validate(Collection, Executor)
+     */
+    public @NotNull CompletableFuture<ValidationReport> validate(@NotNull Collection<? extends CollectableRepository> repositories) {
+        return validate(repositories, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Validates every entry of the given repositories
+     *
+     * @param repositories the repositories to check
+     * @param executor runs the validation chunks
+     * @return future with the aggregated report
+     */
+    public @NotNull CompletableFuture<ValidationReport> validate(
+        @NotNull Collection<? extends CollectableRepository> repositories, @NotNull Executor executor
+    ) {
+        long start = System.nanoTime();
+        List<Work> work = new ArrayList<>();
+        for (CollectableRepository repo : repositories) {
+            repo.entries().forEach((id, entry) -> work.add(new Work(repo.namespace(), id, entry)));
+        }
+
+        List<Rule<?, ?>> snapshot = List.copyOf(rules);
+        Queue<Diagnostic> diagnostics = new ConcurrentLinkedQueue<>();
+        AtomicBoolean failed = new AtomicBoolean();
+        AtomicInteger checked = new AtomicInteger();
+
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int from = 0; from < work.size(); from += CHUNK_SIZE) {
+            List<Work> chunk = work.subList(from, Math.min(work.size(), from + CHUNK_SIZE));
+            chunks.add(CompletableFuture.runAsync(() -> {
+                for (Work item : chunk) {
+                    if (mode == FailureMode.FAIL_FAST && failed.get()) return;
+                    checked.incrementAndGet();
+                    if (check(item, snapshot, diagnostics)) failed.set(true);
+                }
+            }, executor));
+        }
+
+        return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+            List<Diagnostic> sorted = new ArrayList<>(diagnostics);
+            sorted.sort(Diagnostic.ORDER);
+            boolean aborted = mode == FailureMode.FAIL_FAST && checked.get() < work.size();
+            return new ValidationReport(List.copyOf(sorted), checked.get(), System.nanoTime() - start, aborted);
+        });
+    }
+
+    /** @return true if any rule failed for the entry */
+    private static boolean check(Work item, List<Rule<?, ?>> rules, Queue<Diagnostic> out) {
+        boolean failed = false;
+        for (Rule<?, ?> rule : rules) {
+            if (!rule.type().isInstance(item.collectable())) continue;
+
+            Optional<String> error;
+            try {
+                error = rule.check(item.collectable());
+            } catch (RuntimeException e) {
+                error = Optional.of("Validator threw " + e.getClass().getSimpleName() + ": " + e.getMessage());
+            }
+            if (error.isPresent()) {
+                out.add(new Diagnostic(item.repository(), item.entry(), rule.path(), error.get()));
+                failed = true;
+            }
+        }
+        return failed;
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.glance.codex.api.collectable.validation;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregated outcome of a {@link ValidationPipeline} run
+ *
+ * @param diagnostics every failure, ordered by repository, entry and path
+ * @param entriesChecked how many entries were validated
+ * @param elapsedNanos wall time of the run
+ * @param aborted true if the run stopped early in {@link FailureMode#FAIL_FAST}
+ *
+ * @author Cammy
+ */
+public record ValidationReport(
+    @NotNull List<Diagnostic> diagnostics,
+    int entriesChecked,
+    long elapsedNanos,
+    boolean aborted
+) {
+
+    /**
+     * @return true if no diagnostics were reported
+     */
+    public boolean isValid() {
+        return diagnostics.isEmpty();
+    }
+
+    /**
+     * @return diagnostics grouped by repository namespace, in report order
+     */
+    public @NotNull Map<String, List<Diagnostic>> byRepository() {
+        Map<String, List<Diagnostic>> grouped = new LinkedHashMap<>();
+        for (Diagnostic diagnostic : diagnostics) {
+            grouped.computeIfAbsent(diagnostic.repository(), k -> new ArrayList<>()).add(diagnostic);
+        }
+        return grouped;
+    }
+
+    /**
+     * @throws ValidationException if any diagnostics were reported
+     */
+    public void throwIfInvalid() {
+        if (!isValid()) throw new ValidationException(this);
+    }
+
+    /**
+     * Renders a summary line followed by one line per diagnostic, for logging
+     */
+    public @NotNull List<String> toLines() {
+        List<String> lines = new ArrayList<>(diagnostics.size() + 1);
+        lines.add(String.format("Validated %d entries in %d ms: %d problem(s)%s",
+            entriesChecked, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), diagnostics.size(),
+            aborted ? " (stopped at first failure)" : ""));
+        for (Diagnostic diagnostic : diagnostics) {
+            lines.add("  " + diagnostic);
+        }
+        return lines;
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.glance.codex.api.collectable.view;
+
+import com.glance.codex.api.collectable.Collectable;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * Sort orders for listing a repository's entries
+ *
+ * @author Cammy
+ */
+public enum EntryOrder {
+
+    /** The iteration order of {@link com.glance.codex.api.collectable.CollectableRepository#entries()}, usually config order */
+    CONFIG(null),
+    /** Entry ID, lexicographically */
+    ID(Map.Entry.comparingByKey()),
+    /** Plain display name, case-insensitively, then entry ID */
+    DISPLAY_NAME(Comparator
+        .comparing((Map.Entry<String, Collectable> e) -> e.getValue().plainDisplayName(), String.CASE_INSENSITIVE_ORDER)
+        .thenComparing(Map.Entry::getKey));
+
+    private final @Nullable Comparator<Map.Entry<String, Collectable>> comparator;
+
+    EntryOrder(@Nullable Comparator<Map.Entry<String, Collectable>> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * @return the comparator for this order, or null to keep iteration order
+     */
+    public @Nullable Comparator<Map.Entry<String, Collectable>> comparator() {
+        return comparator;
+    }
+
+}
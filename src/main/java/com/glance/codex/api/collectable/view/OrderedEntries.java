@@ -0,0 +1,139 @@
+package com.glance.codex.api.collectable.view;
+
+import com.glance.codex.api.collectable.Collectable;
+import com.glance.codex.api.collectable.CollectableRepository;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable, pre-sorted, random-access view of a repository's entries
+ * <p>
+ * Built once per repository and {@link EntryOrder} and shared until the
+ * repository is replaced or its {@link CollectableRepository#generation()}
+ * changes. Indexing is O(1), {@link #ordinalOf(String)} is a hash lookup, and
+ * {@link #subList(int, int)} slices without copying
+ * <p>
+ * Shared views are keyed by namespace, so a reloaded repository replaces the
+ * previous one's views on first use; call {@link #evict(String)} when a
+ * namespace is unregistered
+ *
+ * @author Cammy
+ */
+public final class OrderedEntries extends AbstractList<Collectable> implements RandomAccess {
+
+    private static final Map<String, Shared> CACHE = new ConcurrentHashMap<>();
+
+    private final Map<String, Collectable> source;
+    private final EntryOrder order;
+    private final String[] ids;
+    private final Collectable[] entries;
+    private final Map<String, Integer> ordinals;
+
+    /** Views built for one repository instance at one generation */
+    private record Shared(CollectableRepository repository, long generation, Map<EntryOrder, OrderedEntries> byOrder) {
+        boolean isFor(CollectableRepository candidate) {
+            return repository == candidate && generation == candidate.generation();
+        }
+    }
+
+    private OrderedEntries(Map<String, Collectable> source, EntryOrder order) {
+        List<Map.Entry<String, Collectable>> sorted = new ArrayList<>(source.entrySet());
+        if (order.comparator() != null) sorted.sort(order.comparator());
+
+        this.source = source;
+        this.order = order;
+        this.ids = new String[sorted.size()];
+        this.entries = new Collectable[sorted.size()];
+        Map<String, Integer> ordinals = new HashMap<>(sorted.size() * 2);
+        for (int i = 0; i < sorted.size(); i++) {
+            ids[i] = sorted.get(i).getKey();
+            entries[i] = sorted.get(i).getValue();
+            ordinals.put(ids[i], i);
+        }
+        this.ordinals = Collections.unmodifiableMap(ordinals);
+    }
+
+    /**
+     * Returns the shared view for a repository, rebuilding it only if the
+     * repository was replaced or reloaded
+     *
+     * @param repository the repository
+     * @param order the sort order
+     * @return the ordered view
+     */
+    public static @NotNull OrderedEntries of(@NotNull CollectableRepository repository, @NotNull EntryOrder order) {
+        Shared shared = CACHE.get(repository.namespace());
+        if (shared == null || !shared.isFor(repository)) {
+            shared = CACHE.compute(repository.namespace(), (namespace, existing) ->
+                existing != null && existing.isFor(repository)
+                    ? existing
+                    : new Shared(repository, repository.generation(), new ConcurrentHashMap<>()));
+        }
+        return shared.byOrder().computeIfAbsent(order, o -> new OrderedEntries(repository.entries(), o));
+    }
+
+    /**
+     * Drops the shared views of a namespace, e.g. when its repository is unregistered
+     *
+     * @param namespace the repository namespace
+     */
+    public static void evict(@NotNull String namespace) {
+        CACHE.remove(namespace);
+    }
+
+    /**
+     * Builds an unshared view over an entry map
+     */
+    public static @NotNull OrderedEntries of(@NotNull Map<String, Collectable> entries, @NotNull EntryOrder order) {
+        return new OrderedEntries(entries, order);
+    }
+
+    /**
+     * @return the order this view is sorted by
+     */
+    public @NotNull EntryOrder order() {
+        return order;
+    }
+
+    /**
+     * @return true if this view was built from the given entry map instance
+     */
+    public boolean isViewOf(@NotNull Map<String, Collectable> entries) {
+        return source == entries;
+    }
+
+    @Override
+    public Collectable get(int index) {
+        return entries[index];
+    }
+
+    @Override
+    public int size() {
+        return entries.length;
+    }
+
+    /**
+     * @return the entry ID at an index
+     */
+    public @NotNull String idAt(int index) {
+        return ids[index];
+    }
+
+    /**
+     * @return the index of an entry ID, or -1 if not present
+     */
+    public int ordinalOf(@NotNull String id) {
+        Integer ordinal = ordinals.get(id);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    /**
+     * @return the entry IDs in order, without copying
+     */
+    public @NotNull List<String> ids() {
+        return Collections.unmodifiableList(Arrays.asList(ids));
+    }
+
+}
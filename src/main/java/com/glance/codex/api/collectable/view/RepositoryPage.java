@@ -0,0 +1,40 @@
+package com.glance.codex.api.collectable.view;
+
+import com.glance.codex.api.collectable.Collectable;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * One page of the entries a player can see in a repository
+ *
+ * @param pageIndex zero-based page number
+ * @param pageSize maximum entries per page
+ * @param totalVisible entries visible to the player across all pages
+ * @param entries the entries on this page, in order
+ *
+ * @author Cammy
+ */
+public record RepositoryPage(int pageIndex, int pageSize, int totalVisible, @NotNull List<Entry> entries) {
+
+    /**
+     * A visible entry and whether the player has unlocked it
+     */
+    public record Entry(@NotNull String id, @NotNull Collectable collectable, boolean unlocked) {}
+
+    /**
+     * @return the number of pages, at least 1
+     */
+    public int pageCount() {
+        return pageSize <= 0 ? 1 : Math.max(1, (totalVisible + pageSize - 1) / pageSize);
+    }
+
+    public boolean hasPrevious() {
+        return pageIndex > 0;
+    }
+
+    public boolean hasNext() {
+        return pageIndex + 1 < pageCount();
+    }
+
+}
@@ -0,0 +1,203 @@
+package com.glance.codex.api.collectable.view;
+
+import com.glance.codex.api.collectable.CollectableRepository;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Computes per-player pages of a repository's visible entries
+ * <p>
+ * Positions are those of the repository's {@link OrderedEntries}. Entries
+ * shown while locked form a fixed bitmap; each player's view ORs in their
+ * unlocks and keeps per-word prefix counts, so the start of any page is found
+ * by binary search and a page costs O(pageSize) rather than O(entries)
+ * <p>
+ * Player views are cached together with the unlocks they were built from,
+ * and reused only while the given unlocked set still matches them, which
+ * costs one lookup per unlocked ID. {@link #invalidate(UUID)} just frees memory
+ * <p>
+ * Pagers are shared per namespace and order, and rebuilt together with
+ * the underlying {@link OrderedEntries} on reload; call {@link #evict(String)}
+ * when a namespace is unregistered
+ *
+ * @author Cammy
+ */
+public final class RepositoryPager {
+
+    private static final int MAX_CACHED_VIEWS = 4096;
+    private static final Map<String, Map<EntryOrder, RepositoryPager>> PAGERS = new ConcurrentHashMap<>();
+
+    private final OrderedEntries entries;
+    private final long[] alwaysVisible;
+    private final Map<UUID, PlayerView> views = new ConcurrentHashMap<>();
+
+    /**
+     * @param words visible positions
+     * @param unlocked positions of the unlocks the view was built from
+     * @param unlockedCount number of set bits in {@code unlocked}
+     */
+    private record PlayerView(long[] words, int[] prefix, int visible, long[] unlocked, int unlockedCount) {}
+
+    private RepositoryPager(OrderedEntries entries) {
+        this.entries = entries;
+        this.alwaysVisible = new long[(entries.size() + 63) >>> 6];
+        for (int i = 0; i < entries.size(); i++) {
+            if (entries.get(i).showWhenLocked()) alwaysVisible[i >>> 6] |= 1L << i;
+        }
+    }
+
+    /**
+     * Returns the shared pager for a repository, rebuilding it if the
+     * repository's entries have been reloaded
+     *
+     * @param repository the repository
+     * @param order the sort order
+     * @return the pager
+     */
+    public static @NotNull RepositoryPager of(@NotNull CollectableRepository repository, @NotNull EntryOrder order) {
+        OrderedEntries current = OrderedEntries.of(repository, order);
+        Map<EntryOrder, RepositoryPager> byOrder = PAGERS.computeIfAbsent(repository.namespace(), k -> new ConcurrentHashMap<>());
+        RepositoryPager pager = byOrder.get(order);
+        if (pager != null && pager.entries == current) return pager;
+        return byOrder.compute(order, (o, existing) ->
+            existing != null && existing.entries == current ? existing : new RepositoryPager(current));
+    }
+
+    /**
+     * Drops the shared pagers of a namespace, e.g. when its repository is unregistered
+     *
+     * @param namespace the repository namespace
+     */
+    public static void evict(@NotNull String namespace) {
+        PAGERS.remove(namespace);
+        OrderedEntries.evict(namespace);
+    }
+
+    /**
+     * Drops a player's cached view from every shared pager, e.g. on quit
+     */
+    public static void invalidatePlayer(@NotNull UUID playerId) {
+        for (Map<EntryOrder, RepositoryPager> byOrder : PAGERS.values()) {
+            byOrder.values().forEach(pager -> pager.invalidate(playerId));
+        }
+    }
+
+    /**
+     * Computes one page of the entries visible to a player
+     *
+     * @param playerId the viewing player
+     * @param unlockedIds the player's unlocked IDs in this repository
+     * @param pageIndex zero-based page number
+     * @param pageSize entries per page
+     * @return the page
+     */
+    public @NotNull RepositoryPage page(
+        @NotNull UUID playerId, @NotNull Set<String> unlockedIds, int pageIndex, int pageSize
+    ) {
+        PlayerView view = view(playerId, unlockedIds);
+        int index = Math.max(0, pageIndex);
+        int size = Math.max(1, pageSize);
+        long start = (long) index * size;
+        if (start >= view.visible()) {
+            return new RepositoryPage(index, size, view.visible(), List.of());
+        }
+
+        List<RepositoryPage.Entry> page = new ArrayList<>(Math.min(size, view.visible() - (int) start));
+        int position = select(view, (int) start);
+        while (position >= 0 && page.size() < size) {
+            String id = entries.idAt(position);
+            page.add(new RepositoryPage.Entry(id, entries.get(position), unlockedIds.contains(id)));
+            position = nextSetBit(view.words(), position + 1);
+        }
+        return new RepositoryPage(index, size, view.visible(), page);
+    }
+
+    /**
+     * @return how many entries the player can see
+     */
+    public int visibleCount(@NotNull UUID playerId, @NotNull Set<String> unlockedIds) {
+        return view(playerId, unlockedIds).visible();
+    }
+
+    /**
+     * Drops the player's cached view so the next call rebuilds it
+     */
+    public void invalidate(@NotNull UUID playerId) {
+        views.remove(playerId);
+    }
+
+    private PlayerView view(UUID playerId, Set<String> unlockedIds) {
+        PlayerView view = views.get(playerId);
+        if (view != null && matches(view, unlockedIds)) return view;
+
+        long[] unlocked = new long[alwaysVisible.length];
+        int unlockedCount = 0;
+        for (String id : unlockedIds) {
+            int position = entries.ordinalOf(id);
+            if (position >= 0) {
+                unlocked[position >>> 6] |= 1L << position;
+                unlockedCount++;
+            }
+        }
+        long[] words = new long[alwaysVisible.length];
+        int[] prefix = new int[words.length + 1];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = alwaysVisible[i] | unlocked[i];
+            prefix[i + 1] = prefix[i] + Long.bitCount(words[i]);
+        }
+
+        view = new PlayerView(words, prefix, prefix[words.length], unlocked, unlockedCount);
+        if (views.size() >= MAX_CACHED_VIEWS) views.clear();
+        views.put(playerId, view);
+        return view;
+    }
+
+    /**
+     * @return true if the view was built from the same unlocks, ignoring IDs
+     * that are not part of this repository
+     */
+    private boolean matches(PlayerView view, Set<String> unlockedIds) {
+        long[] unlocked = view.unlocked();
+        int known = 0;
+        for (String id : unlockedIds) {
+            int position = entries.ordinalOf(id);
+            if (position < 0) continue;
+            if ((unlocked[position >>> 6] & (1L << position)) == 0) return false;
+            known++;
+        }
+        // Every current unlock is in the view; equal counts rule out view-only ones
+        return known == view.unlockedCount();
+    }
+
+    /** @return the position of the rank-th visible entry */
+    private static int select(PlayerView view, int rank) {
+        int[] prefix = view.prefix();
+        int lo = 0;
+        int hi = prefix.length - 2;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (prefix[mid] <= rank) lo = mid;
+            else hi = mid - 1;
+        }
+
+        long word = view.words()[lo];
+        for (int skip = rank - prefix[lo]; skip > 0; skip--) {
+            word &= word - 1;
+        }
+        return (lo << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    private static int nextSetBit(long[] words, int from) {
+        int w = from >>> 6;
+        if (w >= words.length) return -1;
+        long word = words[w] & (-1L << from);
+        while (true) {
+            if (word != 0) return (w << 6) + Long.numberOfTrailingZeros(word);
+            if (++w == words.length) return -1;
+            word = words[w];
+        }
+    }
+
+}
@@ -0,0 +1,158 @@
+package com.glance.codex.api.data;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Records which parts of a {@link PlayerCollectables} changed since the last drain
+ * <p>
+ * Per-entry changes are tracked per namespace, each guarded by its own
+ * monitor, and only share a read lock; touches and relocks in different
+ * namespaces therefore never block each other. Clears, drains and restores
+ * take the write lock
+ *
+ * @author Cammy
+ */
+final class ChangeTracker {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Changes> namespaces = new ConcurrentHashMap<>();
+    private boolean clearedAll;
+    private Set<String> clearedNamespaces = new HashSet<>();
+
+    /** Dirty and relocked IDs of one namespace */
+    private static final class Changes {
+        private final Set<String> dirty = new HashSet<>();
+        private final Set<String> tombstones = new HashSet<>();
+    }
+
+    /** Immutable copy of the tracked keys, taken by {@link #drain()} */
+    record Drained(
+        boolean clearedAll,
+        Set<String> clearedNamespaces,
+        Map<String, Set<String>> dirty,
+        Map<String, Set<String>> tombstones
+    ) {}
+
+    void touch(String namespace, String id) {
+        lock.readLock().lock();
+        try {
+            Changes changes = changes(namespace);
+            synchronized (changes) {
+                changes.dirty.add(id);
+                changes.tombstones.remove(id);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void relock(String namespace, String id) {
+        lock.readLock().lock();
+        try {
+            Changes changes = changes(namespace);
+            synchronized (changes) {
+                changes.dirty.remove(id);
+                changes.tombstones.add(id);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void clearNamespace(String namespace) {
+        lock.writeLock().lock();
+        try {
+            namespaces.remove(namespace);
+            clearedNamespaces.add(namespace);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void clearAll() {
+        lock.writeLock().lock();
+        try {
+            namespaces.clear();
+            clearedNamespaces.clear();
+            clearedAll = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    boolean isEmpty() {
+        lock.readLock().lock();
+        try {
+            if (clearedAll || !clearedNamespaces.isEmpty()) return false;
+            for (Changes changes : namespaces.values()) {
+                synchronized (changes) {
+                    if (!changes.dirty.isEmpty() || !changes.tombstones.isEmpty()) return false;
+                }
+            }
+            return true;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    Drained drain() {
+        lock.writeLock().lock();
+        try {
+            Map<String, Set<String>> dirty = new HashMap<>();
+            Map<String, Set<String>> tombstones = new HashMap<>();
+            namespaces.forEach((namespace, changes) -> {
+                if (!changes.dirty.isEmpty()) dirty.put(namespace, changes.dirty);
+                if (!changes.tombstones.isEmpty()) tombstones.put(namespace, changes.tombstones);
+            });
+            Drained drained = new Drained(clearedAll, clearedNamespaces, dirty, tombstones);
+            clearedAll = false;
+            clearedNamespaces = new HashSet<>();
+            namespaces.clear();
+            return drained;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Merges a previously drained delta back in, underneath anything tracked since
+     */
+    void restore(ProgressDelta delta) {
+        lock.writeLock().lock();
+        try {
+            // A clear-all tracked since supersedes everything in the older delta
+            if (clearedAll) return;
+            clearedAll = delta.clearedAll();
+            clearedNamespaces.addAll(delta.clearedNamespaces());
+            delta.relocked().forEach((namespace, ids) -> {
+                Changes changes = changes(namespace);
+                for (String id : ids) {
+                    if (!changes.dirty.contains(id)) changes.tombstones.add(id);
+                }
+            });
+            delta.changed().forEach((namespace, ids) -> {
+                Changes changes = changes(namespace);
+                for (String id : ids.keySet()) {
+                    if (!changes.tombstones.contains(id)) changes.dirty.add(id);
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void reset() {
+        drain();
+    }
+
+    private Changes changes(String namespace) {
+        return namespaces.computeIfAbsent(namespace, k -> new Changes());
+    }
+
+}
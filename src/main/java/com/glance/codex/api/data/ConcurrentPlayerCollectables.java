@@ -0,0 +1,144 @@
+package com.glance.codex.api.data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe {@link PlayerCollectables} for progress shared between async
+ * storage callbacks and main-thread readers
+ * <p>
+ * Every level is a {@link ConcurrentHashMap} (unlock sets are
+ * {@link ConcurrentHashMap#newKeySet() concurrent key sets}), so reads never
+ * lock. Mutators are striped per namespace: each takes that namespace's
+ * monitor, so writes to different namespaces do not contend, and the change
+ * tracker is striped the same way. Setters copy the given maps into
+ * concurrent ones
+ * <p>
+ * Each mutator is atomic with respect to the others, so a relock or clear can
+ * never leave timestamps behind for an entry that is not unlocked. Readers may
+ * still briefly observe an entry as unlocked before its first-unlock time is
+ * visible. Use {@link #view()} for menu rendering; it reads through without copying
+ *
+ * @author Cammy
+ */
+public class ConcurrentPlayerCollectables extends PlayerCollectables {
+
+    private final transient Map<String, Object> stripes = new ConcurrentHashMap<>();
+
+    public ConcurrentPlayerCollectables() {
+        super.unlocks(new ConcurrentHashMap<>());
+        super.firstUnlockedAt(new ConcurrentHashMap<>());
+        super.lastReplayedAt(new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Copies existing progress into a concurrent instance
+     *
+     * @param source the progress to copy
+     * @return the concurrent copy, with no tracked changes
+     */
+    public static @NotNull ConcurrentPlayerCollectables copyOf(@NotNull PlayerCollectables source) {
+        ConcurrentPlayerCollectables copy = new ConcurrentPlayerCollectables();
+        copy.unlocks(source.unlocks());
+        copy.firstUnlockedAt(source.firstUnlockedAt());
+        copy.lastReplayedAt(source.lastReplayedAt());
+        return copy;
+    }
+
+    @Override
+    public PlayerCollectables unlocks(Map<String, Set<String>> unlocks) {
+        Map<String, Set<String>> copy = new ConcurrentHashMap<>();
+        unlocks.forEach((namespace, ids) -> {
+            Set<String> set = ConcurrentHashMap.newKeySet(Math.max(16, ids.size()));
+            set.addAll(ids);
+            copy.put(namespace, set);
+        });
+        return super.unlocks(copy);
+    }
+
+    @Override
+    public PlayerCollectables firstUnlockedAt(Map<String, Map<String, Long>> firstUnlockedAt) {
+        return super.firstUnlockedAt(copyTimes(firstUnlockedAt));
+    }
+
+    @Override
+    public PlayerCollectables lastReplayedAt(Map<String, Map<String, Long>> lastReplayedAt) {
+        return super.lastReplayedAt(copyTimes(lastReplayedAt));
+    }
+
+    @Override
+    public boolean isUnlocked(@NotNull String namespace, @NotNull String id) {
+        Set<String> ids = unlocks().get(namespace);
+        return ids != null && ids.contains(id);
+    }
+
+    @Override
+    public boolean markUnlock(@NotNull String namespace, @NotNull String id, long when) {
+        synchronized (stripe(namespace)) {
+            boolean added = unlocks().computeIfAbsent(namespace, k -> ConcurrentHashMap.newKeySet()).add(id);
+            if (added) {
+                firstUnlockedAt().computeIfAbsent(namespace, k -> new ConcurrentHashMap<>()).putIfAbsent(id, when);
+                tracker().touch(namespace, id);
+            }
+            return added;
+        }
+    }
+
+    @Override
+    public void markReplay(@NotNull String namespace, @NotNull String id, long when) {
+        synchronized (stripe(namespace)) {
+            lastReplayedAt().computeIfAbsent(namespace, k -> new ConcurrentHashMap<>()).put(id, when);
+            tracker().touch(namespace, id);
+        }
+    }
+
+    @Override
+    public boolean markRelock(@NotNull String namespace, @NotNull String id) {
+        synchronized (stripe(namespace)) {
+            return super.markRelock(namespace, id);
+        }
+    }
+
+    @Override
+    public int clearNamespace(@NotNull String namespace) {
+        synchronized (stripe(namespace)) {
+            return super.clearNamespace(namespace);
+        }
+    }
+
+    /**
+     * Removes all progress
+     * <p>
+     * Namespaces are cleared one stripe at a time, after the clear is tracked,
+     * so a write racing the clear either survives and is tracked or is removed
+     */
+    @Override
+    public void clearAll() {
+        tracker().clearAll();
+        Set<String> namespaces = new HashSet<>(unlocks().keySet());
+        namespaces.addAll(firstUnlockedAt().keySet());
+        namespaces.addAll(lastReplayedAt().keySet());
+        for (String namespace : namespaces) {
+            synchronized (stripe(namespace)) {
+                unlocks().remove(namespace);
+                firstUnlockedAt().remove(namespace);
+                lastReplayedAt().remove(namespace);
+            }
+        }
+    }
+
+    private Object stripe(String namespace) {
+        return stripes.computeIfAbsent(namespace, k -> new Object());
+    }
+
+    private static Map<String, Map<String, Long>> copyTimes(Map<String, Map<String, Long>> times) {
+        Map<String, Map<String, Long>> copy = new ConcurrentHashMap<>();
+        times.forEach((namespace, ids) -> copy.put(namespace, new ConcurrentHashMap<>(ids)));
+        return copy;
+    }
+
+}
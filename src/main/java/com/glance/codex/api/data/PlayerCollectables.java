@@ -1,10 +1,16 @@
 package com.glance.codex.api.data;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.experimental.Accessors;
 import org.bukkit.NamespacedKey;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -23,6 +29,12 @@ import java.util.Set;
  *
  * <p>All timestamps are stored in epoch milliseconds</p>
  *
+ * <h2>Change Tracking</h2>
+ * The {@code mark*}, {@link #markRelock}, {@link #clearNamespace} and {@link #clearAll}
+ * mutators record what changed so autosaves can write a {@link ProgressDelta}
+ * via {@link #drainDelta()} instead of the full snapshot. Writing to the maps
+ * directly (as storage loaders do) is not tracked
+ *
  * @author Cammy
  */
 @Data
@@ -36,6 +48,12 @@ public class PlayerCollectables {
     /** Map of namespace -> (ID -> last replayed time) */
     private Map<String, Map<String, Long>> lastReplayedAt = new HashMap<>();
 
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final transient ChangeTracker changes = new ChangeTracker();
+
     /**
      * Checks if the given entry ID is unlocked in a namespace
      *
@@ -72,6 +90,7 @@ public class PlayerCollectables {
         boolean added = set.add(id);
         if (added) {
             firstUnlockedAt.computeIfAbsent(namespace, k -> new HashMap<>()).put(id, when);
+            changes.touch(namespace, id);
         }
         return added;
     }
@@ -92,6 +111,7 @@ public class PlayerCollectables {
      */
     public void markReplay(@NotNull String namespace, @NotNull String id, long when) {
         lastReplayedAt.computeIfAbsent(namespace, k -> new HashMap<>()).put(id, when);
+        changes.touch(namespace, id);
     }
 
     /**
@@ -101,4 +121,157 @@ public class PlayerCollectables {
         markReplay(key.getNamespace(), key.getKey(), when);
     }
 
+    /**
+     * Returns a live, non-copying read-only view of this progress
+     *
+     * @return the view
+     */
+    public @NotNull ProgressView view() {
+        return new ProgressView() {
+            @Override
+            public boolean isUnlocked(@NotNull String namespace, @NotNull String id) {
+                return PlayerCollectables.this.isUnlocked(namespace, id);
+            }
+
+            @Override
+            public @NotNull Set<String> unlockedIds(@NotNull String namespace) {
+                Set<String> ids = unlocks.get(namespace);
+                return ids == null ? Set.of() : Collections.unmodifiableSet(ids);
+            }
+
+            @Override
+            public long firstUnlockedAt(@NotNull String namespace, @NotNull String id) {
+                return time(firstUnlockedAt, namespace, id);
+            }
+
+            @Override
+            public long lastReplayedAt(@NotNull String namespace, @NotNull String id) {
+                return time(lastReplayedAt, namespace, id);
+            }
+
+            @Override
+            public @NotNull Set<String> namespaces() {
+                return Collections.unmodifiableSet(unlocks.keySet());
+            }
+        };
+    }
+
+    /**
+     * Relocks the given entry, removing its unlock and timestamps
+     *
+     * @param namespace namespace of the entry
+     * @param id entry ID
+     * @return true if the entry was unlocked
+     */
+    public boolean markRelock(@NotNull String namespace, @NotNull String id) {
+        Set<String> set = unlocks.get(namespace);
+        boolean removed = set != null && set.remove(id);
+        removeTime(firstUnlockedAt, namespace, id);
+        removeTime(lastReplayedAt, namespace, id);
+        if (removed) {
+            changes.relock(namespace, id);
+        }
+        return removed;
+    }
+
+    /**
+     * Removes all progress in a namespace
+     *
+     * @param namespace the namespace to clear
+     * @return how many unlocks were removed
+     */
+    public int clearNamespace(@NotNull String namespace) {
+        Set<String> removed = unlocks.remove(namespace);
+        firstUnlockedAt.remove(namespace);
+        lastReplayedAt.remove(namespace);
+        changes.clearNamespace(namespace);
+        return removed == null ? 0 : removed.size();
+    }
+
+    /**
+     * Removes all progress
+     */
+    public void clearAll() {
+        unlocks.clear();
+        firstUnlockedAt.clear();
+        lastReplayedAt.clear();
+        changes.clearAll();
+    }
+
+    /**
+     * @return true if tracked changes are waiting to be saved
+     */
+    public boolean hasChanges() {
+        return !changes.isEmpty();
+    }
+
+    /**
+     * Takes the changes made since the last drain, resolved against the current state
+     * <p>
+     * If saving the delta fails, hand it back through {@link #restoreDelta(ProgressDelta)}
+     * so the next save retries it
+     *
+     * @return the delta, or {@link ProgressDelta#EMPTY} if nothing changed
+     */
+    public @NotNull ProgressDelta drainDelta() {
+        ChangeTracker.Drained drained = changes.drain();
+        if (!drained.clearedAll() && drained.clearedNamespaces().isEmpty()
+                && drained.dirty().isEmpty() && drained.tombstones().isEmpty()) {
+            return ProgressDelta.EMPTY;
+        }
+
+        Map<String, Set<String>> relocked = new HashMap<>();
+        drained.tombstones().forEach((namespace, ids) -> relocked.put(namespace, new HashSet<>(ids)));
+
+        Map<String, Map<String, ProgressDelta.EntryState>> changed = new HashMap<>();
+        drained.dirty().forEach((namespace, ids) -> {
+            Map<String, Long> first = firstUnlockedAt.getOrDefault(namespace, Map.of());
+            Map<String, Long> replayed = lastReplayedAt.getOrDefault(namespace, Map.of());
+            for (String id : ids) {
+                boolean unlocked = isUnlocked(namespace, id);
+                Long replayedAt = replayed.get(id);
+                if (unlocked || replayedAt != null) {
+                    changed.computeIfAbsent(namespace, k -> new HashMap<>()).put(id, new ProgressDelta.EntryState(
+                        unlocked, first.getOrDefault(id, -1L), replayedAt == null ? -1L : replayedAt));
+                } else {
+                    // Changed then removed through an untracked path; delete it
+                    relocked.computeIfAbsent(namespace, k -> new HashSet<>()).add(id);
+                }
+            }
+        });
+
+        return new ProgressDelta(drained.clearedAll(), Set.copyOf(drained.clearedNamespaces()), relocked, changed);
+    }
+
+    /**
+     * Re-queues a delta whose save failed, beneath any changes tracked since
+     *
+     * @param delta a delta previously returned by {@link #drainDelta()}
+     */
+    public void restoreDelta(@NotNull ProgressDelta delta) {
+        if (!delta.isEmpty()) changes.restore(delta);
+    }
+
+    /**
+     * Discards tracked changes, e.g. after a full snapshot save or a fresh load
+     */
+    public void markClean() {
+        changes.reset();
+    }
+
+    ChangeTracker tracker() {
+        return changes;
+    }
+
+    private static long time(Map<String, Map<String, Long>> times, String namespace, String id) {
+        Map<String, Long> ids = times.get(namespace);
+        Long time = ids == null ? null : ids.get(id);
+        return time == null ? -1L : time;
+    }
+
+    private static void removeTime(Map<String, Map<String, Long>> times, String namespace, String id) {
+        Map<String, Long> ids = times.get(namespace);
+        if (ids != null) ids.remove(id);
+    }
+
 }
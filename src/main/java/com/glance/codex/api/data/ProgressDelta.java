@@ -0,0 +1,58 @@
+package com.glance.codex.api.data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The changes made to a {@link PlayerCollectables} since it was last saved
+ * <p>
+ * Apply in field order: {@code clearedAll}, then {@code clearedNamespaces},
+ * then {@code relocked} tombstones, then {@code changed} upserts. An entry
+ * appears in at most one of {@code relocked} and {@code changed}
+ *
+ * @param clearedAll true if all progress was wiped before the other changes
+ * @param clearedNamespaces namespaces wiped before the other changes
+ * @param relocked namespace -> IDs that were relocked (tombstones)
+ * @param changed namespace -> ID -> current state of each unlocked or replayed entry
+ *
+ * @author Cammy
+ */
+public record ProgressDelta(
+    boolean clearedAll,
+    @NotNull Set<String> clearedNamespaces,
+    @NotNull Map<String, Set<String>> relocked,
+    @NotNull Map<String, Map<String, EntryState>> changed
+) {
+
+    /** A delta with no changes */
+    public static final ProgressDelta EMPTY = new ProgressDelta(false, Set.of(), Map.of(), Map.of());
+
+    /**
+     * Current state of a changed entry
+     *
+     * @param unlocked whether the entry is currently unlocked
+     * @param firstUnlockedAt first unlock time, or -1 if unknown
+     * @param lastReplayedAt last replay time, or -1 if never replayed
+     */
+    public record EntryState(boolean unlocked, long firstUnlockedAt, long lastReplayedAt) {}
+
+    /**
+     * @return true if nothing changed
+     */
+    public boolean isEmpty() {
+        return !clearedAll && clearedNamespaces.isEmpty() && relocked.isEmpty() && changed.isEmpty();
+    }
+
+    /**
+     * @return the number of entries written or deleted by this delta, excluding clears
+     */
+    public int size() {
+        int size = 0;
+        for (Set<String> ids : relocked.values()) size += ids.size();
+        for (Map<String, EntryState> ids : changed.values()) size += ids.size();
+        return size;
+    }
+
+}
@@ -0,0 +1,194 @@
+package com.glance.codex.api.data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, versioned snapshot of a player's progress
+ * <p>
+ * Namespaces are copy-on-write: a change copies only the affected
+ * namespace's maps and shares every other namespace with the previous
+ * snapshot. Each change produces a snapshot with a higher {@link #version()},
+ * so caches (icons, progress bars, placeholders) can compare a stored version
+ * instead of the content
+ *
+ * @see VersionedProgress
+ *
+ * @author Cammy
+ */
+public final class ProgressSnapshot implements ProgressView {
+
+    /** Snapshot with no progress at version 0 */
+    public static final ProgressSnapshot EMPTY = new ProgressSnapshot(0L, Map.of());
+
+    private final long version;
+    private final Map<String, Namespace> namespaces;
+
+    /** Unlocks (ID -> first unlock time) and replays (ID -> last replay time) of one namespace */
+    private record Namespace(Map<String, Long> unlocked, Map<String, Long> replayed) {
+        static final Namespace EMPTY = new Namespace(Map.of(), Map.of());
+
+        boolean isEmpty() {
+            return unlocked.isEmpty() && replayed.isEmpty();
+        }
+    }
+
+    private ProgressSnapshot(long version, Map<String, Namespace> namespaces) {
+        this.version = version;
+        this.namespaces = namespaces;
+    }
+
+    /**
+     * Builds a snapshot from mutable progress
+     *
+     * @param version the version to assign
+     * @param source the progress to copy
+     * @return the snapshot
+     */
+    public static @NotNull ProgressSnapshot of(long version, @NotNull PlayerCollectables source) {
+        Map<String, Namespace> namespaces = new HashMap<>();
+        source.unlocks().forEach((namespace, ids) -> {
+            Map<String, Long> times = source.firstUnlockedAt().getOrDefault(namespace, Map.of());
+            Map<String, Long> unlocked = new HashMap<>(ids.size() * 2);
+            for (String id : ids) unlocked.put(id, times.getOrDefault(id, -1L));
+            namespaces.put(namespace, new Namespace(Collections.unmodifiableMap(unlocked), Map.of()));
+        });
+        source.lastReplayedAt().forEach((namespace, replays) -> {
+            if (replays.isEmpty()) return;
+            Namespace ns = namespaces.getOrDefault(namespace, Namespace.EMPTY);
+            namespaces.put(namespace, new Namespace(ns.unlocked(), Collections.unmodifiableMap(new HashMap<>(replays))));
+        });
+        return new ProgressSnapshot(version, Collections.unmodifiableMap(namespaces));
+    }
+
+    /**
+     * @return the version of this snapshot, increasing with every change
+     */
+    public long version() {
+        return version;
+    }
+
+    @Override
+    public boolean isUnlocked(@NotNull String namespace, @NotNull String id) {
+        return ns(namespace).unlocked().containsKey(id);
+    }
+
+    @Override
+    public @NotNull Set<String> unlockedIds(@NotNull String namespace) {
+        return ns(namespace).unlocked().keySet();
+    }
+
+    @Override
+    public int unlockedCount(@NotNull String namespace) {
+        return ns(namespace).unlocked().size();
+    }
+
+    @Override
+    public long firstUnlockedAt(@NotNull String namespace, @NotNull String id) {
+        return ns(namespace).unlocked().getOrDefault(id, -1L);
+    }
+
+    @Override
+    public long lastReplayedAt(@NotNull String namespace, @NotNull String id) {
+        return ns(namespace).replayed().getOrDefault(id, -1L);
+    }
+
+    @Override
+    public @NotNull Set<String> namespaces() {
+        return namespaces.keySet();
+    }
+
+    /**
+     * @return a snapshot with the entry unlocked, or this snapshot if it already was
+     */
+    public @NotNull ProgressSnapshot withUnlock(@NotNull String namespace, @NotNull String id, long when) {
+        Namespace ns = ns(namespace);
+        if (ns.unlocked().containsKey(id)) return this;
+        return with(namespace, new Namespace(put(ns.unlocked(), id, when), ns.replayed()));
+    }
+
+    /**
+     * @return a snapshot with the replay time recorded
+     */
+    public @NotNull ProgressSnapshot withReplay(@NotNull String namespace, @NotNull String id, long when) {
+        Namespace ns = ns(namespace);
+        return with(namespace, new Namespace(ns.unlocked(), put(ns.replayed(), id, when)));
+    }
+
+    /**
+     * @return a snapshot with the entry relocked, or this snapshot if it was not unlocked
+     */
+    public @NotNull ProgressSnapshot withRelock(@NotNull String namespace, @NotNull String id) {
+        Namespace ns = ns(namespace);
+        if (!ns.unlocked().containsKey(id)) return this;
+        return with(namespace, new Namespace(remove(ns.unlocked(), id), remove(ns.replayed(), id)));
+    }
+
+    /**
+     * @return a snapshot without the namespace, or this snapshot if it had no progress there
+     */
+    public @NotNull ProgressSnapshot withoutNamespace(@NotNull String namespace) {
+        if (!namespaces.containsKey(namespace)) return this;
+        return with(namespace, Namespace.EMPTY);
+    }
+
+    /**
+     * @return an empty snapshot at the next version
+     */
+    public @NotNull ProgressSnapshot cleared() {
+        return new ProgressSnapshot(version + 1, Map.of());
+    }
+
+    /**
+     * Copies this snapshot into mutable progress, e.g. for a full save
+     *
+     * @return the mutable copy, with no tracked changes
+     */
+    public @NotNull PlayerCollectables toPlayerCollectables() {
+        PlayerCollectables copy = new PlayerCollectables();
+        namespaces.forEach((namespace, ns) -> {
+            if (!ns.unlocked().isEmpty()) {
+                copy.unlocks().put(namespace, new HashSet<>(ns.unlocked().keySet()));
+                Map<String, Long> times = new HashMap<>();
+                ns.unlocked().forEach((id, time) -> {
+                    if (time >= 0) times.put(id, time);
+                });
+                copy.firstUnlockedAt().put(namespace, times);
+            }
+            if (!ns.replayed().isEmpty()) {
+                copy.lastReplayedAt().put(namespace, new HashMap<>(ns.replayed()));
+            }
+        });
+        return copy;
+    }
+
+    private Namespace ns(String namespace) {
+        return namespaces.getOrDefault(namespace, Namespace.EMPTY);
+    }
+
+    private ProgressSnapshot with(String namespace, Namespace ns) {
+        Map<String, Namespace> next = new HashMap<>(namespaces);
+        if (ns.isEmpty()) next.remove(namespace);
+        else next.put(namespace, ns);
+        return new ProgressSnapshot(version + 1, Collections.unmodifiableMap(next));
+    }
+
+    private static Map<String, Long> put(Map<String, Long> map, String id, long value) {
+        Map<String, Long> copy = new HashMap<>(map);
+        copy.put(id, value);
+        return Collections.unmodifiableMap(copy);
+    }
+
+    private static Map<String, Long> remove(Map<String, Long> map, String id) {
+        if (!map.containsKey(id)) return map;
+        Map<String, Long> copy = new HashMap<>(map);
+        copy.remove(id);
+        return Collections.unmodifiableMap(copy);
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.glance.codex.api.data;
+
+import org.bukkit.NamespacedKey;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+
+/**
+ * Read-only view of a player's progress, e.g. for menu rendering
+ * <p>
+ * Views are live and non-copying: they read straight through to the
+ * underlying progress. They are only safe to read concurrently with writes
+ * when the progress is a {@link ConcurrentPlayerCollectables}
+ *
+ * @see PlayerCollectables#view()
+ *
+ * @author Cammy
+ */
+public interface ProgressView {
+
+    /**
+     * @return true if the entry is unlocked
+     */
+    boolean isUnlocked(@NotNull String namespace, @NotNull String id);
+
+    /**
+     * @return true if the entry is unlocked
+     */
+    default boolean isUnlocked(@NotNull NamespacedKey key) {
+        return isUnlocked(key.getNamespace(), key.getKey());
+    }
+
+    /**
+     * @return an unmodifiable live view of the unlocked IDs in a namespace
+     */
+    @NotNull Set<String> unlockedIds(@NotNull String namespace);
+
+    /**
+     * @return the number of unlocked IDs in a namespace
+     */
+    default int unlockedCount(@NotNull String namespace) {
+        return unlockedIds(namespace).size();
+    }
+
+    /**
+     * @return the first unlock time in epoch millis, or -1 if not unlocked
+     */
+    long firstUnlockedAt(@NotNull String namespace, @NotNull String id);
+
+    /**
+     * @return the last replay time in epoch millis, or -1 if never replayed
+     */
+    long lastReplayedAt(@NotNull String namespace, @NotNull String id);
+
+    /**
+     * @return an unmodifiable live view of the namespaces with unlocks
+     */
+    @NotNull Set<String> namespaces();
+
+}
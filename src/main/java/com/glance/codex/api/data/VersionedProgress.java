@@ -0,0 +1,111 @@
+package com.glance.codex.api.data;
+
+import org.bukkit.NamespacedKey;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Holder of a player's current {@link ProgressSnapshot}
+ * <p>
+ * Readers take the current snapshot in O(1) with {@link #current()} and keep a
+ * consistent view for as long as they hold it. Writers swap in a new snapshot
+ * with a CAS loop, so neither side ever blocks the other
+ *
+ * <pre>{@code
+ * ProgressSnapshot snapshot = progress.current();
+ * if (snapshot.version() != cachedVersion) rebuildIcons(snapshot);
+ * }</pre>
+ *
+ * @author Cammy
+ */
+public final class VersionedProgress {
+
+    private final AtomicReference<ProgressSnapshot> current;
+
+    public VersionedProgress() {
+        this(ProgressSnapshot.EMPTY);
+    }
+
+    public VersionedProgress(@NotNull ProgressSnapshot initial) {
+        this.current = new AtomicReference<>(initial);
+    }
+
+    /**
+     * @return the latest snapshot
+     */
+    public @NotNull ProgressSnapshot current() {
+        return current.get();
+    }
+
+    /**
+     * @return the version of the latest snapshot
+     */
+    public long version() {
+        return current.get().version();
+    }
+
+    /**
+     * Atomically applies a change, retrying if another writer got there first
+     *
+     * @param change maps the current snapshot to the next; returning the same instance is a no-op
+     * @return the snapshot after the change
+     */
+    public @NotNull ProgressSnapshot update(@NotNull UnaryOperator<ProgressSnapshot> change) {
+        while (true) {
+            ProgressSnapshot prev = current.get();
+            ProgressSnapshot next = change.apply(prev);
+            if (next == prev || current.compareAndSet(prev, next)) return next;
+        }
+    }
+
+    /**
+     * Replaces the snapshot with freshly loaded progress at the next version
+     *
+     * @param loaded the loaded progress
+     * @return the new snapshot
+     */
+    public @NotNull ProgressSnapshot load(@NotNull PlayerCollectables loaded) {
+        return update(prev -> ProgressSnapshot.of(prev.version() + 1, loaded));
+    }
+
+    /**
+     * @return true if the entry was newly unlocked
+     */
+    public boolean unlock(@NotNull NamespacedKey key, long when) {
+        boolean[] added = new boolean[1];
+        update(prev -> {
+            ProgressSnapshot next = prev.withUnlock(key.getNamespace(), key.getKey(), when);
+            added[0] = next != prev;
+            return next;
+        });
+        return added[0];
+    }
+
+    public void replay(@NotNull NamespacedKey key, long when) {
+        update(prev -> prev.withReplay(key.getNamespace(), key.getKey(), when));
+    }
+
+    /**
+     * @return true if the entry was unlocked
+     */
+    public boolean relock(@NotNull NamespacedKey key) {
+        boolean[] removed = new boolean[1];
+        update(prev -> {
+            ProgressSnapshot next = prev.withRelock(key.getNamespace(), key.getKey());
+            removed[0] = next != prev;
+            return next;
+        });
+        return removed[0];
+    }
+
+    public void clearNamespace(@NotNull String namespace) {
+        update(prev -> prev.withoutNamespace(namespace));
+    }
+
+    public void clearAll() {
+        update(ProgressSnapshot::cleared);
+    }
+
+}
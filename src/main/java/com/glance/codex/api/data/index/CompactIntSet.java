@@ -0,0 +1,300 @@
+package com.glance.codex.api.data.index;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed set of non-negative ints, laid out like a roaring bitmap
+ * <p>
+ * Values are split into a 16-bit high key and a 16-bit low part. Each high
+ * key owns a container: a sorted {@code char[]} while it holds at most
+ * 4096 values, or a 65536-bit bitmap once denser. Sparse sets cost about
+ * two bytes per value and dense ranges one bit per value
+ * <p>
+ * Iteration is in ascending order. {@link #forEach(int, int, IntConsumer)}
+ * skips whole containers by cardinality, so paging deep into a large set
+ * does not visit every earlier value
+ * <p>
+ * Not thread-safe
+ *
+ * @author Cammy
+ */
+public final class CompactIntSet {
+
+    private static final int ARRAY_MAX = 4096;
+
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int containerCount;
+    private int size;
+
+    /**
+     * @param value a non-negative value
+     * @return true if the value was not already present
+     */
+    public boolean add(int value) {
+        checkValue(value);
+        char hi = (char) (value >>> 16);
+        char lo = (char) value;
+
+        int i = find(hi);
+        if (i < 0) {
+            i = -i - 1;
+            insertContainer(i, hi, new ArrayContainer());
+        }
+
+        Container container = containers[i];
+        if (container.contains(lo)) return false;
+        if (container instanceof ArrayContainer array && array.size == ARRAY_MAX) {
+            container = containers[i] = array.toBitmap();
+        }
+        container.add(lo);
+        size++;
+        return true;
+    }
+
+    /**
+     * @return true if the value was present
+     */
+    public boolean remove(int value) {
+        if (value < 0) return false;
+        int i = find((char) (value >>> 16));
+        if (i < 0) return false;
+
+        Container container = containers[i];
+        if (!container.remove((char) value)) return false;
+        size--;
+
+        if (container.size() == 0) {
+            removeContainer(i);
+        } else if (container instanceof BitmapContainer bitmap && bitmap.size <= ARRAY_MAX / 2) {
+            containers[i] = bitmap.toArray();
+        }
+        return true;
+    }
+
+    public boolean contains(int value) {
+        if (value < 0) return false;
+        int i = find((char) (value >>> 16));
+        return i >= 0 && containers[i].contains((char) value);
+    }
+
+    /**
+     * @return the number of values in the set
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Visits values in ascending order
+     *
+     * @param offset number of leading values to skip
+     * @param limit maximum number of values to visit
+     * @param action receives each value
+     */
+    public void forEach(int offset, int limit, IntConsumer action) {
+        int skip = Math.max(0, offset);
+        int remaining = limit;
+        for (int i = 0; i < containerCount && remaining > 0; i++) {
+            Container container = containers[i];
+            if (skip >= container.size()) {
+                skip -= container.size();
+                continue;
+            }
+            int base = keys[i] << 16;
+            remaining -= container.forEach(base, skip, remaining, action);
+            skip = 0;
+        }
+    }
+
+    /**
+     * Visits every value in ascending order
+     */
+    public void forEach(IntConsumer action) {
+        forEach(0, Integer.MAX_VALUE, action);
+    }
+
+    /**
+     * @return an estimate of the heap used by the containers, in bytes
+     */
+    public long estimatedBytes() {
+        long bytes = (long) keys.length * Character.BYTES + (long) containers.length * 8;
+        for (int i = 0; i < containerCount; i++) {
+            bytes += containers[i].bytes();
+        }
+        return bytes;
+    }
+
+    private static void checkValue(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value must be non-negative: " + value);
+        }
+    }
+
+    private int find(char hi) {
+        return Arrays.binarySearch(keys, 0, containerCount, hi);
+    }
+
+    private void insertContainer(int index, char hi, Container container) {
+        if (containerCount == keys.length) {
+            keys = Arrays.copyOf(keys, containerCount * 2);
+            containers = Arrays.copyOf(containers, containerCount * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, containerCount - index);
+        System.arraycopy(containers, index, containers, index + 1, containerCount - index);
+        keys[index] = hi;
+        containers[index] = container;
+        containerCount++;
+    }
+
+    private void removeContainer(int index) {
+        System.arraycopy(keys, index + 1, keys, index, containerCount - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, containerCount - index - 1);
+        containerCount--;
+        containers[containerCount] = null;
+    }
+
+    private sealed interface Container permits ArrayContainer, BitmapContainer {
+        boolean contains(char value);
+        void add(char value);
+        boolean remove(char value);
+        int size();
+        /** @return how many values were visited */
+        int forEach(int base, int skip, int limit, IntConsumer action);
+        long bytes();
+    }
+
+    private static final class ArrayContainer implements Container {
+        private char[] values = new char[4];
+        private int size;
+
+        @Override
+        public boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+
+        @Override
+        public void add(char value) {
+            int i = Arrays.binarySearch(values, 0, size, value);
+            if (i >= 0) return;
+            i = -i - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, size * 2));
+            }
+            System.arraycopy(values, i, values, i + 1, size - i);
+            values[i] = value;
+            size++;
+        }
+
+        @Override
+        public boolean remove(char value) {
+            int i = Arrays.binarySearch(values, 0, size, value);
+            if (i < 0) return false;
+            System.arraycopy(values, i + 1, values, i, size - i - 1);
+            size--;
+            return true;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public int forEach(int base, int skip, int limit, IntConsumer action) {
+            int end = (int) Math.min(size, (long) skip + limit);
+            for (int i = skip; i < end; i++) {
+                action.accept(base | values[i]);
+            }
+            return Math.max(0, end - skip);
+        }
+
+        @Override
+        public long bytes() {
+            return 16L + (long) values.length * Character.BYTES;
+        }
+
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < size; i++) bitmap.add(values[i]);
+            return bitmap;
+        }
+    }
+
+    private static final class BitmapContainer implements Container {
+        private final long[] words = new long[1024];
+        private int size;
+
+        @Override
+        public boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        public void add(char value) {
+            long before = words[value >>> 6];
+            long after = before | (1L << value);
+            if (before != after) {
+                words[value >>> 6] = after;
+                size++;
+            }
+        }
+
+        @Override
+        public boolean remove(char value) {
+            long before = words[value >>> 6];
+            long after = before & ~(1L << value);
+            if (before == after) return false;
+            words[value >>> 6] = after;
+            size--;
+            return true;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public int forEach(int base, int skip, int limit, IntConsumer action) {
+            int visited = 0;
+            for (int w = 0; w < words.length && visited < limit; w++) {
+                long word = words[w];
+                int bits = Long.bitCount(word);
+                if (skip >= bits) {
+                    skip -= bits;
+                    continue;
+                }
+                while (word != 0 && visited < limit) {
+                    int bit = Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                    if (skip > 0) {
+                        skip--;
+                        continue;
+                    }
+                    action.accept(base | (w << 6) | bit);
+                    visited++;
+                }
+            }
+            return visited;
+        }
+
+        @Override
+        public long bytes() {
+            return 16L + (long) words.length * Long.BYTES;
+        }
+
+        private ArrayContainer toArray() {
+            ArrayContainer array = new ArrayContainer();
+            array.values = new char[Math.max(4, size)];
+            forEach(0, 0, Integer.MAX_VALUE, v -> array.values[array.size++] = (char) v);
+            return array;
+        }
+    }
+
+}
@@ -0,0 +1,209 @@
+package com.glance.codex.api.data.index;
+
+import com.glance.codex.api.data.PlayerCollectables;
+import org.bukkit.NamespacedKey;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Heap-resident {@link UnlockReverseIndex}
+ * <p>
+ * Players are interned to int ordinals and each collectable keeps a
+ * {@link CompactIntSet} of holder ordinals. First-unlock times are optionally
+ * kept in a primitive ordinal-to-millis map per collectable
+ * <p>
+ * Each player also keeps the set of collectables they hold, so removing or
+ * replacing a player's unlocks costs O(their unlocks) rather than a scan of
+ * every collectable
+ * <p>
+ * Each collectable's holders are guarded by their own monitor, so writes to
+ * different collectables never contend
+ *
+ * @author Cammy
+ */
+public final class InMemoryReverseIndex implements UnlockReverseIndex {
+
+    private final PlayerOrdinals ordinals = new PlayerOrdinals();
+    private final Map<String, Map<String, Holders>> byNamespace = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Holders>> held = new ConcurrentHashMap<>();
+    private final boolean trackTimes;
+
+    /**
+     * @param trackTimes true to record first-unlock times alongside holders
+     */
+    public InMemoryReverseIndex(boolean trackTimes) {
+        this.trackTimes = trackTimes;
+    }
+
+    private final class Holders {
+        private final String namespace;
+        private final CompactIntSet members = new CompactIntSet();
+        private final IntLongHashMap times = trackTimes ? new IntLongHashMap() : null;
+
+        private Holders(String namespace) {
+            this.namespace = namespace;
+        }
+    }
+
+    /**
+     * Indexes every unlock in a player's snapshot, e.g. while rebuilding from storage
+     */
+    public void addAll(@NotNull UUID playerId, @NotNull PlayerCollectables snapshot) {
+        snapshot.unlocks().forEach((namespace, ids) -> {
+            Map<String, Long> times = snapshot.firstUnlockedAt().getOrDefault(namespace, Map.of());
+            for (String id : ids) {
+                add(playerId, namespace, id, times.getOrDefault(id, -1L));
+            }
+        });
+    }
+
+    /**
+     * Makes a player's indexed unlocks match a snapshot
+     * <p>
+     * Only the difference is applied, and additions happen before removals, so
+     * concurrent readers never see entries the player keeps as missing
+     */
+    public void replace(@NotNull UUID playerId, @NotNull PlayerCollectables snapshot) {
+        int ordinal = ordinals.intern(playerId);
+        Set<Holders> target = new HashSet<>();
+        snapshot.unlocks().forEach((namespace, ids) -> {
+            Map<String, Long> times = snapshot.firstUnlockedAt().getOrDefault(namespace, Map.of());
+            for (String id : ids) {
+                Holders holders = holdersFor(namespace, id);
+                target.add(holders);
+                addTo(holders, ordinal, times.getOrDefault(id, -1L));
+            }
+        });
+
+        Set<Holders> current = held.get(ordinal);
+        if (current == null) return;
+        for (Holders holders : List.copyOf(current)) {
+            if (!target.contains(holders)) removeFrom(holders, ordinal);
+        }
+    }
+
+    @Override
+    public void add(@NotNull UUID playerId, @NotNull String namespace, @NotNull String id, long whenMillis) {
+        addTo(holdersFor(namespace, id), ordinals.intern(playerId), whenMillis);
+    }
+
+    @Override
+    public void remove(@NotNull UUID playerId, @NotNull String namespace, @NotNull String id) {
+        int ordinal = ordinals.ordinalOf(playerId);
+        if (ordinal < 0) return;
+        Holders holders = holders(namespace, id);
+        if (holders != null) removeFrom(holders, ordinal);
+    }
+
+    @Override
+    public void removeNamespace(@NotNull UUID playerId, @NotNull String namespace) {
+        int ordinal = ordinals.ordinalOf(playerId);
+        if (ordinal < 0) return;
+        Set<Holders> current = held.get(ordinal);
+        if (current == null) return;
+        for (Holders holders : List.copyOf(current)) {
+            if (holders.namespace.equals(namespace)) removeFrom(holders, ordinal);
+        }
+    }
+
+    @Override
+    public void removeAll(@NotNull UUID playerId) {
+        int ordinal = ordinals.ordinalOf(playerId);
+        if (ordinal < 0) return;
+        Set<Holders> current = held.get(ordinal);
+        if (current == null) return;
+        for (Holders holders : List.copyOf(current)) {
+            removeFrom(holders, ordinal);
+        }
+    }
+
+    @Override
+    public int count(@NotNull NamespacedKey key) {
+        Holders holders = holders(key.getNamespace(), key.getKey());
+        if (holders == null) return 0;
+        synchronized (holders) {
+            return holders.members.size();
+        }
+    }
+
+    @Override
+    public @NotNull List<UnlockHolder> holders(@NotNull NamespacedKey key, int offset, int limit) {
+        Holders holders = holders(key.getNamespace(), key.getKey());
+        if (holders == null || limit <= 0) return List.of();
+
+        List<UnlockHolder> page = new ArrayList<>(Math.min(limit, 256));
+        synchronized (holders) {
+            holders.members.forEach(offset, limit, ordinal -> {
+                UUID playerId = ordinals.playerOf(ordinal);
+                if (playerId == null) return;
+                long when = holders.times != null ? holders.times.get(ordinal, -1L) : -1L;
+                page.add(new UnlockHolder(playerId, when));
+            });
+        }
+        return page;
+    }
+
+    @Override
+    public boolean contains(@NotNull UUID playerId, @NotNull NamespacedKey key) {
+        int ordinal = ordinals.ordinalOf(playerId);
+        if (ordinal < 0) return false;
+        Holders holders = holders(key.getNamespace(), key.getKey());
+        if (holders == null) return false;
+        synchronized (holders) {
+            return holders.members.contains(ordinal);
+        }
+    }
+
+    /**
+     * @return an estimate of the heap used by holder sets, excluding time maps, per-player sets and interned UUIDs
+     */
+    public long estimatedBytes() {
+        long bytes = 0;
+        for (Map<String, Holders> entries : byNamespace.values()) {
+            for (Holders holders : entries.values()) {
+                synchronized (holders) {
+                    bytes += holders.members.estimatedBytes();
+                }
+            }
+        }
+        return bytes;
+    }
+
+    private Holders holders(String namespace, String id) {
+        Map<String, Holders> entries = byNamespace.get(namespace);
+        return entries == null ? null : entries.get(id);
+    }
+
+    private Holders holdersFor(String namespace, String id) {
+        return byNamespace
+            .computeIfAbsent(namespace, k -> new ConcurrentHashMap<>())
+            .computeIfAbsent(id, k -> new Holders(namespace));
+    }
+
+    // The per-player set is only changed under the collectable's monitor so it
+    // always agrees with the holder set
+    private void addTo(Holders holders, int ordinal, long whenMillis) {
+        synchronized (holders) {
+            if (!holders.members.add(ordinal)) return;
+            if (holders.times != null) holders.times.put(ordinal, whenMillis);
+            held.computeIfAbsent(ordinal, k -> ConcurrentHashMap.newKeySet()).add(holders);
+        }
+    }
+
+    private void removeFrom(Holders holders, int ordinal) {
+        synchronized (holders) {
+            if (!holders.members.remove(ordinal)) return;
+            if (holders.times != null) holders.times.remove(ordinal);
+            Set<Holders> current = held.get(ordinal);
+            if (current != null) current.remove(holders);
+        }
+    }
+
+}
@@ -0,0 +1,210 @@
+package com.glance.codex.api.data.index;
+
+import com.glance.codex.api.data.PlayerCollectables;
+import com.glance.codex.api.data.ProgressDelta;
+import com.glance.codex.api.data.storage.CollectableStorage;
+import com.glance.codex.api.data.storage.PlayerSnapshot;
+import com.glance.codex.api.data.storage.SnapshotPage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * {@link CollectableStorage} decorator that keeps an {@link UnlockReverseIndex}
+ * in step with every successful write
+ * <p>
+ * The index is only updated once the delegate's future completes successfully,
+ * and only for writes that actually changed something ({@code putUnlock} and
+ * {@code deleteUnlock} returning true). Reads pass straight through
+ * <p>
+ * The index starts empty; call {@link #rebuild(int)} once on startup to seed it
+ * from existing data
+ *
+ * @author Cammy
+ */
+public final class IndexingCollectableStorage implements CollectableStorage {
+
+    private final CollectableStorage delegate;
+    private final InMemoryReverseIndex index;
+
+    /**
+     * @param delegate the storage to maintain an index for
+     * @param index the index to keep up to date
+     */
+    public IndexingCollectableStorage(@NotNull CollectableStorage delegate, @NotNull InMemoryReverseIndex index) {
+        this.delegate = delegate;
+        this.index = index;
+    }
+
+    /**
+     * Streams every stored snapshot into the index
+     *
+     * @param pageSize players read per {@link CollectableStorage#scanSnapshots} call
+     * @return future with the number of players indexed
+     */
+    public @NotNull CompletableFuture<Integer> rebuild(int pageSize) {
+        CompletableFuture<Integer> result = new CompletableFuture<>();
+        rebuildFrom(null, Math.max(1, pageSize), 0, result);
+        return result;
+    }
+
+    // Pages that are already complete are consumed in a loop rather than via
+    // thenCompose, so synchronous storages cannot grow the stack per page
+    private void rebuildFrom(@Nullable UUID after, int pageSize, int indexed, CompletableFuture<Integer> result) {
+        while (true) {
+            CompletableFuture<SnapshotPage> next;
+            try {
+                next = delegate.scanSnapshots(after, pageSize);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+
+            if (!next.isDone()) {
+                int total = indexed;
+                next.whenComplete((page, error) -> {
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else if (indexPage(page, total, result)) {
+                        rebuildFrom(page.next(), pageSize, total + page.snapshots().size(), result);
+                    }
+                });
+                return;
+            }
+
+            SnapshotPage page;
+            try {
+                page = next.join();
+            } catch (CompletionException e) {
+                result.completeExceptionally(e.getCause() != null ? e.getCause() : e);
+                return;
+            }
+            if (!indexPage(page, indexed, result)) return;
+            indexed += page.snapshots().size();
+            after = page.next();
+        }
+    }
+
+    /**
+     * @return true if more pages follow, false once the result was completed
+     */
+    private boolean indexPage(SnapshotPage page, int indexed, CompletableFuture<Integer> result) {
+        for (PlayerSnapshot snapshot : page.snapshots()) {
+            index.addAll(snapshot.playerId(), snapshot.data());
+        }
+        if (!page.isLast()) return true;
+        result.complete(indexed + page.snapshots().size());
+        return false;
+    }
+
+    @Override
+    public Optional<UnlockReverseIndex> reverseIndex() {
+        return Optional.of(index);
+    }
+
+    @Override
+    public CompletableFuture<Set<String>> loadUnlockedIds(@NotNull UUID playerId, @NotNull String namespace) {
+        return delegate.loadUnlockedIds(playerId, namespace);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> putUnlock(
+        @NotNull UUID playerId, @NotNull String namespace, @NotNull String id, long whenMillis
+    ) {
+        return delegate.putUnlock(playerId, namespace, id, whenMillis).thenApply(added -> {
+            if (Boolean.TRUE.equals(added)) index.add(playerId, namespace, id, whenMillis);
+            return added;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> recordReplay(
+        @NotNull UUID playerId, @NotNull String namespace, @NotNull String id, long whenMillis
+    ) {
+        return delegate.recordReplay(playerId, namespace, id, whenMillis);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteUnlock(
+        @NotNull UUID playerId, @NotNull String namespace, @NotNull String id
+    ) {
+        return delegate.deleteUnlock(playerId, namespace, id).thenApply(removed -> {
+            if (Boolean.TRUE.equals(removed)) index.remove(playerId, namespace, id);
+            return removed;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Integer> clearNamespace(@NotNull UUID playerId, @NotNull String namespace) {
+        return delegate.clearNamespace(playerId, namespace).thenApply(removed -> {
+            index.removeNamespace(playerId, namespace);
+            return removed;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> clearAll(@NotNull UUID playerId) {
+        return delegate.clearAll(playerId).thenRun(() -> index.removeAll(playerId));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> isUnlocked(@NotNull UUID playerId, @NotNull String namespace, @NotNull String id) {
+        return delegate.isUnlocked(playerId, namespace, id);
+    }
+
+    @Override
+    public CompletableFuture<Integer> countUnlocked(@NotNull UUID playerId, @NotNull String namespace) {
+        return delegate.countUnlocked(playerId, namespace);
+    }
+
+    @Override
+    public CompletableFuture<PlayerCollectables> loadSnapshot(@NotNull UUID playerId) {
+        return delegate.loadSnapshot(playerId);
+    }
+
+    @Override
+    public CompletableFuture<Void> saveSnapshot(@NotNull UUID playerId, @NotNull PlayerCollectables snapshot) {
+        return delegate.saveSnapshot(playerId, snapshot).thenRun(() -> reindex(playerId, snapshot));
+    }
+
+    @Override
+    public CompletableFuture<Void> saveDelta(
+        @NotNull UUID playerId, @NotNull ProgressDelta delta, @NotNull PlayerCollectables snapshot
+    ) {
+        return delegate.saveDelta(playerId, delta, snapshot).thenRun(() -> apply(playerId, delta));
+    }
+
+    @Override
+    public CompletableFuture<SnapshotPage> scanSnapshots(@Nullable UUID after, int limit) {
+        return delegate.scanSnapshots(after, limit);
+    }
+
+    @Override
+    public CompletableFuture<Void> saveSnapshots(@NotNull List<PlayerSnapshot> batch) {
+        return delegate.saveSnapshots(batch).thenRun(() -> {
+            for (PlayerSnapshot snapshot : batch) {
+                reindex(snapshot.playerId(), snapshot.data());
+            }
+        });
+    }
+
+    private void apply(UUID playerId, ProgressDelta delta) {
+        if (delta.clearedAll()) index.removeAll(playerId);
+        delta.clearedNamespaces().forEach(namespace -> index.removeNamespace(playerId, namespace));
+        delta.relocked().forEach((namespace, ids) -> ids.forEach(id -> index.remove(playerId, namespace, id)));
+        delta.changed().forEach((namespace, ids) -> ids.forEach((id, state) -> {
+            if (state.unlocked()) index.add(playerId, namespace, id, state.firstUnlockedAt());
+        }));
+    }
+
+    private void reindex(UUID playerId, PlayerCollectables snapshot) {
+        index.replace(playerId, snapshot);
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.glance.codex.api.data.index;
+
+import java.util.Arrays;
+
+/**
+ * Minimal open-addressing int to long map without boxing
+ * <p>
+ * Keys must be non-negative. Not thread-safe
+ */
+final class IntLongHashMap {
+
+    private static final int EMPTY = -1;
+    private static final int TOMBSTONE = -2;
+
+    private int[] keys;
+    private long[] values;
+    private int size;
+    private int used;
+
+    IntLongHashMap() {
+        keys = new int[8];
+        values = new long[8];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    long get(int key, long missing) {
+        int mask = keys.length - 1;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            int k = keys[i];
+            if (k == key) return values[i];
+            if (k == EMPTY) return missing;
+        }
+    }
+
+    void put(int key, long value) {
+        if ((used + 1) * 4 >= keys.length * 3) rehash(size * 2 >= keys.length / 2 ? keys.length * 2 : keys.length);
+
+        int mask = keys.length - 1;
+        int tombstone = -1;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            int k = keys[i];
+            if (k == key) {
+                values[i] = value;
+                return;
+            }
+            if (k == TOMBSTONE && tombstone < 0) tombstone = i;
+            if (k == EMPTY) {
+                int slot = tombstone >= 0 ? tombstone : i;
+                if (slot == i) used++;
+                keys[slot] = key;
+                values[slot] = value;
+                size++;
+                return;
+            }
+        }
+    }
+
+    void remove(int key) {
+        int mask = keys.length - 1;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            int k = keys[i];
+            if (k == key) {
+                keys[i] = TOMBSTONE;
+                size--;
+                return;
+            }
+            if (k == EMPTY) return;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new int[capacity];
+        values = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        used = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] >= 0) put(oldKeys[i], oldValues[i]);
+        }
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+}
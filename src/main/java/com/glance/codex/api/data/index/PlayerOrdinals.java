@@ -0,0 +1,70 @@
+package com.glance.codex.api.data.index;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns player UUIDs as dense, stable int ordinals
+ * <p>
+ * Ordinals start at 0 and are never reused, so they can be stored in
+ * compact int sets instead of 16-byte UUIDs
+ *
+ * @author Cammy
+ */
+public final class PlayerOrdinals {
+
+    private final Map<UUID, Integer> ordinals = new ConcurrentHashMap<>();
+    private volatile UUID[] players = new UUID[1024];
+    private int next;
+
+    /**
+     * @return the ordinal for the player, assigning one if needed
+     */
+    public int intern(@NotNull UUID playerId) {
+        Integer existing = ordinals.get(playerId);
+        if (existing != null) return existing;
+
+        synchronized (this) {
+            existing = ordinals.get(playerId);
+            if (existing != null) return existing;
+
+            int ordinal = next++;
+            UUID[] current = players;
+            if (ordinal == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+            }
+            current[ordinal] = playerId;
+            players = current;
+            ordinals.put(playerId, ordinal);
+            return ordinal;
+        }
+    }
+
+    /**
+     * @return the ordinal for the player, or -1 if never interned
+     */
+    public int ordinalOf(@NotNull UUID playerId) {
+        return ordinals.getOrDefault(playerId, -1);
+    }
+
+    /**
+     * @return the player for an ordinal, or null if unassigned
+     */
+    public @Nullable UUID playerOf(int ordinal) {
+        UUID[] current = players;
+        return ordinal >= 0 && ordinal < current.length ? current[ordinal] : null;
+    }
+
+    /**
+     * @return how many players have been interned
+     */
+    public int size() {
+        return ordinals.size();
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.glance.codex.api.data.index;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * A player who has unlocked a collectable
+ *
+ * @param playerId the player's UUID
+ * @param unlockedAt first unlock time in epoch millis, or -1 if not tracked
+ */
+public record UnlockHolder(@NotNull UUID playerId, long unlockedAt) {
+}
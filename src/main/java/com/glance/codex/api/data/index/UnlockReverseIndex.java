@@ -0,0 +1,61 @@
+package com.glance.codex.api.data.index;
+
+import org.bukkit.NamespacedKey;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reverse index answering "which players unlocked this collectable, and when"
+ * <p>
+ * Maintained from the storage write paths (see {@link IndexingCollectableStorage})
+ * so queries never scan player data
+ *
+ * @author Cammy
+ */
+public interface UnlockReverseIndex {
+
+    /**
+     * Records that a player unlocked an entry
+     *
+     * @param whenMillis first unlock time (epoch millis)
+     */
+    void add(@NotNull UUID playerId, @NotNull String namespace, @NotNull String id, long whenMillis);
+
+    /**
+     * Removes a single unlock
+     */
+    void remove(@NotNull UUID playerId, @NotNull String namespace, @NotNull String id);
+
+    /**
+     * Removes every unlock a player has in a namespace
+     */
+    void removeNamespace(@NotNull UUID playerId, @NotNull String namespace);
+
+    /**
+     * Removes every unlock a player has
+     */
+    void removeAll(@NotNull UUID playerId);
+
+    /**
+     * @return how many players have unlocked the collectable
+     */
+    int count(@NotNull NamespacedKey key);
+
+    /**
+     * Pages through the players who unlocked a collectable, in a stable order
+     *
+     * @param key the collectable
+     * @param offset number of holders to skip
+     * @param limit maximum holders to return
+     * @return the requested page
+     */
+    @NotNull List<UnlockHolder> holders(@NotNull NamespacedKey key, int offset, int limit);
+
+    /**
+     * @return true if the player has unlocked the collectable according to the index
+     */
+    boolean contains(@NotNull UUID playerId, @NotNull NamespacedKey key);
+
+}
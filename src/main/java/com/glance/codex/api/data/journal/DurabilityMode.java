@@ -0,0 +1,25 @@
+package com.glance.codex.api.data.journal;
+
+/**
+ * When an appended {@link JournalRecord} is considered durable
+ *
+ * @author Cammy
+ */
+public enum DurabilityMode {
+
+    /** Every record is fsynced on its own before it is acknowledged; safest, slowest */
+    PER_OP,
+
+    /**
+     * Records queued together are written and fsynced as one group, then all
+     * acknowledged; as safe as {@link #PER_OP} with far fewer fsyncs under load
+     */
+    GROUPED,
+
+    /**
+     * Records are acknowledged once written to the OS and fsynced on a fixed
+     * interval; an OS crash or power loss can drop up to one interval of writes
+     */
+    PERIODIC
+
+}
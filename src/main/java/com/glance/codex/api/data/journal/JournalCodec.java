@@ -0,0 +1,233 @@
+package com.glance.codex.api.data.journal;
+
+import com.glance.codex.api.data.PlayerCollectables;
+import com.glance.codex.api.data.ProgressDelta;
+import com.glance.codex.api.data.ProgressView;
+
+import java.io.*;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Binary framing for {@link JournalRecord}s
+ * <p>
+ * Each frame is {@code [int length][int crc32][payload]} where the payload is
+ * {@code [byte type][long sequence][uuid][fields...]}. Strings are modified
+ * UTF-8 as written by {@link DataOutput#writeUTF}. A short or corrupt frame
+ * marks the torn tail of a crashed write and ends reading
+ *
+ * @author Cammy
+ */
+final class JournalCodec {
+
+    static final int HEADER_BYTES = Integer.BYTES * 2;
+    static final int MAX_FRAME_BYTES = 64 * 1024 * 1024;
+
+    private static final byte UNLOCK = 1;
+    private static final byte REPLAY = 2;
+    private static final byte RELOCK = 3;
+    private static final byte CLEAR_NAMESPACE = 4;
+    private static final byte CLEAR_ALL = 5;
+    private static final byte DELTA = 6;
+    private static final byte SNAPSHOT = 7;
+
+    /** A decoded frame */
+    record Entry(long sequence, JournalRecord record) {}
+
+    private JournalCodec() {}
+
+    static byte[] encode(long sequence, JournalRecord record) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0);
+            out.writeInt(0);
+            writePayload(out, sequence, record);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        byte[] frame = bytes.toByteArray();
+        int length = frame.length - HEADER_BYTES;
+        CRC32 crc = new CRC32();
+        crc.update(frame, HEADER_BYTES, length);
+        putInt(frame, 0, length);
+        putInt(frame, Integer.BYTES, (int) crc.getValue());
+        return frame;
+    }
+
+    /**
+     * Reads the next frame
+     *
+     * @return the entry, or null at end of data or at a torn or corrupt frame
+     */
+    static Entry read(DataInputStream in) throws IOException {
+        int length;
+        int checksum;
+        try {
+            length = in.readInt();
+            checksum = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        if (length <= 0 || length > MAX_FRAME_BYTES) return null;
+
+        byte[] payload = new byte[length];
+        try {
+            in.readFully(payload);
+        } catch (EOFException e) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if ((int) crc.getValue() != checksum) return null;
+
+        try {
+            return readPayload(new DataInputStream(new ByteArrayInputStream(payload)));
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void writePayload(DataOutputStream out, long sequence, JournalRecord record) throws IOException {
+        out.writeByte(switch (record) {
+            case JournalRecord.Unlock r -> UNLOCK;
+            case JournalRecord.Replay r -> REPLAY;
+            case JournalRecord.Relock r -> RELOCK;
+            case JournalRecord.ClearNamespace r -> CLEAR_NAMESPACE;
+            case JournalRecord.ClearAll r -> CLEAR_ALL;
+            case JournalRecord.Delta r -> DELTA;
+            case JournalRecord.Snapshot r -> SNAPSHOT;
+        });
+        out.writeLong(sequence);
+        out.writeLong(record.playerId().getMostSignificantBits());
+        out.writeLong(record.playerId().getLeastSignificantBits());
+
+        switch (record) {
+            case JournalRecord.Unlock r -> {
+                out.writeUTF(r.namespace());
+                out.writeUTF(r.id());
+                out.writeLong(r.whenMillis());
+            }
+            case JournalRecord.Replay r -> {
+                out.writeUTF(r.namespace());
+                out.writeUTF(r.id());
+                out.writeLong(r.whenMillis());
+            }
+            case JournalRecord.Relock r -> {
+                out.writeUTF(r.namespace());
+                out.writeUTF(r.id());
+            }
+            case JournalRecord.ClearNamespace r -> out.writeUTF(r.namespace());
+            case JournalRecord.ClearAll r -> {}
+            case JournalRecord.Delta r -> writeDelta(out, r.delta());
+            case JournalRecord.Snapshot r -> writeSnapshot(out, r.data().view());
+        }
+    }
+
+    private static Entry readPayload(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        long sequence = in.readLong();
+        UUID playerId = new UUID(in.readLong(), in.readLong());
+
+        JournalRecord record = switch (type) {
+            case UNLOCK -> new JournalRecord.Unlock(playerId, in.readUTF(), in.readUTF(), in.readLong());
+            case REPLAY -> new JournalRecord.Replay(playerId, in.readUTF(), in.readUTF(), in.readLong());
+            case RELOCK -> new JournalRecord.Relock(playerId, in.readUTF(), in.readUTF());
+            case CLEAR_NAMESPACE -> new JournalRecord.ClearNamespace(playerId, in.readUTF());
+            case CLEAR_ALL -> new JournalRecord.ClearAll(playerId);
+            case DELTA -> new JournalRecord.Delta(playerId, readDelta(in));
+            case SNAPSHOT -> new JournalRecord.Snapshot(playerId, readSnapshot(in));
+            default -> throw new IllegalArgumentException("Unknown journal record type: " + type);
+        };
+        return new Entry(sequence, record);
+    }
+
+    private static void writeDelta(DataOutputStream out, ProgressDelta delta) throws IOException {
+        out.writeBoolean(delta.clearedAll());
+        out.writeInt(delta.clearedNamespaces().size());
+        for (String namespace : delta.clearedNamespaces()) out.writeUTF(namespace);
+
+        out.writeInt(delta.relocked().size());
+        for (Map.Entry<String, Set<String>> entry : delta.relocked().entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeInt(entry.getValue().size());
+            for (String id : entry.getValue()) out.writeUTF(id);
+        }
+
+        out.writeInt(delta.changed().size());
+        for (Map.Entry<String, Map<String, ProgressDelta.EntryState>> entry : delta.changed().entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeInt(entry.getValue().size());
+            for (Map.Entry<String, ProgressDelta.EntryState> state : entry.getValue().entrySet()) {
+                out.writeUTF(state.getKey());
+                out.writeBoolean(state.getValue().unlocked());
+                out.writeLong(state.getValue().firstUnlockedAt());
+                out.writeLong(state.getValue().lastReplayedAt());
+            }
+        }
+    }
+
+    private static ProgressDelta readDelta(DataInputStream in) throws IOException {
+        boolean clearedAll = in.readBoolean();
+        Set<String> clearedNamespaces = new HashSet<>();
+        for (int i = in.readInt(); i > 0; i--) clearedNamespaces.add(in.readUTF());
+
+        Map<String, Set<String>> relocked = new HashMap<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            String namespace = in.readUTF();
+            Set<String> ids = new HashSet<>();
+            for (int j = in.readInt(); j > 0; j--) ids.add(in.readUTF());
+            relocked.put(namespace, ids);
+        }
+
+        Map<String, Map<String, ProgressDelta.EntryState>> changed = new HashMap<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            String namespace = in.readUTF();
+            Map<String, ProgressDelta.EntryState> states = new HashMap<>();
+            for (int j = in.readInt(); j > 0; j--) {
+                states.put(in.readUTF(), new ProgressDelta.EntryState(in.readBoolean(), in.readLong(), in.readLong()));
+            }
+            changed.put(namespace, states);
+        }
+        return new ProgressDelta(clearedAll, clearedNamespaces, relocked, changed);
+    }
+
+    private static void writeSnapshot(DataOutputStream out, ProgressView view) throws IOException {
+        Set<String> namespaces = view.namespaces();
+        out.writeInt(namespaces.size());
+        for (String namespace : namespaces) {
+            Set<String> ids = view.unlockedIds(namespace);
+            out.writeUTF(namespace);
+            out.writeInt(ids.size());
+            for (String id : ids) {
+                out.writeUTF(id);
+                out.writeLong(view.firstUnlockedAt(namespace, id));
+                out.writeLong(view.lastReplayedAt(namespace, id));
+            }
+        }
+    }
+
+    private static PlayerCollectables readSnapshot(DataInputStream in) throws IOException {
+        PlayerCollectables data = new PlayerCollectables();
+        for (int i = in.readInt(); i > 0; i--) {
+            String namespace = in.readUTF();
+            for (int j = in.readInt(); j > 0; j--) {
+                String id = in.readUTF();
+                long first = in.readLong();
+                long replayed = in.readLong();
+                data.markUnlock(namespace, id, first);
+                if (replayed >= 0) data.markReplay(namespace, id, replayed);
+            }
+        }
+        data.markClean();
+        return data;
+    }
+
+    private static void putInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.glance.codex.api.data.journal;
+
+import com.glance.codex.api.data.PlayerCollectables;
+import com.glance.codex.api.data.ProgressDelta;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * One progress mutation as kept in the {@link WriteAheadJournal}
+ * <p>
+ * Every record is idempotent when replayed against storage: unlocks keep the
+ * stored first-unlock time, replays overwrite the last-replay time, and
+ * relocks and clears of missing data are no-ops
+ *
+ * @author Cammy
+ */
+public sealed interface JournalRecord {
+
+    @NotNull UUID playerId();
+
+    record Unlock(@NotNull UUID playerId, @NotNull String namespace, @NotNull String id, long whenMillis)
+        implements JournalRecord {}
+
+    record Replay(@NotNull UUID playerId, @NotNull String namespace, @NotNull String id, long whenMillis)
+        implements JournalRecord {}
+
+    record Relock(@NotNull UUID playerId, @NotNull String namespace, @NotNull String id)
+        implements JournalRecord {}
+
+    record ClearNamespace(@NotNull UUID playerId, @NotNull String namespace) implements JournalRecord {}
+
+    record ClearAll(@NotNull UUID playerId) implements JournalRecord {}
+
+    record Delta(@NotNull UUID playerId, @NotNull ProgressDelta delta) implements JournalRecord {}
+
+    record Snapshot(@NotNull UUID playerId, @NotNull PlayerCollectables data) implements JournalRecord {}
+
+}
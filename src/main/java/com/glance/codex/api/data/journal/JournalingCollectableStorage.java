@@ -0,0 +1,298 @@
+package com.glance.codex.api.data.journal;
+
+import com.glance.codex.api.data.PlayerCollectables;
+import com.glance.codex.api.data.ProgressDelta;
+import com.glance.codex.api.data.index.UnlockReverseIndex;
+import com.glance.codex.api.data.storage.CollectableStorage;
+import com.glance.codex.api.data.storage.PlayerSnapshot;
+import com.glance.codex.api.data.storage.SnapshotPage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link CollectableStorage} decorator that journals every mutation before writing it
+ * <p>
+ * Each write is appended to the {@link WriteAheadJournal} first and only handed
+ * to the delegate once the journal reports it durable. When the delegate
+ * confirms the write, the record is acknowledged so the journal can drop it.
+ * Delegate writes are started on the given executor, never on the journal's
+ * writer thread, so a slow or blocking backend cannot hold up journaling.
+ * Each player's writes reach the delegate one at a time in journal order, the
+ * same order {@link #recover()} replays them in
+ * <p>
+ * A delegate write that fails is retried with backoff until it succeeds or the
+ * journal closes, and later writes for that player wait behind it. The
+ * caller's future completes with the eventual result. Unacknowledged records
+ * hold back journal compaction, so retrying keeps a transient storage error
+ * from growing the journal until restart; {@link #retrying()} reports how many
+ * writes are waiting on one
+ * <p>
+ * Writes that were in flight when the server crashed are re-applied by
+ * {@link #recover()}, which should run once on startup before players join
+ * <p>
+ * Reads pass straight through
+ *
+ * @author Cammy
+ */
+public final class JournalingCollectableStorage implements CollectableStorage {
+
+    private static final Logger LOGGER = Logger.getLogger(JournalingCollectableStorage.class.getName());
+    private static final long BASE_RETRY_MILLIS = 100;
+    private static final long MAX_RETRY_MILLIS = 30_000;
+
+    private final CollectableStorage delegate;
+    private final WriteAheadJournal journal;
+    private final Executor executor;
+
+    /** Completes once the player's latest write has reached storage */
+    private final Map<UUID, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+    private final AtomicInteger retrying = new AtomicInteger();
+
+    /**
+     * @param delegate the storage to write through to
+     * @param journal the journal to append to; owned and closed by the caller
+     * @param executor runs delegate writes once their record is durable, e.g. the storage thread pool
+     */
+    public JournalingCollectableStorage(
+        @NotNull CollectableStorage delegate, @NotNull WriteAheadJournal journal, @NotNull Executor executor
+    ) {
+        this.delegate = delegate;
+        this.journal = journal;
+        this.executor = executor;
+    }
+
+    /**
+     * Re-applies any writes left unconfirmed by a previous run
+     *
+     * @return future with the number of records replayed
+     */
+    public @NotNull CompletableFuture<Integer> recover() {
+        if (!journal.needsRecovery()) return CompletableFuture.completedFuture(0);
+        return journal.recover(this::apply);
+    }
+
+    /**
+     * @return how many delegate writes failed and are being retried
+     */
+    public int retrying() {
+        return retrying.get();
+    }
+
+    @Override
+    public Optional<UnlockReverseIndex> reverseIndex() {
+        return delegate.reverseIndex();
+    }
+
+    @Override
+    public CompletableFuture<Set<String>> loadUnlockedIds(@NotNull UUID playerId, @NotNull String namespace) {
+        return delegate.loadUnlockedIds(playerId, namespace);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> putUnlock(
+        @NotNull UUID playerId, @NotNull String namespace, @NotNull String id, long whenMillis
+    ) {
+        return journaled(playerId, new JournalRecord.Unlock(playerId, namespace, id, whenMillis),
+            () -> delegate.putUnlock(playerId, namespace, id, whenMillis));
+    }
+
+    @Override
+    public CompletableFuture<Void> recordReplay(
+        @NotNull UUID playerId, @NotNull String namespace, @NotNull String id, long whenMillis
+    ) {
+        return journaled(playerId, new JournalRecord.Replay(playerId, namespace, id, whenMillis),
+            () -> delegate.recordReplay(playerId, namespace, id, whenMillis));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteUnlock(
+        @NotNull UUID playerId, @NotNull String namespace, @NotNull String id
+    ) {
+        return journaled(playerId, new JournalRecord.Relock(playerId, namespace, id),
+            () -> delegate.deleteUnlock(playerId, namespace, id));
+    }
+
+    @Override
+    public CompletableFuture<Integer> clearNamespace(@NotNull UUID playerId, @NotNull String namespace) {
+        return journaled(playerId, new JournalRecord.ClearNamespace(playerId, namespace),
+            () -> delegate.clearNamespace(playerId, namespace));
+    }
+
+    @Override
+    public CompletableFuture<Void> clearAll(@NotNull UUID playerId) {
+        return journaled(playerId, new JournalRecord.ClearAll(playerId), () -> delegate.clearAll(playerId));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> isUnlocked(@NotNull UUID playerId, @NotNull String namespace, @NotNull String id) {
+        return delegate.isUnlocked(playerId, namespace, id);
+    }
+
+    @Override
+    public CompletableFuture<Integer> countUnlocked(@NotNull UUID playerId, @NotNull String namespace) {
+        return delegate.countUnlocked(playerId, namespace);
+    }
+
+    @Override
+    public CompletableFuture<PlayerCollectables> loadSnapshot(@NotNull UUID playerId) {
+        return delegate.loadSnapshot(playerId);
+    }
+
+    @Override
+    public CompletableFuture<Void> saveSnapshot(@NotNull UUID playerId, @NotNull PlayerCollectables snapshot) {
+        return journaled(playerId, new JournalRecord.Snapshot(playerId, snapshot),
+            () -> delegate.saveSnapshot(playerId, snapshot));
+    }
+
+    @Override
+    public CompletableFuture<Void> saveDelta(
+        @NotNull UUID playerId, @NotNull ProgressDelta delta, @NotNull PlayerCollectables snapshot
+    ) {
+        if (delta.isEmpty()) return delegate.saveDelta(playerId, delta, snapshot);
+        return journaled(playerId, new JournalRecord.Delta(playerId, delta),
+            () -> delegate.saveDelta(playerId, delta, snapshot));
+    }
+
+    @Override
+    public CompletableFuture<SnapshotPage> scanSnapshots(@Nullable UUID after, int limit) {
+        return delegate.scanSnapshots(after, limit);
+    }
+
+    @Override
+    public CompletableFuture<Void> saveSnapshots(@NotNull List<PlayerSnapshot> batch) {
+        Set<UUID> players = new LinkedHashSet<>();
+        List<JournalRecord> records = new ArrayList<>(batch.size());
+        for (PlayerSnapshot snapshot : batch) {
+            players.add(snapshot.playerId());
+            records.add(new JournalRecord.Snapshot(snapshot.playerId(), snapshot.data()));
+        }
+        return journaled(players, records, () -> delegate.saveSnapshots(batch));
+    }
+
+    private <T> CompletableFuture<T> journaled(UUID playerId, JournalRecord record, Supplier<CompletableFuture<T>> write) {
+        return journaled(Set.of(playerId), List.of(record), write);
+    }
+
+    /**
+     * Appends the records and runs the write once they are durable and every
+     * earlier write for the same players has reached storage
+     */
+    private <T> CompletableFuture<T> journaled(
+        Set<UUID> players, List<JournalRecord> records, Supplier<CompletableFuture<T>> write
+    ) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture<Void> link = result.handle((value, error) -> null);
+        List<CompletableFuture<Long>> sequences = new ArrayList<>(records.size());
+        List<CompletableFuture<?>> ready = new ArrayList<>(records.size() + players.size());
+
+        // Appending and taking each player's place in line happen together, so
+        // live writes reach storage in the same order recovery would replay them
+        synchronized (tails) {
+            for (JournalRecord record : records) {
+                CompletableFuture<Long> sequence = journal.append(record);
+                sequences.add(sequence);
+                ready.add(sequence);
+            }
+            for (UUID playerId : players) {
+                CompletableFuture<Void> previous = tails.put(playerId, link);
+                if (previous != null) ready.add(previous);
+            }
+        }
+        link.thenRun(() -> players.forEach(playerId -> tails.remove(playerId, link)));
+
+        CompletableFuture.allOf(ready.toArray(CompletableFuture[]::new)).whenCompleteAsync((ignored, error) -> {
+            if (error != null) result.completeExceptionally(error);
+            else attempt(sequences, write, result, 1);
+        }, executor);
+        return result;
+    }
+
+    private <T> void attempt(
+        List<CompletableFuture<Long>> sequences, Supplier<CompletableFuture<T>> write,
+        CompletableFuture<T> result, int attempt
+    ) {
+        CompletableFuture<T> call;
+        try {
+            call = write.get();
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        call.whenComplete((value, error) -> {
+            if (error == null) {
+                if (attempt > 1) retrying.decrementAndGet();
+                sequences.forEach(sequence -> journal.acknowledge(sequence.join()));
+                result.complete(value);
+                return;
+            }
+            if (attempt == 1) {
+                retrying.incrementAndGet();
+                LOGGER.log(Level.WARNING, "Journaled write failed; retrying until storage accepts it", error);
+            }
+            if (journal.isClosed()) {
+                // Left unacknowledged for the next recover()
+                retrying.decrementAndGet();
+                result.completeExceptionally(error);
+                return;
+            }
+            long delay = Math.min(MAX_RETRY_MILLIS, BASE_RETRY_MILLIS << Math.min(attempt - 1, 16));
+            CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, executor)
+                .execute(() -> attempt(sequences, write, result, attempt + 1));
+        });
+    }
+
+    private CompletableFuture<?> apply(JournalRecord record) {
+        return switch (record) {
+            case JournalRecord.Unlock r -> delegate.putUnlock(r.playerId(), r.namespace(), r.id(), r.whenMillis());
+            case JournalRecord.Replay r -> delegate.recordReplay(r.playerId(), r.namespace(), r.id(), r.whenMillis());
+            case JournalRecord.Relock r -> delegate.deleteUnlock(r.playerId(), r.namespace(), r.id());
+            case JournalRecord.ClearNamespace r -> delegate.clearNamespace(r.playerId(), r.namespace());
+            case JournalRecord.ClearAll r -> delegate.clearAll(r.playerId());
+            case JournalRecord.Snapshot r -> delegate.saveSnapshot(r.playerId(), r.data());
+            case JournalRecord.Delta r -> applyDelta(r.playerId(), r.delta());
+        };
+    }
+
+    /**
+     * Replays a delta as row-level writes, since the full snapshot it was saved with is not journaled
+     */
+    private CompletableFuture<?> applyDelta(UUID playerId, ProgressDelta delta) {
+        CompletableFuture<?> chain = delta.clearedAll()
+            ? delegate.clearAll(playerId)
+            : CompletableFuture.completedFuture(null);
+        for (String namespace : delta.clearedNamespaces()) {
+            chain = chain.thenCompose(ignored -> delegate.clearNamespace(playerId, namespace));
+        }
+        for (Map.Entry<String, Set<String>> entry : delta.relocked().entrySet()) {
+            for (String id : entry.getValue()) {
+                chain = chain.thenCompose(ignored -> delegate.deleteUnlock(playerId, entry.getKey(), id));
+            }
+        }
+        for (Map.Entry<String, Map<String, ProgressDelta.EntryState>> entry : delta.changed().entrySet()) {
+            String namespace = entry.getKey();
+            for (Map.Entry<String, ProgressDelta.EntryState> change : entry.getValue().entrySet()) {
+                String id = change.getKey();
+                ProgressDelta.EntryState state = change.getValue();
+                if (!state.unlocked()) {
+                    chain = chain.thenCompose(ignored -> delegate.deleteUnlock(playerId, namespace, id));
+                    continue;
+                }
+                chain = chain.thenCompose(ignored -> delegate.putUnlock(playerId, namespace, id, state.firstUnlockedAt()));
+                if (state.lastReplayedAt() >= 0) {
+                    chain = chain.thenCompose(ignored -> delegate.recordReplay(playerId, namespace, id, state.lastReplayedAt()));
+                }
+            }
+        }
+        return chain;
+    }
+
+}
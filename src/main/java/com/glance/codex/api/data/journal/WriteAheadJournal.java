@@ -0,0 +1,466 @@
+package com.glance.codex.api.data.journal;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Local append-only log of progress mutations that have not yet been confirmed by storage
+ * <p>
+ * Records are framed with a CRC32 (see {@link JournalCodec}) and written by a
+ * single writer thread to numbered segment files. Each append completes once
+ * the record is durable according to the {@link DurabilityMode}; with
+ * {@link DurabilityMode#GROUPED} every record queued while the previous fsync
+ * ran is written and fsynced together
+ * <p>
+ * Callers {@link #acknowledge(long) acknowledge} a record once storage has
+ * confirmed the write. The journal tracks a low-water mark, the lowest
+ * sequence not yet acknowledged, and persists it next to the segments.
+ * Segments are only deleted oldest first, once every record in them is below
+ * the mark, and the current segment is truncated once it is the only one and
+ * fully acknowledged
+ * <p>
+ * Segments left behind by a crash are kept aside when the journal opens and
+ * applied by {@link #recover(Function)}, which skips every record below the
+ * persisted mark. Acknowledged records above it are replayed too: they may
+ * supersede an unconfirmed earlier record for the same entry, so the kept
+ * suffix has to be applied in order
+ *
+ * @see JournalingCollectableStorage
+ *
+ * @author Cammy
+ */
+public final class WriteAheadJournal implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(WriteAheadJournal.class.getName());
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".wal";
+    private static final String LOW_WATER = "journal.lwm";
+    private static final int MAX_GROUP = 512;
+
+    private final Path directory;
+    private final DurabilityMode mode;
+    private final long syncIntervalNanos;
+    private final long segmentBytes;
+    private final List<Path> recovered;
+    private final long recoveredLowWater;
+
+    private final Object appendLock = new Object();
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final NavigableSet<Long> unacknowledged = new ConcurrentSkipListSet<>();
+    private final NavigableMap<Long, Segment> segments = new TreeMap<>();
+    private final Thread writer;
+
+    private long nextSequence;
+    private boolean closed;
+
+    private Segment current;
+    private boolean dirty;
+    private long lastSyncNanos = System.nanoTime();
+    private long persistedLowWater = -1;
+    private long lastMarkNanos = System.nanoTime();
+
+    private record Pending(long sequence, byte[] frame, CompletableFuture<Long> done) {}
+
+    /** Queued by {@link #close()} after the last append */
+    private static final Pending CLOSE = new Pending(-1, new byte[0], new CompletableFuture<>());
+
+    private static final class Segment {
+        private final Path path;
+        private final FileChannel channel;
+        private long size;
+        private long lastSequence = -1;
+
+        private Segment(Path path) throws IOException {
+            this.path = path;
+            this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+    }
+
+    /**
+     * Opens a journal in a directory, setting aside any segments from a previous run
+     *
+     * @param directory where segment files live; created if missing
+     * @param mode when appends are acknowledged
+     * @param syncInterval how often {@link DurabilityMode#PERIODIC} fsyncs, and how often
+     *                     acknowledged segments are dropped
+     * @param segmentBytes size after which the writer rolls to a new segment
+     * @throws IOException if the directory or first segment cannot be created
+     */
+    public WriteAheadJournal(
+        @NotNull Path directory,
+        @NotNull DurabilityMode mode,
+        @NotNull Duration syncInterval,
+        long segmentBytes
+    ) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.mode = mode;
+        this.syncIntervalNanos = Math.max(1, syncInterval.toNanos());
+        this.segmentBytes = Math.max(4096, segmentBytes);
+        this.recovered = listSegments(directory);
+        this.recoveredLowWater = readLowWater(directory.resolve(LOW_WATER));
+
+        // Sequences continue after the previous run's, so its persisted mark
+        // never covers records written by this one
+        long highest = recoveredLowWater - 1;
+        for (Path path : recovered) highest = Math.max(highest, firstSequence(path));
+        if (!recovered.isEmpty()) {
+            highest = Math.max(highest, lastSequence(recovered.get(recovered.size() - 1)));
+        }
+        this.nextSequence = highest + 1;
+        this.current = openSegment(nextSequence);
+
+        this.writer = new Thread(this::runWriter, "Codex-Journal");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Opens a journal with a 100ms periodic sync interval and 8 MiB segments
+     *
+     * @see #WriteAheadJournal(Path, DurabilityMode, Duration, long)
+     */
+    public static @NotNull WriteAheadJournal open(@NotNull Path directory, @NotNull DurabilityMode mode)
+            throws IOException {
+        return new WriteAheadJournal(directory, mode, Duration.ofMillis(100), 8L * 1024 * 1024);
+    }
+
+    /**
+     * Appends a record
+     *
+     * @param record the mutation to journal
+     * @return future completed with the record's sequence once durable per the {@link DurabilityMode}
+     */
+    public @NotNull CompletableFuture<Long> append(@NotNull JournalRecord record) {
+        CompletableFuture<Long> done = new CompletableFuture<>();
+        synchronized (appendLock) {
+            if (closed) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Journal is closed"));
+            }
+            long sequence = nextSequence++;
+            unacknowledged.add(sequence);
+            queue.add(new Pending(sequence, JournalCodec.encode(sequence, record), done));
+        }
+        return done;
+    }
+
+    /**
+     * Marks a record as confirmed by storage
+     * <p>
+     * The writer drops segments that fall below the new low-water mark on its
+     * next pass
+     *
+     * @param sequence the sequence returned by {@link #append(JournalRecord)}
+     */
+    public void acknowledge(long sequence) {
+        unacknowledged.remove(sequence);
+    }
+
+    /**
+     * @return true if segments from a previous run are waiting for {@link #recover(Function)}
+     */
+    public boolean needsRecovery() {
+        return !recovered.isEmpty();
+    }
+
+    /**
+     * Replays the records left by a previous run, in order, then deletes those segments
+     * <p>
+     * Records below the previous run's persisted low-water mark were confirmed
+     * and are skipped. Each record is applied only after the previous one completes. If applying
+     * fails the segments are kept so the next start can try again. Reading stops at
+     * the first torn or corrupt frame of a segment, which can only be the tail
+     * of a write interrupted by the crash
+     *
+     * @param apply applies one record to storage
+     * @return future with the number of records applied
+     */
+    public @NotNull CompletableFuture<Integer> recover(
+        @NotNull Function<JournalRecord, CompletableFuture<?>> apply
+    ) {
+        List<JournalRecord> records = new ArrayList<>();
+        try {
+            for (Path path : recovered) {
+                readSegment(path, recoveredLowWater, records);
+            }
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<?> chain = CompletableFuture.completedFuture(null);
+        for (JournalRecord record : records) {
+            chain = chain.thenCompose(ignored -> apply.apply(record));
+        }
+        return chain.thenApply(ignored -> {
+            for (Path path : recovered) {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            recovered.clear();
+            return records.size();
+        });
+    }
+
+    /**
+     * @return true once the journal has been closed or its writer has stopped
+     */
+    public boolean isClosed() {
+        synchronized (appendLock) {
+            return closed;
+        }
+    }
+
+    /**
+     * @return records appended but not yet acknowledged
+     */
+    public int outstanding() {
+        return unacknowledged.size();
+    }
+
+    /**
+     * @return the configured durability mode
+     */
+    public @NotNull DurabilityMode mode() {
+        return mode;
+    }
+
+    /**
+     * Stops accepting appends, writes and fsyncs everything queued, then closes the files
+     * <p>
+     * Unacknowledged records stay on disk for the next {@link #recover(Function)}
+     */
+    @Override
+    public void close() {
+        synchronized (appendLock) {
+            if (closed) return;
+            closed = true;
+            queue.add(CLOSE);
+        }
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runWriter() {
+        List<Pending> group = new ArrayList<>(MAX_GROUP);
+        boolean stopping = false;
+        try {
+            while (!stopping) {
+                Pending first = queue.poll(syncIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    group.add(first);
+                    queue.drainTo(group, MAX_GROUP - 1);
+                    if (group.get(group.size() - 1) == CLOSE) {
+                        group.remove(group.size() - 1);
+                        stopping = true;
+                    }
+                    writeGroup(group);
+                    group.clear();
+                }
+                if (mode == DurabilityMode.PERIODIC && dirty
+                        && System.nanoTime() - lastSyncNanos >= syncIntervalNanos) {
+                    sync();
+                }
+                compact(false);
+            }
+            if (dirty) sync();
+            compact(true);
+        } catch (IOException | InterruptedException e) {
+            LOGGER.log(Level.SEVERE, "Journal writer stopped; pending writes are not journaled", e);
+            failAll(group, e);
+        } finally {
+            for (Segment segment : segments.values()) {
+                try {
+                    segment.channel.close();
+                } catch (IOException ignored) {
+                }
+            }
+            if (current.size == 0) delete(segments.lastKey(), current);
+        }
+    }
+
+    /**
+     * @return the lowest sequence not yet acknowledged, or the next sequence if none
+     */
+    private long lowWater() {
+        Long lowest = unacknowledged.ceiling(Long.MIN_VALUE);
+        if (lowest != null) return lowest;
+        synchronized (appendLock) {
+            lowest = unacknowledged.ceiling(Long.MIN_VALUE);
+            return lowest != null ? lowest : nextSequence;
+        }
+    }
+
+    private void writeGroup(List<Pending> group) throws IOException {
+        for (Pending pending : group) {
+            if (current.size >= segmentBytes) roll(pending.sequence());
+            ByteBuffer buffer = ByteBuffer.wrap(pending.frame());
+            while (buffer.hasRemaining()) current.channel.write(buffer);
+            current.size += pending.frame().length;
+            current.lastSequence = pending.sequence();
+            dirty = true;
+
+            if (mode == DurabilityMode.PER_OP) {
+                sync();
+                pending.done().complete(pending.sequence());
+            }
+        }
+        if (mode == DurabilityMode.GROUPED) sync();
+        if (mode != DurabilityMode.PER_OP) {
+            for (Pending pending : group) pending.done().complete(pending.sequence());
+        }
+    }
+
+    /**
+     * Persists the low-water mark at most once per sync interval, drops the
+     * oldest segments whose records are all below it, and empties the current
+     * segment once it is the only one left and fully acknowledged
+     * <p>
+     * A persisted mark that lags behind is safe: recovery then replays a longer
+     * suffix of the log, still in order
+     */
+    private void compact(boolean closing) throws IOException {
+        long lowWater = lowWater();
+        long now = System.nanoTime();
+        // Until recover() finishes, the previous run's mark still guards its segments
+        if (recovered.isEmpty() && lowWater != persistedLowWater
+                && (closing || now - lastMarkNanos >= syncIntervalNanos)) {
+            try {
+                writeLowWater(lowWater);
+                persistedLowWater = lowWater;
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Could not persist journal low-water mark", e);
+            }
+            lastMarkNanos = now;
+        }
+
+        while (segments.size() > 1) {
+            Map.Entry<Long, Segment> oldest = segments.firstEntry();
+            Segment segment = oldest.getValue();
+            if (segment.lastSequence >= lowWater) break;
+            delete(oldest.getKey(), segment);
+        }
+
+        if (segments.size() == 1 && current.size > 0 && current.lastSequence < lowWater) {
+            current.channel.truncate(0);
+            current.channel.force(false);
+            current.size = 0;
+            dirty = false;
+        }
+    }
+
+    private void roll(long firstSequence) throws IOException {
+        sync();
+        Segment previous = current;
+        current = openSegment(firstSequence);
+        previous.channel.close();
+    }
+
+    private void sync() throws IOException {
+        current.channel.force(false);
+        dirty = false;
+        lastSyncNanos = System.nanoTime();
+    }
+
+    private Segment openSegment(long firstSequence) throws IOException {
+        Segment segment = new Segment(directory.resolve(PREFIX + String.format("%020d", firstSequence) + SUFFIX));
+        segments.put(firstSequence, segment);
+        return segment;
+    }
+
+    private void delete(long firstSequence, Segment segment) {
+        if (!segments.remove(firstSequence, segment)) return;
+        try {
+            Files.deleteIfExists(segment.path);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not delete journal segment " + segment.path, e);
+        }
+    }
+
+    private void failAll(List<Pending> group, Throwable error) {
+        synchronized (appendLock) {
+            closed = true;
+        }
+        for (Pending pending : group) pending.done().completeExceptionally(error);
+        Pending pending;
+        while ((pending = queue.poll()) != null) pending.done().completeExceptionally(error);
+    }
+
+    private void writeLowWater(long lowWater) throws IOException {
+        Path target = directory.resolve(LOW_WATER);
+        Path temp = directory.resolve(LOW_WATER + ".tmp");
+        Files.write(temp, ByteBuffer.allocate(Long.BYTES).putLong(lowWater).array());
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static long readLowWater(Path path) throws IOException {
+        if (!Files.exists(path)) return 0;
+        byte[] bytes = Files.readAllBytes(path);
+        // A missing or damaged mark only means replaying more than needed
+        return bytes.length == Long.BYTES ? Math.max(0, ByteBuffer.wrap(bytes).getLong()) : 0;
+    }
+
+    private static void readSegment(Path path, long lowWater, List<JournalRecord> into) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            JournalCodec.Entry entry;
+            while ((entry = JournalCodec.read(in)) != null) {
+                if (entry.sequence() >= lowWater) into.add(entry.record());
+            }
+        }
+    }
+
+    private static long lastSequence(Path path) throws IOException {
+        long last = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            JournalCodec.Entry entry;
+            while ((entry = JournalCodec.read(in)) != null) {
+                last = entry.sequence();
+            }
+        }
+        return last;
+    }
+
+    private static List<Path> listSegments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = new ArrayList<>(files
+                .filter(path -> {
+                    String name = path.getFileName().toString();
+                    return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                })
+                .sorted(Comparator.comparingLong(WriteAheadJournal::firstSequence))
+                .toList());
+            return Collections.synchronizedList(segments);
+        }
+    }
+
+    private static long firstSequence(@Nullable Path path) {
+        if (path == null) return 0;
+        String name = path.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.glance.codex.api.data.prefetch;
+
+import com.glance.codex.api.data.PlayerCollectables;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+
+/**
+ * Wires a {@link SnapshotPrefetcher} into the login sequence
+ * <ul>
+ *   <li>{@code AsyncPlayerPreLoginEvent} (LOWEST) - start loading the snapshot</li>
+ *   <li>{@code AsyncPlayerPreLoginEvent} (MONITOR) - discard if denied, otherwise wait a bounded time</li>
+ *   <li>{@code PlayerLoginEvent} (MONITOR) - discard if denied</li>
+ *   <li>{@code PlayerJoinEvent} (LOWEST) - hand the load to the player cache</li>
+ * </ul>
+ * Starting at LOWEST lets the load overlap with other plugins' pre-login checks
+ *
+ * @author Cammy
+ */
+public final class PrefetchListener implements Listener {
+
+    private static final long SWEEP_PERIOD_TICKS = 20L * 5;
+
+    private final SnapshotPrefetcher prefetcher;
+    private final BiConsumer<Player, CompletableFuture<PlayerCollectables>> handoff;
+    private @Nullable BukkitTask sweepTask;
+
+    /**
+     * @param prefetcher the holding area
+     * @param handoff receives each joining player's pending load, e.g. to seed the player cache
+     */
+    public PrefetchListener(
+        @NotNull SnapshotPrefetcher prefetcher,
+        @NotNull BiConsumer<Player, CompletableFuture<PlayerCollectables>> handoff
+    ) {
+        this.prefetcher = prefetcher;
+        this.handoff = handoff;
+    }
+
+    /**
+     * Registers this listener and starts the periodic sweep of unclaimed loads
+     *
+     * @param plugin the owning plugin
+     */
+    public void register(@NotNull Plugin plugin) {
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+        sweepTask = Bukkit.getScheduler().runTaskTimerAsynchronously(
+            plugin, prefetcher::sweep, SWEEP_PERIOD_TICKS, SWEEP_PERIOD_TICKS);
+    }
+
+    /**
+     * Stops the sweep and discards anything still held
+     * <p>
+     * Event handlers are unregistered with the plugin as usual
+     */
+    public void shutdown() {
+        if (sweepTask != null) {
+            sweepTask.cancel();
+            sweepTask = null;
+        }
+        prefetcher.clear();
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPreLoginStart(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) return;
+        prefetcher.begin(event.getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLoginResult(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            prefetcher.discard(event.getUniqueId());
+            return;
+        }
+        prefetcher.await(event.getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLogin(PlayerLoginEvent event) {
+        if (event.getResult() != PlayerLoginEvent.Result.ALLOWED) {
+            prefetcher.discard(event.getPlayer().getUniqueId());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        prefetcher.claim(player.getUniqueId()).ifPresent(load -> handoff.accept(player, load));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        prefetcher.discard(event.getPlayer().getUniqueId());
+    }
+
+}
@@ -0,0 +1,169 @@
+package com.glance.codex.api.data.prefetch;
+
+import com.glance.codex.api.data.PlayerCollectables;
+import com.glance.codex.api.data.storage.CollectableStorage;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+/**
+ * Short-lived holding area for snapshots loaded ahead of a player joining
+ * <p>
+ * Loading starts during pre-login via {@link #begin(UUID)}. The pre-login
+ * thread may then {@link #await(UUID) wait} a bounded amount of time so most
+ * players join with their progress already in memory, without a slow database
+ * ever delaying login by more than that bound
+ * <p>
+ * On join the pending load is {@link #claim(UUID) claimed} and handed to the
+ * player cache. Loads for players who never join are {@link #discard(UUID) discarded}
+ * on failed logins, or dropped by {@link #sweep()} once older than the hold time
+ *
+ * @see PrefetchListener
+ *
+ * @author Cammy
+ */
+public final class SnapshotPrefetcher {
+
+    private final CollectableStorage storage;
+    private final long maxLoginWaitNanos;
+    private final long holdNanos;
+    private final Map<UUID, Pending> pending = new ConcurrentHashMap<>();
+
+    private record Pending(CompletableFuture<PlayerCollectables> future, long createdAt) {}
+
+    /**
+     * @param storage the storage snapshots are loaded from
+     * @param maxLoginWait upper bound on how long {@link #await(UUID)} blocks pre-login
+     * @param holdTime how long an unclaimed load is kept before being discarded
+     */
+    public SnapshotPrefetcher(
+        @NotNull CollectableStorage storage,
+        @NotNull Duration maxLoginWait,
+        @NotNull Duration holdTime
+    ) {
+        this.storage = storage;
+        this.maxLoginWaitNanos = maxLoginWait.toNanos();
+        this.holdNanos = holdTime.toNanos();
+    }
+
+    /**
+     * Starts loading a player's snapshot, unless a load is already pending
+     * <p>
+     * A load that fails or is cancelled is dropped straight away, so a retried
+     * login starts a fresh one
+     *
+     * @param playerId the player about to log in
+     * @return the pending load
+     */
+    public @NotNull CompletableFuture<PlayerCollectables> begin(@NotNull UUID playerId) {
+        // Only a placeholder is installed under the bin lock, the storage call
+        // starts outside it so blocking backends cannot stall other logins
+        CompletableFuture<PlayerCollectables> placeholder = new CompletableFuture<>();
+        Pending entry = pending.computeIfAbsent(playerId, id -> new Pending(placeholder, System.nanoTime()));
+        if (entry.future() != placeholder) return entry.future();
+
+        placeholder.whenComplete((snapshot, error) -> {
+            if (error != null) pending.remove(playerId, entry);
+        });
+        try {
+            storage.loadSnapshot(playerId).whenComplete((snapshot, error) -> {
+                if (error != null) placeholder.completeExceptionally(error);
+                else placeholder.complete(snapshot);
+            });
+        } catch (RuntimeException e) {
+            placeholder.completeExceptionally(e);
+        }
+        return placeholder;
+    }
+
+    /**
+     * Blocks the calling thread until the player's load completes or the
+     * configured maximum wait elapses, whichever comes first
+     * <p>
+     * Only call this from an asynchronous login thread. A load that is still
+     * running afterwards stays pending and can be claimed on join as normal
+     *
+     * @param playerId the player logging in
+     * @return true if the snapshot is ready
+     */
+    public boolean await(@NotNull UUID playerId) {
+        Pending entry = pending.get(playerId);
+        if (entry == null) return false;
+
+        long remaining = maxLoginWaitNanos - (System.nanoTime() - entry.createdAt());
+        if (remaining <= 0) return entry.future().isDone();
+        try {
+            entry.future().get(remaining, TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException | ExecutionException | CancellationException e) {
+            return entry.future().isDone();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Removes and returns the pending load for a player who has joined
+     *
+     * @param playerId the joining player
+     * @return the load, or empty if none was started or it was already discarded
+     */
+    public @NotNull Optional<CompletableFuture<PlayerCollectables>> claim(@NotNull UUID playerId) {
+        Pending entry = pending.remove(playerId);
+        return entry == null ? Optional.empty() : Optional.of(entry.future());
+    }
+
+    /**
+     * Drops the pending load for a player who will not join, cancelling it
+     * if it has not completed
+     * <p>
+     * Only the prefetcher's own future is cancelled, never the storage call
+     * behind it
+     *
+     * @param playerId the player whose login failed
+     */
+    public void discard(@NotNull UUID playerId) {
+        Pending entry = pending.remove(playerId);
+        if (entry != null) {
+            entry.future().cancel(false);
+        }
+    }
+
+    /**
+     * Discards every pending load older than the hold time
+     *
+     * @return how many loads were discarded
+     */
+    public int sweep() {
+        long now = System.nanoTime();
+        int removed = 0;
+        for (Map.Entry<UUID, Pending> entry : pending.entrySet()) {
+            if (now - entry.getValue().createdAt() >= holdNanos
+                    && pending.remove(entry.getKey(), entry.getValue())) {
+                entry.getValue().future().cancel(false);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * @return how many loads are currently held
+     */
+    public int size() {
+        return pending.size();
+    }
+
+    /**
+     * Discards every pending load
+     */
+    public void clear() {
+        pending.keySet().forEach(this::discard);
+    }
+
+}
@@ -1,8 +1,13 @@
 package com.glance.codex.api.data.storage;
 
 import com.glance.codex.api.data.PlayerCollectables;
+import com.glance.codex.api.data.ProgressDelta;
+import com.glance.codex.api.data.index.UnlockReverseIndex;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -88,6 +93,19 @@ public interface CollectableStorage {
     CompletableFuture<Boolean> isUnlocked(
             @NotNull UUID playerId, @NotNull String namespace, @NotNull String id);
 
+    /**
+     * Counts the unlocked IDs for a player in a namespace
+     * <p>
+     * Defaults to loading the ID set; backends with a cheaper count query should override this
+     *
+     * @param playerId UUID of the player
+     * @param namespace repository namespace
+     * @return future with the number of unlocked entries
+     */
+    default CompletableFuture<Integer> countUnlocked(@NotNull UUID playerId, @NotNull String namespace) {
+        return loadUnlockedIds(playerId, namespace).thenApply(Set::size);
+    }
+
     /**
      * Loads a full snapshot of all collectables data for the player
      */
@@ -104,4 +122,65 @@ public interface CollectableStorage {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Saves only the changes made since the player's last save
+     * <p>
+     * Defaults to a full {@link #saveSnapshot}; backends that can apply
+     * row-level upserts and deletes should override this so save I/O is
+     * proportional to what changed
+     *
+     * @param playerId UUID of the player
+     * @param delta the changes, from {@link PlayerCollectables#drainDelta()}
+     * @param snapshot the player's full current progress, for the fallback
+     * @return future that completes when the changes are saved
+     */
+    default CompletableFuture<Void> saveDelta(
+            @NotNull UUID playerId, @NotNull ProgressDelta delta, @NotNull PlayerCollectables snapshot
+    ) {
+        if (delta.isEmpty()) return CompletableFuture.completedFuture(null);
+        return saveSnapshot(playerId, snapshot);
+    }
+
+    /**
+     * Reads one chunk of stored snapshots, ordered by player ID
+     * <p>
+     * Used for streaming bulk export; implementations should read only
+     * {@code limit} players per call rather than materializing everything
+     *
+     * @param after exclusive cursor; null to start from the first player
+     * @param limit maximum snapshots to return
+     * @return future with the chunk and the cursor for the next call
+     */
+    default CompletableFuture<SnapshotPage> scanSnapshots(@Nullable UUID after, int limit) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Saves a batch of full snapshots
+     * <p>
+     * Defaults to one {@link #saveSnapshot} per player; backends that support
+     * batched writes should override this
+     *
+     * @param batch the snapshots to write
+     * @return future that completes when every snapshot is saved
+     */
+    default CompletableFuture<Void> saveSnapshots(@NotNull List<PlayerSnapshot> batch) {
+        CompletableFuture<?>[] writes = new CompletableFuture<?>[batch.size()];
+        for (int i = 0; i < writes.length; i++) {
+            PlayerSnapshot snapshot = batch.get(i);
+            writes[i] = saveSnapshot(snapshot.playerId(), snapshot.data());
+        }
+        return CompletableFuture.allOf(writes);
+    }
+
+    /**
+     * Exposes the reverse unlock index maintained alongside this storage, if any
+     *
+     * @return the index, or empty if this storage does not maintain one
+     * @see com.glance.codex.api.data.index.IndexingCollectableStorage
+     */
+    default Optional<UnlockReverseIndex> reverseIndex() {
+        return Optional.empty();
+    }
+
 }
@@ -0,0 +1,195 @@
+package com.glance.codex.api.data.storage;
+
+import com.glance.codex.api.data.PlayerCollectables;
+import com.glance.codex.api.data.ProgressDelta;
+import com.glance.codex.api.data.index.UnlockReverseIndex;
+import com.glance.codex.api.metrics.CodexMetricNames;
+import com.glance.codex.api.metrics.CodexMetrics;
+import com.glance.codex.api.metrics.Counter;
+import com.glance.codex.api.metrics.Timer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * {@link CollectableStorage} decorator that records per-operation latency,
+ * error counts and in-flight futures to {@link CodexMetrics}
+ * <p>
+ * Instruments are resolved once at construction. With {@link CodexMetrics#noop()}
+ * the delegate is returned unwrapped by {@link #wrap}
+ *
+ * @author Cammy
+ */
+public final class MeteredCollectableStorage implements CollectableStorage {
+
+    private final CollectableStorage delegate;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Op loadUnlockedIds;
+    private final Op putUnlock;
+    private final Op recordReplay;
+    private final Op deleteUnlock;
+    private final Op clearNamespace;
+    private final Op clearAll;
+    private final Op isUnlocked;
+    private final Op countUnlocked;
+    private final Op loadSnapshot;
+    private final Op saveSnapshot;
+    private final Op saveDelta;
+    private final Op scanSnapshots;
+    private final Op saveSnapshots;
+
+    private MeteredCollectableStorage(CollectableStorage delegate, CodexMetrics metrics) {
+        this.delegate = delegate;
+        this.loadUnlockedIds = new Op(metrics, "loadUnlockedIds");
+        this.putUnlock = new Op(metrics, "putUnlock");
+        this.recordReplay = new Op(metrics, "recordReplay");
+        this.deleteUnlock = new Op(metrics, "deleteUnlock");
+        this.clearNamespace = new Op(metrics, "clearNamespace");
+        this.clearAll = new Op(metrics, "clearAll");
+        this.isUnlocked = new Op(metrics, "isUnlocked");
+        this.countUnlocked = new Op(metrics, "countUnlocked");
+        this.loadSnapshot = new Op(metrics, "loadSnapshot");
+        this.saveSnapshot = new Op(metrics, "saveSnapshot");
+        this.saveDelta = new Op(metrics, "saveDelta");
+        this.scanSnapshots = new Op(metrics, "scanSnapshots");
+        this.saveSnapshots = new Op(metrics, "saveSnapshots");
+        metrics.gauge(CodexMetricNames.STORAGE_IN_FLIGHT, inFlight::get);
+    }
+
+    /**
+     * Wraps a storage with metrics, or returns it unchanged if metrics are disabled
+     *
+     * @param delegate the storage to observe
+     * @param metrics the metrics to record into
+     * @return the metered storage
+     */
+    public static @NotNull CollectableStorage wrap(@NotNull CollectableStorage delegate, @NotNull CodexMetrics metrics) {
+        if (!metrics.isEnabled()) return delegate;
+        return new MeteredCollectableStorage(delegate, metrics);
+    }
+
+    /**
+     * @return the number of storage futures that have not yet completed
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private <T> CompletableFuture<T> observe(Op op, Supplier<CompletableFuture<T>> call) {
+        long start = System.nanoTime();
+        inFlight.incrementAndGet();
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            inFlight.decrementAndGet();
+            op.errors.increment();
+            throw e;
+        }
+        return future.whenComplete((r, t) -> {
+            inFlight.decrementAndGet();
+            op.latency.record(System.nanoTime() - start);
+            if (t != null) op.errors.increment();
+        });
+    }
+
+    @Override
+    public CompletableFuture<Set<String>> loadUnlockedIds(@NotNull UUID playerId, @NotNull String namespace) {
+        return observe(loadUnlockedIds, () -> delegate.loadUnlockedIds(playerId, namespace));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> putUnlock(
+            @NotNull UUID playerId, @NotNull String namespace,
+            @NotNull String id, long whenMillis
+    ) {
+        return observe(putUnlock, () -> delegate.putUnlock(playerId, namespace, id, whenMillis));
+    }
+
+    @Override
+    public CompletableFuture<Void> recordReplay(
+            @NotNull UUID playerId, @NotNull String namespace,
+            @NotNull String id, long whenMillis
+    ) {
+        return observe(recordReplay, () -> delegate.recordReplay(playerId, namespace, id, whenMillis));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteUnlock(
+            @NotNull UUID playerId, @NotNull String namespace, @NotNull String id
+    ) {
+        return observe(deleteUnlock, () -> delegate.deleteUnlock(playerId, namespace, id));
+    }
+
+    @Override
+    public CompletableFuture<Integer> clearNamespace(@NotNull UUID playerId, @NotNull String namespace) {
+        return observe(clearNamespace, () -> delegate.clearNamespace(playerId, namespace));
+    }
+
+    @Override
+    public CompletableFuture<Void> clearAll(@NotNull UUID playerId) {
+        return observe(clearAll, () -> delegate.clearAll(playerId));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> isUnlocked(
+            @NotNull UUID playerId, @NotNull String namespace, @NotNull String id) {
+        return observe(isUnlocked, () -> delegate.isUnlocked(playerId, namespace, id));
+    }
+
+    @Override
+    public CompletableFuture<Integer> countUnlocked(@NotNull UUID playerId, @NotNull String namespace) {
+        return observe(countUnlocked, () -> delegate.countUnlocked(playerId, namespace));
+    }
+
+    @Override
+    public CompletableFuture<PlayerCollectables> loadSnapshot(@NotNull UUID playerId) {
+        return observe(loadSnapshot, () -> delegate.loadSnapshot(playerId));
+    }
+
+    @Override
+    public CompletableFuture<Void> saveSnapshot(@NotNull UUID playerId, @NotNull PlayerCollectables snapshot) {
+        return observe(saveSnapshot, () -> delegate.saveSnapshot(playerId, snapshot));
+    }
+
+    @Override
+    public CompletableFuture<Void> saveDelta(
+        @NotNull UUID playerId, @NotNull ProgressDelta delta, @NotNull PlayerCollectables snapshot
+    ) {
+        return observe(saveDelta, () -> delegate.saveDelta(playerId, delta, snapshot));
+    }
+
+    @Override
+    public CompletableFuture<SnapshotPage> scanSnapshots(@Nullable UUID after, int limit) {
+        return observe(scanSnapshots, () -> delegate.scanSnapshots(after, limit));
+    }
+
+    @Override
+    public CompletableFuture<Void> saveSnapshots(@NotNull List<PlayerSnapshot> batch) {
+        return observe(saveSnapshots, () -> delegate.saveSnapshots(batch));
+    }
+
+    @Override
+    public Optional<UnlockReverseIndex> reverseIndex() {
+        return delegate.reverseIndex();
+    }
+
+    private static final class Op {
+        private final Timer latency;
+        private final Counter errors;
+
+        private Op(CodexMetrics metrics, String name) {
+            this.latency = metrics.timer(CodexMetricNames.STORAGE_LATENCY, "op", name);
+            this.errors = metrics.counter(CodexMetricNames.STORAGE_ERRORS, "op", name);
+        }
+    }
+
+}
@@ -0,0 +1,154 @@
+package com.glance.codex.api.data.storage;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-TTL read-through cache for offline player queries
+ * <p>
+ * Meant for admin tooling and dashboards that repeatedly look at players who
+ * are not online. Unlocked ID sets are cached per (player, namespace) for a
+ * short time; concurrent lookups share a single storage call. Cached sets are
+ * immutable copies, so callers cannot change what others see.
+ * Single-entry and count lookups use a cached set when one is fresh, and
+ * otherwise go straight to the targeted {@link CollectableStorage#isUnlocked}
+ * and {@link CollectableStorage#countUnlocked} queries without caching
+ * <p>
+ * Online players should be served from the online cache instead; call
+ * {@link #invalidate(UUID)} when a player joins or their progress changes
+ *
+ * @author Cammy
+ */
+public final class OfflineProgressCache {
+
+    private final CollectableStorage storage;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    private record Key(UUID playerId, String namespace) {}
+
+    private record Entry(CompletableFuture<Set<String>> ids, long expiresAt) {
+        boolean fresh(long now) {
+            return now - expiresAt < 0;
+        }
+    }
+
+    /**
+     * @param storage the storage to read through to
+     * @param ttl how long a loaded ID set stays valid
+     * @param maxEntries soft upper bound on cached (player, namespace) pairs; once
+     *                   exceeded, entries are dropped down to three quarters of it
+     */
+    public OfflineProgressCache(@NotNull CollectableStorage storage, @NotNull Duration ttl, int maxEntries) {
+        this.storage = storage;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    /**
+     * @return the cached or freshly loaded set of unlocked IDs
+     */
+    public @NotNull CompletableFuture<Set<String>> unlockedIds(@NotNull UUID playerId, @NotNull String namespace) {
+        long now = System.nanoTime();
+        Key key = new Key(playerId, namespace);
+
+        Entry entry = entries.get(key);
+        if (entry != null && entry.fresh(now)) return entry.ids();
+
+        // Only a placeholder is installed under the bin lock, the storage call
+        // starts outside it so blocking backends cannot stall other keys
+        CompletableFuture<Set<String>> placeholder = new CompletableFuture<>();
+        Entry loaded = entries.compute(key, (k, existing) -> {
+            if (existing != null && existing.fresh(now)) return existing;
+            return new Entry(placeholder, now + ttlNanos);
+        });
+
+        if (loaded.ids() == placeholder) {
+            placeholder.whenComplete((ids, error) -> {
+                if (error != null) entries.remove(key, loaded);
+            });
+            try {
+                storage.loadUnlockedIds(playerId, namespace).whenComplete((ids, error) -> {
+                    if (error != null) placeholder.completeExceptionally(error);
+                    else placeholder.complete(ids == null ? Set.of() : Set.copyOf(ids));
+                });
+            } catch (RuntimeException e) {
+                placeholder.completeExceptionally(e);
+            }
+        }
+
+        if (entries.size() > maxEntries) evict(now, key);
+        return loaded.ids();
+    }
+
+    /**
+     * @return whether the entry is unlocked, from a fresh cached set if available
+     */
+    public @NotNull CompletableFuture<Boolean> isUnlocked(
+        @NotNull UUID playerId, @NotNull String namespace, @NotNull String id
+    ) {
+        Set<String> cached = cachedIds(playerId, namespace);
+        if (cached != null) return CompletableFuture.completedFuture(cached.contains(id));
+        return storage.isUnlocked(playerId, namespace, id);
+    }
+
+    /**
+     * @return the number of unlocked entries, from a fresh cached set if available
+     */
+    public @NotNull CompletableFuture<Integer> countUnlocked(@NotNull UUID playerId, @NotNull String namespace) {
+        Set<String> cached = cachedIds(playerId, namespace);
+        if (cached != null) return CompletableFuture.completedFuture(cached.size());
+        return storage.countUnlocked(playerId, namespace);
+    }
+
+    /**
+     * Drops every cached namespace for a player
+     *
+     * @param playerId the player who joined or whose progress changed
+     */
+    public void invalidate(@NotNull UUID playerId) {
+        entries.keySet().removeIf(key -> key.playerId().equals(playerId));
+    }
+
+    /**
+     * Drops a single cached namespace for a player
+     */
+    public void invalidate(@NotNull UUID playerId, @NotNull String namespace) {
+        entries.remove(new Key(playerId, namespace));
+    }
+
+    /**
+     * Drops everything
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    private Set<String> cachedIds(UUID playerId, String namespace) {
+        Entry entry = entries.get(new Key(playerId, namespace));
+        if (entry == null || !entry.fresh(System.nanoTime())) return null;
+        CompletableFuture<Set<String>> ids = entry.ids();
+        return ids.isDone() && !ids.isCompletedExceptionally() ? ids.join() : null;
+    }
+
+    /**
+     * Drops stale entries, then arbitrary ones, down to a low mark so the scan
+     * runs once per batch of misses rather than on every one
+     */
+    private void evict(long now, Key keep) {
+        int target = maxEntries - Math.max(1, maxEntries / 4);
+        entries.values().removeIf(entry -> !entry.fresh(now));
+        var it = entries.keySet().iterator();
+        while (entries.size() > target && it.hasNext()) {
+            if (!it.next().equals(keep)) it.remove();
+        }
+    }
+
+}
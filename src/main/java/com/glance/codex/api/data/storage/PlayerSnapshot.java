@@ -0,0 +1,15 @@
+package com.glance.codex.api.data.storage;
+
+import com.glance.codex.api.data.PlayerCollectables;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * A player's full collectables snapshot paired with their ID
+ *
+ * @param playerId UUID of the player
+ * @param data the player's progress
+ */
+public record PlayerSnapshot(@NotNull UUID playerId, @NotNull PlayerCollectables data) {
+}
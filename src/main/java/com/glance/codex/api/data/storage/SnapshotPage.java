@@ -0,0 +1,28 @@
+package com.glance.codex.api.data.storage;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One chunk of a cursor-based scan over stored snapshots
+ *
+ * @param snapshots the snapshots in this chunk, ordered by player ID
+ * @param next the cursor to pass to the next scan, or null if this was the last chunk
+ *
+ * @see CollectableStorage#scanSnapshots(UUID, int)
+ */
+public record SnapshotPage(@NotNull List<PlayerSnapshot> snapshots, @Nullable UUID next) {
+
+    public static final SnapshotPage EMPTY = new SnapshotPage(List.of(), null);
+
+    /**
+     * @return true if there are no further chunks after this one
+     */
+    public boolean isLast() {
+        return next == null;
+    }
+
+}
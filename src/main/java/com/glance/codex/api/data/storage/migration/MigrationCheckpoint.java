@@ -0,0 +1,49 @@
+package com.glance.codex.api.data.storage.migration;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * Resumable position within a storage migration
+ * <p>
+ * Every player up to and including {@link #lastPlayerId()} has been written
+ * to the target. Checkpoints round-trip through {@link #serialize()} and
+ * {@link #parse(String)} so they can be kept in a file or config key
+ *
+ * @param lastPlayerId the last migrated player, or null if nothing has been migrated yet
+ * @param migrated total snapshots migrated so far
+ *
+ * @author Cammy
+ */
+public record MigrationCheckpoint(@Nullable UUID lastPlayerId, long migrated) {
+
+    public static final MigrationCheckpoint START = new MigrationCheckpoint(null, 0L);
+
+    /**
+     * @return a compact single-line form, e.g. {@code "0b6e...:15000"}
+     */
+    public @NotNull String serialize() {
+        return (lastPlayerId == null ? "-" : lastPlayerId.toString()) + ":" + migrated;
+    }
+
+    /**
+     * Parses a checkpoint produced by {@link #serialize()}
+     *
+     * @param raw the serialized checkpoint; null or blank yields {@link #START}
+     * @return the checkpoint
+     * @throws IllegalArgumentException if the value is malformed
+     */
+    public static @NotNull MigrationCheckpoint parse(@Nullable String raw) {
+        if (raw == null || raw.isBlank()) return START;
+        int split = raw.lastIndexOf(':');
+        if (split < 0) {
+            throw new IllegalArgumentException("Malformed migration checkpoint: " + raw);
+        }
+        String id = raw.substring(0, split).trim();
+        long migrated = Long.parseLong(raw.substring(split + 1).trim());
+        return new MigrationCheckpoint(id.equals("-") ? null : UUID.fromString(id), migrated);
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.glance.codex.api.data.storage.migration;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+
+/**
+ * Progress report emitted after each migrated batch
+ *
+ * @param checkpoint the checkpoint after this batch; persist it to resume later
+ * @param batches batches written during this run
+ * @param migratedThisRun snapshots written during this run
+ * @param elapsed wall time since this run started
+ * @param done true once the source has been fully read
+ *
+ * @author Cammy
+ */
+public record MigrationProgress(
+    @NotNull MigrationCheckpoint checkpoint,
+    long batches,
+    long migratedThisRun,
+    @NotNull Duration elapsed,
+    boolean done
+) {
+
+    /**
+     * @return snapshots per second for this run
+     */
+    public double perSecond() {
+        long millis = elapsed.toMillis();
+        return millis <= 0 ? 0D : migratedThisRun * 1000D / millis;
+    }
+
+}
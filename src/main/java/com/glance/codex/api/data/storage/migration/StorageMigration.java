@@ -0,0 +1,133 @@
+package com.glance.codex.api.data.storage.migration;
+
+import com.glance.codex.api.data.storage.CollectableStorage;
+import com.glance.codex.api.data.storage.PlayerSnapshot;
+import com.glance.codex.api.data.storage.SnapshotPage;
+import lombok.Builder;
+import lombok.NonNull;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Streams every player snapshot from one {@link CollectableStorage} into another
+ * <p>
+ * The source is read in chunks via {@link CollectableStorage#scanSnapshots} and
+ * written with {@link CollectableStorage#saveSnapshots}. The next chunk is read
+ * while the current one is written, so at most two chunks are held in memory
+ * regardless of how many players exist
+ * <p>
+ * After each written chunk a {@link MigrationProgress} carrying a
+ * {@link MigrationCheckpoint} is reported. Passing a persisted checkpoint
+ * back via {@code resumeFrom} continues where a previous run stopped
+ *
+ * <pre>{@code
+ * StorageMigration.builder()
+ *     .source(yaml)
+ *     .target(mysql)
+ *     .batchSize(1000)
+ *     .resumeFrom(MigrationCheckpoint.parse(saved))
+ *     .onProgress(p -> save(p.checkpoint().serialize()))
+ *     .build()
+ *     .run(executor);
+ * }</pre>
+ *
+ * @author Cammy
+ */
+public final class StorageMigration {
+
+    private final CollectableStorage source;
+    private final CollectableStorage target;
+    private final int batchSize;
+    private final MigrationCheckpoint resumeFrom;
+    private final Consumer<MigrationProgress> onProgress;
+
+    private volatile boolean cancelled;
+
+    @Builder
+    private StorageMigration(
+        @NonNull CollectableStorage source,
+        @NonNull CollectableStorage target,
+        Integer batchSize,
+        MigrationCheckpoint resumeFrom,
+        Consumer<MigrationProgress> onProgress
+    ) {
+        if (source == target) {
+            throw new IllegalArgumentException("Source and target storage must differ");
+        }
+        this.source = source;
+        this.target = target;
+        this.batchSize = batchSize == null ? 500 : Math.max(1, batchSize);
+        this.resumeFrom = resumeFrom == null ? MigrationCheckpoint.START : resumeFrom;
+        this.onProgress = onProgress == null ? p -> {} : onProgress;
+    }
+
+    /**
+     * Runs the migration on the given executor
+     * <p>
+     * The returned future completes with the final progress, or exceptionally
+     * with the first read/write failure. The last reported checkpoint remains
+     * valid for resuming in either case
+     *
+     * @param executor the executor driving the migration loop (it blocks on storage futures)
+     * @return future with the final progress
+     */
+    public @NotNull CompletableFuture<MigrationProgress> run(@NotNull Executor executor) {
+        return CompletableFuture.supplyAsync(this::runBlocking, executor);
+    }
+
+    /**
+     * Stops the migration after the chunk currently being written
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    private MigrationProgress runBlocking() {
+        long start = System.nanoTime();
+        MigrationCheckpoint checkpoint = resumeFrom;
+        long batches = 0;
+        long migrated = 0;
+
+        CompletableFuture<SnapshotPage> pending = source.scanSnapshots(checkpoint.lastPlayerId(), batchSize);
+        while (true) {
+            SnapshotPage page = pending.join();
+            if (cancelled) {
+                MigrationProgress progress = report(checkpoint, batches, migrated, start, false);
+                onProgress.accept(progress);
+                return progress;
+            }
+
+            // Read ahead while this chunk is written
+            boolean last = page.isLast();
+            pending = last ? null : source.scanSnapshots(page.next(), batchSize);
+
+            List<PlayerSnapshot> chunk = page.snapshots();
+            if (!chunk.isEmpty()) {
+                target.saveSnapshots(chunk).join();
+                migrated += chunk.size();
+                batches++;
+                checkpoint = new MigrationCheckpoint(
+                    chunk.get(chunk.size() - 1).playerId(),
+                    checkpoint.migrated() + chunk.size()
+                );
+            }
+
+            MigrationProgress progress = report(checkpoint, batches, migrated, start, last);
+            onProgress.accept(progress);
+            if (last) return progress;
+        }
+    }
+
+    private static MigrationProgress report(
+        MigrationCheckpoint checkpoint, long batches, long migrated, long startNanos, boolean done
+    ) {
+        return new MigrationProgress(checkpoint, batches, migrated,
+            Duration.ofNanos(System.nanoTime() - startNanos), done);
+    }
+
+}
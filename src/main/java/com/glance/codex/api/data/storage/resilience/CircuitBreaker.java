@@ -0,0 +1,235 @@
+package com.glance.codex.api.data.storage.resilience;
+
+import lombok.Builder;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Count-based circuit breaker over storage calls
+ * <p>
+ * While {@link CircuitState#CLOSED closed} the outcome of the last
+ * {@code windowSize} calls is kept in a ring. Once at least {@code minimumCalls}
+ * have been seen, the circuit opens if the share of failed calls reaches
+ * {@code failureRateThreshold} or the share of calls slower than
+ * {@code slowCallThreshold} reaches {@code slowCallRateThreshold}
+ * <p>
+ * After {@code openDuration} the next call moves it to
+ * {@link CircuitState#HALF_OPEN half-open}, letting {@code halfOpenProbes}
+ * calls through. If they all succeed in time the circuit closes; any failed
+ * or slow probe opens it again. Results of calls started before the last
+ * transition are ignored, so a straggler from before the circuit opened can
+ * neither count as a probe nor skew the fresh window
+ *
+ * <pre>{@code
+ * CircuitBreaker breaker = CircuitBreaker.builder()
+ *     .failureRateThreshold(0.5)
+ *     .slowCallThreshold(Duration.ofMillis(500))
+ *     .openDuration(Duration.ofSeconds(10))
+ *     .build();
+ * }</pre>
+ *
+ * @author Cammy
+ */
+public final class CircuitBreaker {
+
+    private static final byte SUCCESS = 0;
+    private static final byte FAILURE = 1;
+    private static final byte SLOW = 2;
+
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallNanos;
+    private final double slowCallRateThreshold;
+    private final long openNanos;
+    private final int halfOpenProbes;
+    private final List<CircuitListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final byte[] window;
+    private int next;
+    private int calls;
+    private int failures;
+    private int slowCalls;
+
+    private CircuitState state = CircuitState.CLOSED;
+    private long openedAt;
+    private long changedAt = System.nanoTime();
+    private int probesInFlight;
+    private int probeSuccesses;
+
+    private record Transition(CircuitState from, CircuitState to) {}
+
+    @Builder
+    private CircuitBreaker(
+        Integer windowSize,
+        Integer minimumCalls,
+        Double failureRateThreshold,
+        Duration slowCallThreshold,
+        Double slowCallRateThreshold,
+        Duration openDuration,
+        Integer halfOpenProbes
+    ) {
+        this.window = new byte[windowSize == null ? 100 : Math.max(1, windowSize)];
+        this.minimumCalls = minimumCalls == null ? 20 : Math.max(1, Math.min(minimumCalls, window.length));
+        this.failureRateThreshold = failureRateThreshold == null ? 0.5 : failureRateThreshold;
+        this.slowCallNanos = (slowCallThreshold == null ? Duration.ofSeconds(2) : slowCallThreshold).toNanos();
+        this.slowCallRateThreshold = slowCallRateThreshold == null ? 0.8 : slowCallRateThreshold;
+        this.openNanos = (openDuration == null ? Duration.ofSeconds(30) : openDuration).toNanos();
+        this.halfOpenProbes = halfOpenProbes == null ? 3 : Math.max(1, halfOpenProbes);
+    }
+
+    /**
+     * @return a breaker with default thresholds
+     */
+    public static @NotNull CircuitBreaker withDefaults() {
+        return builder().build();
+    }
+
+    public void addListener(@NotNull CircuitListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(@NotNull CircuitListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Asks whether a call may go to storage
+     * <p>
+     * Every granted call must be followed by exactly one of {@link #onSuccess},
+     * {@link #onFailure} or {@link #release}
+     *
+     * @return true if the call may proceed, false if it should be served in degraded mode
+     */
+    public boolean tryAcquire() {
+        Transition transition = null;
+        boolean granted;
+        synchronized (this) {
+            if (state == CircuitState.OPEN && System.nanoTime() - openedAt >= openNanos) {
+                transition = moveTo(CircuitState.HALF_OPEN);
+            }
+            granted = switch (state) {
+                case CLOSED -> true;
+                case OPEN -> false;
+                case HALF_OPEN -> {
+                    if (probesInFlight + probeSuccesses >= halfOpenProbes) yield false;
+                    probesInFlight++;
+                    yield true;
+                }
+            };
+        }
+        notify(transition);
+        return granted;
+    }
+
+    /**
+     * Records a granted call that completed normally
+     *
+     * @param nanos how long it took, measured from when the call was granted
+     */
+    public void onSuccess(long nanos) {
+        record(nanos >= slowCallNanos ? SLOW : SUCCESS, nanos);
+    }
+
+    /**
+     * Records a granted call that failed or timed out
+     *
+     * @param nanos how long it took, measured from when the call was granted
+     */
+    public void onFailure(long nanos) {
+        record(FAILURE, nanos);
+    }
+
+    /**
+     * Returns a granted permission for a call that never reached storage
+     */
+    public synchronized void release() {
+        if (state == CircuitState.HALF_OPEN && probesInFlight > 0) probesInFlight--;
+    }
+
+    /**
+     * @return the current state, without advancing an expired open period
+     */
+    public synchronized @NotNull CircuitState state() {
+        return state;
+    }
+
+    /**
+     * Closes the circuit and forgets recorded outcomes
+     */
+    public void reset() {
+        Transition transition;
+        synchronized (this) {
+            transition = moveTo(CircuitState.CLOSED);
+        }
+        notify(transition);
+    }
+
+    private void record(byte outcome, long nanos) {
+        Transition transition = null;
+        synchronized (this) {
+            if (System.nanoTime() - nanos - changedAt < 0) return;
+            switch (state) {
+                case CLOSED -> {
+                    push(outcome);
+                    if (calls >= minimumCalls
+                            && (failures >= failureRateThreshold * calls || slowCalls >= slowCallRateThreshold * calls)) {
+                        transition = moveTo(CircuitState.OPEN);
+                    }
+                }
+                case HALF_OPEN -> {
+                    if (probesInFlight > 0) probesInFlight--;
+                    if (outcome != SUCCESS) {
+                        transition = moveTo(CircuitState.OPEN);
+                    } else if (++probeSuccesses >= halfOpenProbes) {
+                        transition = moveTo(CircuitState.CLOSED);
+                    }
+                }
+                case OPEN -> {
+                    // No calls are granted while open
+                }
+            }
+        }
+        notify(transition);
+    }
+
+    private void push(byte outcome) {
+        if (calls == window.length) {
+            byte evicted = window[next];
+            if (evicted == FAILURE) failures--;
+            if (evicted == SLOW) slowCalls--;
+        } else {
+            calls++;
+        }
+        window[next] = outcome;
+        if (outcome == FAILURE) failures++;
+        if (outcome == SLOW) slowCalls++;
+        next = (next + 1) % window.length;
+    }
+
+    private Transition moveTo(CircuitState to) {
+        CircuitState from = state;
+        state = to;
+        changedAt = System.nanoTime();
+        probesInFlight = 0;
+        probeSuccesses = 0;
+        if (to == CircuitState.OPEN) openedAt = System.nanoTime();
+        if (to == CircuitState.CLOSED) {
+            next = 0;
+            calls = 0;
+            failures = 0;
+            slowCalls = 0;
+        }
+        return from == to ? null : new Transition(from, to);
+    }
+
+    private void notify(Transition transition) {
+        if (transition == null) return;
+        for (CircuitListener listener : listeners) {
+            listener.transitioned(transition.from(), transition.to());
+        }
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.glance.codex.api.data.storage.resilience;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Notified when a {@link CircuitBreaker} changes state
+ *
+ * @author Cammy
+ */
+@FunctionalInterface
+public interface CircuitListener {
+
+    /**
+     * Called on the thread whose call caused the transition, outside the breaker's lock
+     *
+     * @param from the previous state
+     * @param to the new state
+     */
+    void transitioned(@NotNull CircuitState from, @NotNull CircuitState to);
+
+}
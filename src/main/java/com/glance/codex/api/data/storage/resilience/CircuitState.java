@@ -0,0 +1,19 @@
+package com.glance.codex.api.data.storage.resilience;
+
+/**
+ * State of a {@link CircuitBreaker}
+ *
+ * @author Cammy
+ */
+public enum CircuitState {
+
+    /** Calls go to storage; outcomes are tracked */
+    CLOSED,
+
+    /** Storage is assumed unhealthy; calls are served in degraded mode until the open period ends */
+    OPEN,
+
+    /** A few probe calls go to storage; success closes the circuit, failure opens it again */
+    HALF_OPEN
+
+}
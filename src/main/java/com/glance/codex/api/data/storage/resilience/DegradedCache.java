@@ -0,0 +1,179 @@
+package com.glance.codex.api.data.storage.resilience;
+
+import com.glance.codex.api.data.PlayerCollectables;
+import com.glance.codex.api.data.ProgressDelta;
+import com.glance.codex.api.data.ProgressSnapshot;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Last known progress per player, used to answer reads while storage is degraded
+ * <p>
+ * Filled from successful reads and kept in step with writes. A namespace is only
+ * answered if it was loaded as a whole, either on its own or as part of a
+ * full snapshot. Players with queued writes are never evicted
+ *
+ * @author Cammy
+ */
+final class DegradedCache {
+
+    private final int maxPlayers;
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * @param progress what is known about the player
+     * @param namespaces namespaces loaded as a whole
+     * @param complete true if every namespace is known, i.e. loaded from a snapshot
+     * @param pendingWrites queued writes not yet confirmed by storage
+     */
+    private record Entry(ProgressSnapshot progress, Set<String> namespaces, boolean complete, int pendingWrites) {
+        boolean knows(String namespace) {
+            return complete || namespaces.contains(namespace);
+        }
+
+        Entry with(ProgressSnapshot progress) {
+            return new Entry(progress, namespaces, complete, pendingWrites);
+        }
+    }
+
+    DegradedCache(int maxPlayers) {
+        this.maxPlayers = Math.max(1, maxPlayers);
+    }
+
+    void storeSnapshot(UUID playerId, PlayerCollectables data) {
+        ProgressSnapshot progress = ProgressSnapshot.of(0L, data);
+        entries.compute(playerId, (id, existing) ->
+            new Entry(progress, Set.of(), true, existing == null ? 0 : existing.pendingWrites()));
+        evictIfFull();
+    }
+
+    void storeIds(UUID playerId, String namespace, Set<String> ids) {
+        entries.compute(playerId, (id, existing) -> {
+            Entry entry = existing != null ? existing : new Entry(ProgressSnapshot.EMPTY, Set.of(), false, 0);
+            ProgressSnapshot progress = entry.progress();
+            for (String unlocked : ids) {
+                if (!progress.isUnlocked(namespace, unlocked)) progress = progress.withUnlock(namespace, unlocked, -1L);
+            }
+            for (String known : progress.unlockedIds(namespace)) {
+                if (!ids.contains(known)) progress = progress.withRelock(namespace, known);
+            }
+            Set<String> namespaces = new HashSet<>(entry.namespaces());
+            namespaces.add(namespace);
+            return new Entry(progress, Set.copyOf(namespaces), entry.complete(), entry.pendingWrites());
+        });
+        evictIfFull();
+    }
+
+    /**
+     * @return the unlocked IDs, or null if the namespace is not known
+     */
+    @Nullable Set<String> ids(UUID playerId, String namespace) {
+        Entry entry = entries.get(playerId);
+        return entry == null || !entry.knows(namespace) ? null : entry.progress().unlockedIds(namespace);
+    }
+
+    /**
+     * @return a copy of the full progress, or null if it was never loaded
+     */
+    @Nullable PlayerCollectables snapshot(UUID playerId) {
+        Entry entry = entries.get(playerId);
+        return entry == null || !entry.complete() ? null : entry.progress().toPlayerCollectables();
+    }
+
+    /**
+     * @return true if the namespace was loaded as a whole and can be answered from here
+     */
+    boolean knows(UUID playerId, String namespace) {
+        Entry entry = entries.get(playerId);
+        return entry != null && entry.knows(namespace);
+    }
+
+    boolean hasPendingWrites(UUID playerId) {
+        Entry entry = entries.get(playerId);
+        return entry != null && entry.pendingWrites() > 0;
+    }
+
+    void pendingWrite(UUID playerId, int change) {
+        entries.compute(playerId, (id, existing) -> {
+            Entry entry = existing != null ? existing : new Entry(ProgressSnapshot.EMPTY, Set.of(), false, 0);
+            return new Entry(entry.progress(), entry.namespaces(), entry.complete(),
+                Math.max(0, entry.pendingWrites() + change));
+        });
+    }
+
+    /**
+     * @return whether the entry was newly unlocked, or null if the namespace is not known
+     */
+    @Nullable Boolean unlock(UUID playerId, String namespace, String id, long when) {
+        Boolean[] added = new Boolean[1];
+        entries.computeIfPresent(playerId, (key, entry) -> {
+            boolean already = entry.progress().isUnlocked(namespace, id);
+            if (entry.knows(namespace)) added[0] = !already;
+            return already ? entry : entry.with(entry.progress().withUnlock(namespace, id, when));
+        });
+        return added[0];
+    }
+
+    void replay(UUID playerId, String namespace, String id, long when) {
+        entries.computeIfPresent(playerId, (key, entry) -> entry.with(entry.progress().withReplay(namespace, id, when)));
+    }
+
+    /**
+     * @return whether the entry was unlocked, or null if the namespace is not known
+     */
+    @Nullable Boolean relock(UUID playerId, String namespace, String id) {
+        Boolean[] removed = new Boolean[1];
+        entries.computeIfPresent(playerId, (key, entry) -> {
+            boolean unlocked = entry.progress().isUnlocked(namespace, id);
+            if (entry.knows(namespace)) removed[0] = unlocked;
+            return unlocked ? entry.with(entry.progress().withRelock(namespace, id)) : entry;
+        });
+        return removed[0];
+    }
+
+    /**
+     * @return how many entries were cleared, or null if the namespace is not known
+     */
+    @Nullable Integer clearNamespace(UUID playerId, String namespace) {
+        Integer[] cleared = new Integer[1];
+        entries.computeIfPresent(playerId, (key, entry) -> {
+            if (entry.knows(namespace)) cleared[0] = entry.progress().unlockedCount(namespace);
+            return entry.with(entry.progress().withoutNamespace(namespace));
+        });
+        return cleared[0];
+    }
+
+    void clearAll(UUID playerId) {
+        entries.computeIfPresent(playerId, (key, entry) ->
+            new Entry(ProgressSnapshot.EMPTY, Set.of(), true, entry.pendingWrites()));
+    }
+
+    void applyDelta(UUID playerId, ProgressDelta delta) {
+        if (delta.clearedAll()) clearAll(playerId);
+        delta.clearedNamespaces().forEach(namespace -> clearNamespace(playerId, namespace));
+        delta.relocked().forEach((namespace, ids) -> ids.forEach(id -> relock(playerId, namespace, id)));
+        delta.changed().forEach((namespace, ids) -> ids.forEach((id, state) -> {
+            if (!state.unlocked()) {
+                relock(playerId, namespace, id);
+                return;
+            }
+            unlock(playerId, namespace, id, state.firstUnlockedAt());
+            if (state.lastReplayedAt() >= 0) replay(playerId, namespace, id, state.lastReplayedAt());
+        }));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evictIfFull() {
+        if (entries.size() <= maxPlayers) return;
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > maxPlayers && it.hasNext()) {
+            if (it.next().pendingWrites() == 0) it.remove();
+        }
+    }
+
+}
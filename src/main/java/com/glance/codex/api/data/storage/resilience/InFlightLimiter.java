@@ -0,0 +1,105 @@
+package com.glance.codex.api.data.storage.resilience;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Caps concurrent storage futures, holding a bounded number of calls back until a slot frees up
+ * <p>
+ * No thread ever blocks: a call either starts now, waits in the queue, or is
+ * rejected. A slot is freed as soon as the returned future completes, so a
+ * call that times out gives its slot back even if the storage future never
+ * completes; the circuit breaker then keeps further calls away. A waiting call
+ * whose future has already completed is skipped rather than started
+ *
+ * @author Cammy
+ */
+final class InFlightLimiter {
+
+    private final int maxInFlight;
+    private final int maxWaiting;
+    private final ArrayDeque<Runnable> waiting = new ArrayDeque<>();
+    private int inFlight;
+    private int releases;
+    private boolean releasing;
+
+    InFlightLimiter(int maxInFlight, int maxWaiting) {
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.maxWaiting = Math.max(0, maxWaiting);
+    }
+
+    /**
+     * @return the call's future, or null if both the in-flight slots and the queue are full
+     */
+    <T> @Nullable CompletableFuture<T> submit(Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable start = () -> {
+            if (result.isDone()) {
+                release();
+                return;
+            }
+            result.whenComplete((value, error) -> release());
+            CompletableFuture<T> future;
+            try {
+                future = call.get();
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            future.whenComplete((value, error) -> {
+                if (error != null) result.completeExceptionally(error);
+                else result.complete(value);
+            });
+        };
+
+        synchronized (this) {
+            if (inFlight >= maxInFlight) {
+                if (waiting.size() >= maxWaiting) return null;
+                waiting.add(start);
+                return result;
+            }
+            inFlight++;
+        }
+        start.run();
+        return result;
+    }
+
+    synchronized int inFlight() {
+        return inFlight;
+    }
+
+    synchronized int waiting() {
+        return waiting.size();
+    }
+
+    /**
+     * Hands the slot to the next waiting call, or frees it
+     * <p>
+     * Calls that complete synchronously release from inside {@code start}, so
+     * releases are counted and worked off by whichever thread is already
+     * looping here instead of recursing once per waiting call
+     */
+    private void release() {
+        synchronized (this) {
+            releases++;
+            if (releasing) return;
+            releasing = true;
+        }
+        while (true) {
+            Runnable next;
+            synchronized (this) {
+                if (releases == 0) {
+                    releasing = false;
+                    return;
+                }
+                releases--;
+                next = waiting.poll();
+                if (next == null) inFlight--;
+            }
+            if (next != null) next.run();
+        }
+    }
+
+}
@@ -0,0 +1,626 @@
+package com.glance.codex.api.data.storage.resilience;
+
+import com.glance.codex.api.data.PlayerCollectables;
+import com.glance.codex.api.data.ProgressDelta;
+import com.glance.codex.api.data.index.UnlockReverseIndex;
+import com.glance.codex.api.data.journal.JournalRecord;
+import com.glance.codex.api.data.journal.WriteAheadJournal;
+import com.glance.codex.api.data.storage.CollectableStorage;
+import com.glance.codex.api.data.storage.PlayerSnapshot;
+import com.glance.codex.api.data.storage.SnapshotPage;
+import com.glance.codex.api.event.StorageCircuitEvent;
+import com.glance.codex.api.metrics.CodexMetricNames;
+import com.glance.codex.api.metrics.CodexMetrics;
+import com.glance.codex.api.metrics.Counter;
+import lombok.Builder;
+import lombok.NonNull;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link CollectableStorage} decorator that keeps a slow or failing database from taking the server down
+ * <ul>
+ *   <li><b>Backpressure</b> - at most {@code maxInFlight} storage futures run at once and
+ *   at most {@code maxWaiting} more wait for a slot; nothing queues without bound</li>
+ *   <li><b>Timeouts</b> - every call fails with a {@link TimeoutException} after {@code timeout},
+ *   including time spent waiting for a slot</li>
+ *   <li><b>Circuit breaking</b> - a {@link CircuitBreaker} tracks failures, timeouts and slow
+ *   calls and opens when they cross its thresholds</li>
+ *   <li><b>Degraded mode</b> - while the circuit is not closed, or the limiter is full, reads are
+ *   answered from the last known progress and writes are queued locally and replayed in order
+ *   once storage recovers. Reads for a player with queued writes are only answered from that
+ *   progress, since storage does not have those writes yet. Calls degraded mode cannot serve,
+ *   including writes whose result depends on progress it does not know, fail with
+ *   {@link StorageUnavailableException}</li>
+ *   <li><b>Poison writes</b> - a queued write whose replay fails {@code maxWriteAttempts} times
+ *   is moved aside to {@link #deadLetters()} and logged, so it cannot block the writes behind
+ *   it. Timeouts do not count, and no attempts are made while the circuit is open</li>
+ * </ul>
+ * On {@link #shutdown()} queued writes get one last chance to drain; whatever is
+ * left is appended to the optional {@code journal} for the next start to replay,
+ * or logged if there is none
+ * Transitions are reported to {@link CodexMetrics} and as a {@link StorageCircuitEvent}
+ *
+ * <pre>{@code
+ * ResilientCollectableStorage storage = ResilientCollectableStorage.builder()
+ *     .delegate(mysql)
+ *     .metrics(metrics)
+ *     .timeout(Duration.ofSeconds(3))
+ *     .breaker(CircuitBreaker.builder().openDuration(Duration.ofSeconds(15)).build())
+ *     .build();
+ * storage.register(plugin);
+ * }</pre>
+ *
+ * @author Cammy
+ */
+public final class ResilientCollectableStorage implements CollectableStorage {
+
+    private static final Logger LOGGER = Logger.getLogger(ResilientCollectableStorage.class.getName());
+    private static final long DRAIN_PERIOD_TICKS = 20L;
+    private static final List<String> OPS = List.of(
+        "loadUnlockedIds", "isUnlocked", "countUnlocked", "loadSnapshot", "scanSnapshots",
+        "putUnlock", "recordReplay", "deleteUnlock", "clearNamespace", "clearAll",
+        "saveSnapshot", "saveDelta", "saveSnapshots", "drain");
+
+    private final CollectableStorage delegate;
+    private final CircuitBreaker breaker;
+    private final InFlightLimiter limiter;
+    private final DegradedCache cache;
+    private final long timeoutNanos;
+    private final int maxQueuedWrites;
+    private final int maxWriteAttempts;
+    private final @Nullable WriteAheadJournal journal;
+    private final boolean callEvents;
+
+    private final ArrayDeque<QueuedWrite> writes = new ArrayDeque<>();
+    private final List<JournalRecord> deadLetters = new ArrayList<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final Map<String, Op> ops = new HashMap<>();
+    private final CodexMetrics metrics;
+    private @Nullable BukkitTask drainTask;
+
+    /** A degraded write and the records describing it, for logging and journaling */
+    private static final class QueuedWrite {
+        private final List<JournalRecord> records;
+        private final Supplier<CompletableFuture<Object>> call;
+        private int failures;
+
+        private QueuedWrite(List<JournalRecord> records, Supplier<CompletableFuture<Object>> call) {
+            this.records = records;
+            this.call = call;
+        }
+
+        private void forEachPlayer(Consumer<UUID> action) {
+            records.forEach(record -> action.accept(record.playerId()));
+        }
+
+        @Override
+        public String toString() {
+            StringJoiner joiner = new StringJoiner(", ");
+            records.forEach(record -> joiner.add(record.getClass().getSimpleName() + "(" + record.playerId() + ")"));
+            return joiner.toString();
+        }
+    }
+
+    private static final class Op {
+        private final Counter timeouts;
+        private final Counter degraded;
+        private final Counter rejected;
+
+        private Op(CodexMetrics metrics, String name) {
+            this.timeouts = metrics.counter(CodexMetricNames.STORAGE_TIMEOUTS, "op", name);
+            this.degraded = metrics.counter(CodexMetricNames.STORAGE_DEGRADED, "op", name);
+            this.rejected = metrics.counter(CodexMetricNames.STORAGE_REJECTED, "op", name);
+        }
+    }
+
+    @Builder
+    private ResilientCollectableStorage(
+        @NonNull CollectableStorage delegate,
+        CodexMetrics metrics,
+        CircuitBreaker breaker,
+        Integer maxInFlight,
+        Integer maxWaiting,
+        Duration timeout,
+        Integer maxQueuedWrites,
+        Integer maxWriteAttempts,
+        Integer maxCachedPlayers,
+        WriteAheadJournal journal,
+        Boolean callEvents
+    ) {
+        this.delegate = delegate;
+        this.metrics = metrics == null ? CodexMetrics.noop() : metrics;
+        this.breaker = breaker == null ? CircuitBreaker.withDefaults() : breaker;
+        this.limiter = new InFlightLimiter(
+            maxInFlight == null ? 64 : maxInFlight,
+            maxWaiting == null ? 1024 : maxWaiting);
+        this.timeoutNanos = (timeout == null ? Duration.ofSeconds(5) : timeout).toNanos();
+        this.maxQueuedWrites = maxQueuedWrites == null ? 10_000 : Math.max(0, maxQueuedWrites);
+        this.maxWriteAttempts = maxWriteAttempts == null ? 5 : Math.max(1, maxWriteAttempts);
+        this.journal = journal;
+        this.cache = new DegradedCache(maxCachedPlayers == null ? 2_000 : maxCachedPlayers);
+        this.callEvents = callEvents == null || callEvents;
+        for (String name : OPS) {
+            ops.put(name, new Op(this.metrics, name));
+        }
+
+        Counter[] transitions = new Counter[CircuitState.values().length];
+        for (CircuitState state : CircuitState.values()) {
+            transitions[state.ordinal()] = this.metrics.counter(
+                CodexMetricNames.STORAGE_CIRCUIT_TRANSITIONS, "to", state.name().toLowerCase(Locale.ROOT));
+        }
+        this.metrics.gauge(CodexMetricNames.STORAGE_CIRCUIT_STATE, () -> switch (this.breaker.state()) {
+            case CLOSED -> 0;
+            case HALF_OPEN -> 1;
+            case OPEN -> 2;
+        });
+        this.metrics.gauge(CodexMetricNames.STORAGE_IN_FLIGHT, limiter::inFlight);
+        this.metrics.gauge(CodexMetricNames.STORAGE_WAITING, limiter::waiting);
+        this.metrics.gauge(CodexMetricNames.STORAGE_QUEUED_WRITES, this::queuedWrites);
+
+        this.breaker.addListener((from, to) -> {
+            transitions[to.ordinal()].increment();
+            if (this.callEvents) {
+                Bukkit.getPluginManager().callEvent(new StorageCircuitEvent(from, to, !Bukkit.isPrimaryThread()));
+            }
+            if (to != CircuitState.OPEN) drainQueuedWrites();
+        });
+    }
+
+    /**
+     * Starts a periodic task that replays queued writes once storage accepts calls again
+     *
+     * @param plugin the owning plugin
+     */
+    public void register(@NotNull Plugin plugin) {
+        drainTask = Bukkit.getScheduler().runTaskTimerAsynchronously(
+            plugin, this::drainQueuedWrites, DRAIN_PERIOD_TICKS, DRAIN_PERIOD_TICKS);
+    }
+
+    /**
+     * Stops the drain task and makes a final attempt to flush queued writes
+     * <p>
+     * Blocks for up to the call timeout while the queue drains. Writes still
+     * queued afterwards are appended to the journal, if one was configured, so
+     * the next start replays them; otherwise they are logged
+     */
+    public void shutdown() {
+        if (drainTask != null) {
+            drainTask.cancel();
+            drainTask = null;
+        }
+
+        drainQueuedWrites();
+        long deadline = System.nanoTime() + timeoutNanos;
+        while (queuedWrites() > 0 && System.nanoTime() - deadline < 0) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+            if (!draining.get()) drainQueuedWrites();
+        }
+
+        int dead = deadLetters().size();
+        if (dead > 0) LOGGER.severe(dead + " storage writes were moved aside after repeated failures and never saved");
+
+        List<QueuedWrite> left;
+        synchronized (writes) {
+            left = new ArrayList<>(writes);
+            writes.clear();
+        }
+        if (left.isEmpty()) return;
+        if (journal != null && journalLeftovers(journal, left)) return;
+
+        LOGGER.severe(left.size() + " queued storage writes could not be saved before shutdown and are lost:");
+        left.forEach(write -> LOGGER.severe("  " + write));
+    }
+
+    private boolean journalLeftovers(WriteAheadJournal journal, List<QueuedWrite> left) {
+        List<CompletableFuture<Long>> appends = new ArrayList<>();
+        for (QueuedWrite write : left) {
+            write.records.forEach(record -> appends.add(journal.append(record)));
+        }
+        try {
+            CompletableFuture.allOf(appends.toArray(CompletableFuture[]::new))
+                .get(Math.max(1, timeoutNanos), TimeUnit.NANOSECONDS);
+            LOGGER.warning("Journaled " + left.size() + " queued storage writes; they are replayed on the next start");
+            return true;
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+            LOGGER.log(Level.SEVERE, "Could not journal queued storage writes", e);
+            return false;
+        }
+    }
+
+    /**
+     * @return the breaker guarding the delegate
+     */
+    public @NotNull CircuitBreaker breaker() {
+        return breaker;
+    }
+
+    /**
+     * @return true if calls are currently being served in degraded mode
+     */
+    public boolean isDegraded() {
+        return breaker.state() != CircuitState.CLOSED;
+    }
+
+    /**
+     * @return writes queued locally and not yet confirmed by storage
+     */
+    public int queuedWrites() {
+        synchronized (writes) {
+            return writes.size();
+        }
+    }
+
+    /**
+     * @return records of queued writes that were moved aside after failing {@code maxWriteAttempts} times
+     */
+    public @NotNull List<JournalRecord> deadLetters() {
+        synchronized (deadLetters) {
+            return List.copyOf(deadLetters);
+        }
+    }
+
+    /**
+     * Replays queued writes in order until the queue is empty or storage refuses one
+     */
+    public void drainQueuedWrites() {
+        if (!draining.compareAndSet(false, true)) return;
+        drainNext();
+    }
+
+    /**
+     * Loops while writes complete synchronously, and only continues from a
+     * callback once one completes later, so the stack stays flat however long
+     * the queue is
+     */
+    private void drainNext() {
+        while (true) {
+            QueuedWrite next;
+            synchronized (writes) {
+                next = writes.peek();
+            }
+            if (next == null) {
+                draining.set(false);
+                if (queuedWrites() > 0 && draining.compareAndSet(false, true)) continue;
+                return;
+            }
+
+            CompletableFuture<Object> call = guarded(op("drain"), next.call);
+            if (call == null) {
+                draining.set(false);
+                return;
+            }
+            if (!call.isDone()) {
+                call.whenComplete((result, error) -> {
+                    if (finish(next, error)) drainNext();
+                });
+                return;
+            }
+            Throwable error = call.isCompletedExceptionally() ? call.handle((result, e) -> e).join() : null;
+            if (!finish(next, error)) return;
+        }
+    }
+
+    /**
+     * @return true if draining should move on to the next write
+     */
+    private boolean finish(QueuedWrite next, @Nullable Throwable error) {
+        // A timeout says more about storage than about the write
+        if (error != null && (unwrap(error) instanceof TimeoutException || ++next.failures < maxWriteAttempts)) {
+            draining.set(false);
+            return false;
+        }
+        synchronized (writes) {
+            if (writes.peek() == next) writes.poll();
+        }
+        next.forEachPlayer(playerId -> cache.pendingWrite(playerId, -1));
+        if (error != null) moveAside(next, error);
+        return true;
+    }
+
+    private void moveAside(QueuedWrite write, Throwable error) {
+        synchronized (deadLetters) {
+            if (deadLetters.size() >= Math.max(1, maxQueuedWrites)) deadLetters.remove(0);
+            deadLetters.addAll(write.records);
+        }
+        op("drain").rejected.increment();
+        LOGGER.log(Level.SEVERE, "Dropping queued storage write after " + write.failures
+            + " failed attempts: " + write, unwrap(error));
+    }
+
+    /* Reads */
+
+    @Override
+    public Optional<UnlockReverseIndex> reverseIndex() {
+        return delegate.reverseIndex();
+    }
+
+    @Override
+    public CompletableFuture<Set<String>> loadUnlockedIds(@NotNull UUID playerId, @NotNull String namespace) {
+        return read(op("loadUnlockedIds"), playerId,
+            () -> delegate.loadUnlockedIds(playerId, namespace).thenApply(ids -> {
+                if (!cache.hasPendingWrites(playerId)) cache.storeIds(playerId, namespace, ids);
+                return ids;
+            }),
+            () -> cache.ids(playerId, namespace));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> isUnlocked(@NotNull UUID playerId, @NotNull String namespace, @NotNull String id) {
+        return read(op("isUnlocked"), playerId,
+            () -> delegate.isUnlocked(playerId, namespace, id),
+            () -> {
+                Set<String> ids = cache.ids(playerId, namespace);
+                return ids == null ? null : ids.contains(id);
+            });
+    }
+
+    @Override
+    public CompletableFuture<Integer> countUnlocked(@NotNull UUID playerId, @NotNull String namespace) {
+        return read(op("countUnlocked"), playerId,
+            () -> delegate.countUnlocked(playerId, namespace),
+            () -> {
+                Set<String> ids = cache.ids(playerId, namespace);
+                return ids == null ? null : ids.size();
+            });
+    }
+
+    @Override
+    public CompletableFuture<PlayerCollectables> loadSnapshot(@NotNull UUID playerId) {
+        return read(op("loadSnapshot"), playerId,
+            () -> delegate.loadSnapshot(playerId).thenApply(data -> {
+                if (data != null && !cache.hasPendingWrites(playerId)) cache.storeSnapshot(playerId, data);
+                return data;
+            }),
+            () -> cache.snapshot(playerId));
+    }
+
+    @Override
+    public CompletableFuture<SnapshotPage> scanSnapshots(@Nullable UUID after, int limit) {
+        return read(op("scanSnapshots"), null, () -> delegate.scanSnapshots(after, limit), () -> null);
+    }
+
+    /* Writes */
+
+    @Override
+    public CompletableFuture<Boolean> putUnlock(
+        @NotNull UUID playerId, @NotNull String namespace, @NotNull String id, long whenMillis
+    ) {
+        return write(op("putUnlock"), List.of(new JournalRecord.Unlock(playerId, namespace, id, whenMillis)),
+            () -> cache.knows(playerId, namespace),
+            () -> delegate.putUnlock(playerId, namespace, id, whenMillis),
+            () -> Boolean.TRUE.equals(cache.unlock(playerId, namespace, id, whenMillis)),
+            added -> cache.unlock(playerId, namespace, id, whenMillis));
+    }
+
+    @Override
+    public CompletableFuture<Void> recordReplay(
+        @NotNull UUID playerId, @NotNull String namespace, @NotNull String id, long whenMillis
+    ) {
+        return write(op("recordReplay"), List.of(new JournalRecord.Replay(playerId, namespace, id, whenMillis)),
+            () -> delegate.recordReplay(playerId, namespace, id, whenMillis),
+            () -> {
+                cache.replay(playerId, namespace, id, whenMillis);
+                return null;
+            },
+            ignored -> cache.replay(playerId, namespace, id, whenMillis));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteUnlock(
+        @NotNull UUID playerId, @NotNull String namespace, @NotNull String id
+    ) {
+        return write(op("deleteUnlock"), List.of(new JournalRecord.Relock(playerId, namespace, id)),
+            () -> cache.knows(playerId, namespace),
+            () -> delegate.deleteUnlock(playerId, namespace, id),
+            () -> Boolean.TRUE.equals(cache.relock(playerId, namespace, id)),
+            removed -> cache.relock(playerId, namespace, id));
+    }
+
+    @Override
+    public CompletableFuture<Integer> clearNamespace(@NotNull UUID playerId, @NotNull String namespace) {
+        return write(op("clearNamespace"), List.of(new JournalRecord.ClearNamespace(playerId, namespace)),
+            () -> cache.knows(playerId, namespace),
+            () -> delegate.clearNamespace(playerId, namespace),
+            () -> {
+                Integer cleared = cache.clearNamespace(playerId, namespace);
+                return cleared == null ? 0 : cleared;
+            },
+            cleared -> cache.clearNamespace(playerId, namespace));
+    }
+
+    @Override
+    public CompletableFuture<Void> clearAll(@NotNull UUID playerId) {
+        return write(op("clearAll"), List.of(new JournalRecord.ClearAll(playerId)),
+            () -> delegate.clearAll(playerId),
+            () -> {
+                cache.clearAll(playerId);
+                return null;
+            },
+            ignored -> cache.clearAll(playerId));
+    }
+
+    @Override
+    public CompletableFuture<Void> saveSnapshot(@NotNull UUID playerId, @NotNull PlayerCollectables snapshot) {
+        return write(op("saveSnapshot"), List.of(new JournalRecord.Snapshot(playerId, snapshot)),
+            () -> delegate.saveSnapshot(playerId, snapshot),
+            () -> {
+                cache.storeSnapshot(playerId, snapshot);
+                return null;
+            },
+            ignored -> cache.storeSnapshot(playerId, snapshot));
+    }
+
+    @Override
+    public CompletableFuture<Void> saveDelta(
+        @NotNull UUID playerId, @NotNull ProgressDelta delta, @NotNull PlayerCollectables snapshot
+    ) {
+        if (delta.isEmpty()) return CompletableFuture.completedFuture(null);
+        return write(op("saveDelta"), List.of(new JournalRecord.Delta(playerId, delta)),
+            () -> delegate.saveDelta(playerId, delta, snapshot),
+            () -> {
+                cache.applyDelta(playerId, delta);
+                return null;
+            },
+            ignored -> cache.applyDelta(playerId, delta));
+    }
+
+    @Override
+    public CompletableFuture<Void> saveSnapshots(@NotNull List<PlayerSnapshot> batch) {
+        if (batch.isEmpty()) return CompletableFuture.completedFuture(null);
+        List<JournalRecord> records = new ArrayList<>(batch.size());
+        for (PlayerSnapshot snapshot : batch) {
+            records.add(new JournalRecord.Snapshot(snapshot.playerId(), snapshot.data()));
+        }
+        Runnable store = () -> batch.forEach(snapshot -> cache.storeSnapshot(snapshot.playerId(), snapshot.data()));
+        return write(op("saveSnapshots"), records,
+            () -> delegate.saveSnapshots(batch),
+            () -> {
+                store.run();
+                return null;
+            },
+            ignored -> store.run());
+    }
+
+    /* Plumbing */
+
+    /**
+     * Runs a call through the breaker, limiter and timeout
+     *
+     * @return the guarded future, or null if the call should be served in degraded mode
+     */
+    private <T> @Nullable CompletableFuture<T> guarded(Op op, Supplier<CompletableFuture<T>> call) {
+        if (!breaker.tryAcquire()) return null;
+        long start = System.nanoTime();
+        CompletableFuture<T> future = limiter.submit(call);
+        if (future == null) {
+            breaker.release();
+            return null;
+        }
+        return future.orTimeout(timeoutNanos, TimeUnit.NANOSECONDS).whenComplete((result, error) -> {
+            long elapsed = System.nanoTime() - start;
+            if (error == null) {
+                breaker.onSuccess(elapsed);
+                return;
+            }
+            breaker.onFailure(elapsed);
+            if (unwrap(error) instanceof TimeoutException) op.timeouts.increment();
+        });
+    }
+
+    private <T> CompletableFuture<T> read(
+        Op op, @Nullable UUID playerId,
+        Supplier<CompletableFuture<T>> remote,
+        Supplier<T> cached
+    ) {
+        // Storage does not have this player's queued writes yet, so only the
+        // cache can give them their own writes back
+        if (playerId != null && cache.hasPendingWrites(playerId)) {
+            T value = cached.get();
+            if (value == null) {
+                op.rejected.increment();
+                return CompletableFuture.failedFuture(new StorageUnavailableException(
+                    "Storage has not confirmed this player's queued writes and no cached progress is available"));
+            }
+            op.degraded.increment();
+            return CompletableFuture.completedFuture(value);
+        }
+
+        CompletableFuture<T> future = guarded(op, remote);
+        if (future != null) {
+            return future.exceptionallyCompose(error -> {
+                T value = cached.get();
+                if (value == null) return CompletableFuture.failedFuture(error);
+                op.degraded.increment();
+                return CompletableFuture.completedFuture(value);
+            });
+        }
+
+        T value = cached.get();
+        if (value == null) {
+            op.rejected.increment();
+            return CompletableFuture.failedFuture(new StorageUnavailableException(
+                "Storage is degraded and no cached progress is available"));
+        }
+        op.degraded.increment();
+        return CompletableFuture.completedFuture(value);
+    }
+
+    private <T> CompletableFuture<T> write(
+        Op op, List<JournalRecord> records,
+        Supplier<CompletableFuture<T>> remote,
+        Supplier<T> applyQueued,
+        Consumer<T> applyConfirmed
+    ) {
+        return write(op, records, () -> true, remote, applyQueued, applyConfirmed);
+    }
+
+    /**
+     * @param answerable whether the cache can give the queued write's result;
+     *                   if not, the write is rejected rather than queued
+     */
+    private <T> CompletableFuture<T> write(
+        Op op, List<JournalRecord> records,
+        BooleanSupplier answerable,
+        Supplier<CompletableFuture<T>> remote,
+        Supplier<T> applyQueued,
+        Consumer<T> applyConfirmed
+    ) {
+        if (queuedWrites() == 0) {
+            CompletableFuture<T> future = guarded(op, remote);
+            if (future != null) {
+                return future.thenApply(result -> {
+                    applyConfirmed.accept(result);
+                    return result;
+                });
+            }
+        }
+
+        synchronized (writes) {
+            if (writes.size() >= maxQueuedWrites) {
+                op.rejected.increment();
+                return CompletableFuture.failedFuture(new StorageUnavailableException(
+                    "Storage is degraded and the local write queue is full"));
+            }
+            if (!answerable.getAsBoolean()) {
+                op.rejected.increment();
+                return CompletableFuture.failedFuture(new StorageUnavailableException(
+                    "Storage is degraded and the player's progress is not cached"));
+            }
+            QueuedWrite queued = new QueuedWrite(records, () -> remote.get().thenApply(result -> result));
+            writes.add(queued);
+            queued.forEachPlayer(playerId -> cache.pendingWrite(playerId, 1));
+        }
+        op.degraded.increment();
+        T result = applyQueued.get();
+        if (!isDegraded()) drainQueuedWrites();
+        return CompletableFuture.completedFuture(result);
+    }
+
+    private Op op(String name) {
+        return ops.get(name);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+}
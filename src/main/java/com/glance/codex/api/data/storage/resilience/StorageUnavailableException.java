@@ -0,0 +1,17 @@
+package com.glance.codex.api.data.storage.resilience;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Thrown when storage is degraded and a call can be served neither from
+ * cache nor by queueing it
+ *
+ * @author Cammy
+ */
+public class StorageUnavailableException extends RuntimeException {
+
+    public StorageUnavailableException(@NotNull String message) {
+        super(message);
+    }
+
+}
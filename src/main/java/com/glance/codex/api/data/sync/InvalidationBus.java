@@ -0,0 +1,283 @@
+package com.glance.codex.api.data.sync;
+
+import com.glance.codex.utils.lifecycle.Manager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Cross-node cache invalidation for player progress
+ * <p>
+ * Whenever a node mutates a player's progress it calls {@link #bump(UUID)}.
+ * Bumps are coalesced per player and published in a single compact frame on
+ * each {@link #flush()}. Other nodes receive the frame and notify their
+ * {@link InvalidationListener}s so they can drop or reload cached progress
+ * <p>
+ * Versions come from a Lamport clock shared across nodes: each bump advances
+ * the local clock and every received version pulls it forward. A version can
+ * therefore be compared with {@link #version(UUID)} to tell whether a cached
+ * copy is stale
+ * <p>
+ * Known versions are kept per player, including players on other nodes. An
+ * entry that has not been bumped or advanced for the retention period is
+ * dropped, so the map stays bounded by the players recently active on the
+ * network. A dropped player reads as version 0 again and the next bump
+ * received for them notifies listeners as usual
+ *
+ * <h2>Frame layout</h2>
+ * <pre>
+ * byte  format (1)
+ * long  origin node ID
+ * int   bump count
+ * count * (long uuid-msb, long uuid-lsb, long version)
+ * </pre>
+ *
+ * @author Cammy
+ */
+public final class InvalidationBus implements Manager {
+
+    private static final byte FORMAT = 1;
+    private static final int HEADER_BYTES = 1 + Long.BYTES + Integer.BYTES;
+    private static final int BUMP_BYTES = Long.BYTES * 3;
+    private static final Logger LOGGER = Logger.getLogger(InvalidationBus.class.getName());
+    private static final Duration DEFAULT_RETENTION = Duration.ofMinutes(30);
+
+    private final SyncTransport transport;
+    private final long nodeId;
+    private final AtomicLong clock = new AtomicLong();
+    private final Map<UUID, Known> versions = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> pending = new ConcurrentHashMap<>();
+    private final List<InvalidationListener> listeners = new CopyOnWriteArrayList<>();
+    private final @Nullable ScheduledExecutorService scheduler;
+    private final Duration flushInterval;
+    private final long retentionNanos;
+    private volatile long lastExpiryNanos = System.nanoTime();
+    private @Nullable ScheduledFuture<?> flushTask;
+
+    /**
+     * @param version the latest version known for the player
+     * @param touchedAt when it was last bumped or advanced, in {@link System#nanoTime()} units
+     */
+    private record Known(long version, long touchedAt) {}
+
+    /**
+     * Creates a bus that is flushed manually
+     *
+     * @param transport the transport to publish and receive frames on
+     */
+    public InvalidationBus(@NotNull SyncTransport transport) {
+        this(transport, null, Duration.ZERO);
+    }
+
+    /**
+     * Creates a bus that flushes itself on a fixed interval once enabled
+     *
+     * @param transport the transport to publish and receive frames on
+     * @param scheduler the scheduler running periodic flushes, or null to flush manually
+     * @param flushInterval the coalescing window between flushes
+     */
+    public InvalidationBus(
+        @NotNull SyncTransport transport,
+        @Nullable ScheduledExecutorService scheduler,
+        @NotNull Duration flushInterval
+    ) {
+        this(transport, scheduler, flushInterval, DEFAULT_RETENTION);
+    }
+
+    /**
+     * Creates a bus that flushes itself on a fixed interval once enabled
+     *
+     * @param transport the transport to publish and receive frames on
+     * @param scheduler the scheduler running periodic flushes, or null to flush manually
+     * @param flushInterval the coalescing window between flushes
+     * @param retention how long a player's version is kept after their last change
+     */
+    public InvalidationBus(
+        @NotNull SyncTransport transport,
+        @Nullable ScheduledExecutorService scheduler,
+        @NotNull Duration flushInterval,
+        @NotNull Duration retention
+    ) {
+        this.transport = transport;
+        this.nodeId = ThreadLocalRandom.current().nextLong();
+        this.scheduler = scheduler;
+        this.flushInterval = flushInterval;
+        this.retentionNanos = Math.max(1L, retention.toNanos());
+        transport.subscribe(this::receive);
+    }
+
+    @Override
+    public void onEnable() {
+        if (scheduler == null || flushTask != null || flushInterval.isZero()) return;
+        long millis = Math.max(1L, flushInterval.toMillis());
+        flushTask = scheduler.scheduleAtFixedRate(this::flush, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void onDisable() {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+        flush();
+    }
+
+    /**
+     * @return the randomly assigned ID of this node
+     */
+    public long nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Registers a listener for invalidations originating on other nodes
+     *
+     * @param listener the listener
+     */
+    public void addListener(@NotNull InvalidationListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * @param listener a previously registered listener
+     */
+    public void removeListener(@NotNull InvalidationListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @param playerId the player
+     * @return the latest progress version known for the player, or 0 if it never
+     * changed or has not changed within the retention period
+     */
+    public long version(@NotNull UUID playerId) {
+        Known known = versions.get(playerId);
+        return known == null ? 0L : known.version();
+    }
+
+    /**
+     * Records a local mutation of a player's progress
+     * <p>
+     * The bump is published on the next flush; multiple bumps for the same
+     * player before then collapse into one
+     *
+     * @param playerId the player whose progress changed
+     * @return the new version
+     */
+    public long bump(@NotNull UUID playerId) {
+        long version = clock.incrementAndGet();
+        versions.merge(playerId, new Known(version, System.nanoTime()), (known, bumped) ->
+            known.version() > bumped.version() ? new Known(known.version(), bumped.touchedAt()) : bumped);
+        pending.merge(playerId, version, Math::max);
+        return version;
+    }
+
+    /**
+     * Forgets the version of a player right away, e.g. when they leave this
+     * node, instead of waiting for the retention period to drop it
+     *
+     * @param playerId the player
+     */
+    public void forget(@NotNull UUID playerId) {
+        versions.remove(playerId);
+    }
+
+    /**
+     * Publishes every pending bump as a single frame
+     */
+    public void flush() {
+        expireIfDue();
+        if (pending.isEmpty()) return;
+
+        List<Map.Entry<UUID, Long>> drained = new ArrayList<>(pending.size());
+        for (Map.Entry<UUID, Long> entry : pending.entrySet()) {
+            UUID playerId = entry.getKey();
+            long version = entry.getValue();
+            drained.add(Map.entry(playerId, version));
+            // A newer bump racing this flush stays pending for the next one
+            pending.remove(playerId, version);
+        }
+        if (drained.isEmpty()) return;
+
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_BYTES + drained.size() * BUMP_BYTES);
+        frame.put(FORMAT).putLong(nodeId).putInt(drained.size());
+        for (Map.Entry<UUID, Long> bump : drained) {
+            frame.putLong(bump.getKey().getMostSignificantBits())
+                .putLong(bump.getKey().getLeastSignificantBits())
+                .putLong(bump.getValue());
+        }
+
+        try {
+            transport.publish(frame.array());
+        } catch (RuntimeException e) {
+            // Keep the bumps so the next flush retries them
+            drained.forEach(b -> pending.merge(b.getKey(), b.getValue(), Math::max));
+            LOGGER.log(Level.WARNING, "Failed to publish progress invalidations", e);
+        }
+    }
+
+    private void receive(byte[] payload) {
+        expireIfDue();
+        try {
+            ByteBuffer frame = ByteBuffer.wrap(payload);
+            if (frame.get() != FORMAT) return;
+            if (frame.getLong() == nodeId) return;
+
+            int count = frame.getInt();
+            for (int i = 0; i < count; i++) {
+                UUID playerId = new UUID(frame.getLong(), frame.getLong());
+                long version = frame.getLong();
+                clock.accumulateAndGet(version, Math::max);
+
+                if (version <= 0 || !advance(playerId, version)) continue;
+
+                for (InvalidationListener listener : listeners) {
+                    listener.invalidated(playerId, version);
+                }
+            }
+        } catch (BufferUnderflowException e) {
+            LOGGER.warning("Discarded truncated invalidation frame (" + payload.length + " bytes)");
+        }
+    }
+
+    /**
+     * Raises the known version of a player
+     *
+     * @return true only if the stored version increased, so redelivered or
+     * stale frames do not notify listeners twice
+     */
+    private boolean advance(UUID playerId, long version) {
+        Known advanced = new Known(version, System.nanoTime());
+        while (true) {
+            Known known = versions.putIfAbsent(playerId, advanced);
+            if (known == null) return true;
+            if (known.version() >= version) return false;
+            if (versions.replace(playerId, known, advanced)) return true;
+        }
+    }
+
+    /**
+     * Drops versions untouched for the retention period, scanning at most
+     * twice per period so an entry lives between one and one and a half periods
+     */
+    private void expireIfDue() {
+        long now = System.nanoTime();
+        if (now - lastExpiryNanos < retentionNanos / 2) return;
+        lastExpiryNanos = now;
+        versions.values().removeIf(known -> now - known.touchedAt() >= retentionNanos);
+    }
+
+}
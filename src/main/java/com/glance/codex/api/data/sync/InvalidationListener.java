@@ -0,0 +1,24 @@
+package com.glance.codex.api.data.sync;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * Notified when another node has changed a player's progress
+ *
+ * @author Cammy
+ */
+@FunctionalInterface
+public interface InvalidationListener {
+
+    /**
+     * Called once per player per received frame, only for versions newer
+     * than any previously seen for that player
+     *
+     * @param playerId the player whose cached progress is now stale
+     * @param version the new progress version
+     */
+    void invalidated(@NotNull UUID playerId, long version);
+
+}
@@ -0,0 +1,40 @@
+package com.glance.codex.api.data.sync;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process {@link SyncTransport} that delivers every frame synchronously
+ * to all subscribers, including the publisher
+ * <p>
+ * Sharing one instance between several {@link InvalidationBus} instances
+ * simulates multiple servers in a single JVM, which is useful for tests
+ * and single-server setups
+ *
+ * @author Cammy
+ */
+public final class LoopbackTransport implements SyncTransport {
+
+    private final List<Consumer<byte[]>> receivers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(byte @NotNull [] payload) {
+        for (Consumer<byte[]> receiver : receivers) {
+            receiver.accept(payload);
+        }
+    }
+
+    @Override
+    public void subscribe(@NotNull Consumer<byte[]> receiver) {
+        receivers.add(receiver);
+    }
+
+    @Override
+    public void close() {
+        receivers.clear();
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.glance.codex.api.data.sync;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+
+/**
+ * Pluggable message transport used to share cache invalidations between servers
+ * <p>
+ * Implementations may wrap Redis pub/sub, a proxy plugin messaging channel,
+ * NATS, etc. Payloads are opaque, compact binary frames. A transport may
+ * deliver a node's own messages back to it; receivers filter those out
+ *
+ * @see LoopbackTransport
+ *
+ * @author Cammy
+ */
+public interface SyncTransport {
+
+    /**
+     * Publishes a frame to every subscribed node
+     *
+     * @param payload the encoded frame; must not be modified after publishing
+     */
+    void publish(byte @NotNull [] payload);
+
+    /**
+     * Registers a receiver for frames published by any node
+     * <p>
+     * Receivers may be invoked on any thread
+     *
+     * @param receiver the frame consumer
+     */
+    void subscribe(@NotNull Consumer<byte[]> receiver);
+
+    /**
+     * Releases any connections held by this transport
+     */
+    default void close() {}
+
+}
@@ -0,0 +1,30 @@
+package com.glance.codex.api.event;
+
+import com.glance.codex.api.data.storage.resilience.CircuitState;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Called when the storage circuit breaker changes state, e.g. to alert staff
+ * that progress is being served in degraded mode
+ * <p>
+ * Asynchronous unless the transition happened on the main thread
+ */
+public class StorageCircuitEvent extends Event {
+    private static final HandlerList HANDLERS = new HandlerList();
+    private final CircuitState from;
+    private final CircuitState to;
+
+    public StorageCircuitEvent(@NotNull CircuitState from, @NotNull CircuitState to, boolean async) {
+        super(async);
+        this.from = from;
+        this.to = to;
+    }
+
+    public @NotNull CircuitState from() { return from; }
+    public @NotNull CircuitState to() { return to; }
+    public boolean isDegraded() { return to != CircuitState.CLOSED; }
+    @Override public @NotNull HandlerList getHandlers() { return HANDLERS; }
+    public static HandlerList getHandlerList() { return HANDLERS; }
+}
@@ -0,0 +1,47 @@
+package com.glance.codex.api.metrics;
+
+/**
+ * Well-known metric names emitted by Codex
+ *
+ * @author Cammy
+ */
+public final class CodexMetricNames {
+
+    private CodexMetricNames() {}
+
+    /** Timer, tagged {@code op} - latency of each {@code CollectableStorage} operation */
+    public static final String STORAGE_LATENCY = "codex.storage.latency";
+    /** Counter, tagged {@code op} - storage operations that completed exceptionally */
+    public static final String STORAGE_ERRORS = "codex.storage.errors";
+    /** Gauge - storage futures currently in flight */
+    public static final String STORAGE_IN_FLIGHT = "codex.storage.in_flight";
+
+    /** Gauge - storage calls waiting for an in-flight slot */
+    public static final String STORAGE_WAITING = "codex.storage.waiting";
+    /** Counter, tagged {@code op} - storage calls that exceeded their timeout */
+    public static final String STORAGE_TIMEOUTS = "codex.storage.timeouts";
+    /** Counter, tagged {@code op} - calls served in degraded mode (from cache or queued) */
+    public static final String STORAGE_DEGRADED = "codex.storage.degraded";
+    /** Counter, tagged {@code op} - calls rejected because degraded mode could not serve them */
+    public static final String STORAGE_REJECTED = "codex.storage.rejected";
+    /** Gauge - writes queued locally while storage is degraded */
+    public static final String STORAGE_QUEUED_WRITES = "codex.storage.queued_writes";
+    /** Gauge - circuit breaker state: 0 closed, 1 half-open, 2 open */
+    public static final String STORAGE_CIRCUIT_STATE = "codex.storage.circuit.state";
+    /** Counter, tagged {@code to} - circuit breaker transitions */
+    public static final String STORAGE_CIRCUIT_TRANSITIONS = "codex.storage.circuit.transitions";
+
+    /** Counter, tagged {@code cache} - player cache hits */
+    public static final String CACHE_HITS = "codex.cache.hits";
+    /** Counter, tagged {@code cache} - player cache misses */
+    public static final String CACHE_MISSES = "codex.cache.misses";
+
+    /** Counter, tagged {@code namespace} - successful first-time unlocks */
+    public static final String UNLOCKS = "codex.unlocks";
+    /** Counter, tagged {@code namespace} - replays */
+    public static final String REPLAYS = "codex.replays";
+
+    /** Timer - time taken to reload repositories and configuration */
+    public static final String RELOAD_DURATION = "codex.reload.duration";
+
+}
@@ -0,0 +1,64 @@
+package com.glance.codex.api.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Metrics surface for observing Codex internals
+ * <p>
+ * Instruments are looked up by name and tags and should be resolved once
+ * and kept in a field, not looked up per operation. The {@link #noop() no-op}
+ * implementation returns shared empty instruments, so instrumented code paths
+ * cost nothing when no exporter is installed
+ *
+ * @see MetricsExporter
+ * @see CodexMetricNames
+ *
+ * @author Cammy
+ */
+public interface CodexMetrics {
+
+    /**
+     * @return a counter for the given name and tag key/value pairs
+     */
+    @NotNull Counter counter(@NotNull String name, String... tags);
+
+    /**
+     * @return a latency timer for the given name and tag key/value pairs
+     */
+    @NotNull Timer timer(@NotNull String name, String... tags);
+
+    /**
+     * Registers a gauge sampled on scrape
+     *
+     * @param name the metric name
+     * @param value supplies the current value, must be thread-safe
+     * @param tags tag key/value pairs
+     */
+    void gauge(@NotNull String name, @NotNull DoubleSupplier value, String... tags);
+
+    /**
+     * @return false if metrics are discarded, letting callers skip any work
+     * done only to produce metric values
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * @return the shared no-op metrics instance
+     */
+    static @NotNull CodexMetrics noop() {
+        return NoOpMetrics.INSTANCE;
+    }
+
+    /**
+     * @param exporter the exporter to forward instruments to
+     * @return a metrics instance that creates each instrument once via {@code exporter}
+     */
+    static @NotNull CodexMetrics exporting(@NotNull MetricsExporter exporter) {
+        return new ExportingMetrics(exporter);
+    }
+
+}
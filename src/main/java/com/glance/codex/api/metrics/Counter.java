@@ -0,0 +1,24 @@
+package com.glance.codex.api.metrics;
+
+/**
+ * A monotonically increasing count of events
+ *
+ * @author Cammy
+ */
+public interface Counter {
+
+    /**
+     * Increments the counter by one
+     */
+    default void increment() {
+        increment(1L);
+    }
+
+    /**
+     * Increments the counter by the given amount
+     *
+     * @param amount a non-negative amount
+     */
+    void increment(long amount);
+
+}
@@ -0,0 +1,41 @@
+package com.glance.codex.api.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Caches instruments per {@link MetricId} and creates them through a {@link MetricsExporter}
+ */
+final class ExportingMetrics implements CodexMetrics {
+
+    private final MetricsExporter exporter;
+    private final Map<MetricId, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<MetricId, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<MetricId, Boolean> gauges = new ConcurrentHashMap<>();
+
+    ExportingMetrics(MetricsExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    @Override
+    public @NotNull Counter counter(@NotNull String name, String... tags) {
+        return counters.computeIfAbsent(MetricId.of(name, tags), exporter::counter);
+    }
+
+    @Override
+    public @NotNull Timer timer(@NotNull String name, String... tags) {
+        return timers.computeIfAbsent(MetricId.of(name, tags), exporter::timer);
+    }
+
+    @Override
+    public void gauge(@NotNull String name, @NotNull DoubleSupplier value, String... tags) {
+        MetricId id = MetricId.of(name, tags);
+        if (gauges.putIfAbsent(id, Boolean.TRUE) == null) {
+            exporter.gauge(id, value);
+        }
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.glance.codex.api.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free, fixed-size latency histogram with high dynamic range
+ * <p>
+ * Values are bucketed log-linearly: exact below 64, then 32 linear
+ * sub-buckets per power of two, giving roughly 3% relative error from
+ * nanoseconds up to {@link Long#MAX_VALUE}. Recording is a single atomic
+ * increment and never allocates
+ *
+ * @author Cammy
+ */
+public final class LatencyHistogram implements Timer {
+
+    private static final int SUB_BITS = 5;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int LINEAR_LIMIT = SUB_COUNT << 1;
+    private static final int BUCKETS = bucketOf(Long.MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Point-in-time summary of a histogram
+     *
+     * @param count number of samples
+     * @param mean mean value
+     * @param p50 median
+     * @param p99 99th percentile
+     * @param p999 99.9th percentile
+     * @param max largest recorded value
+     */
+    public record Snapshot(long count, double mean, long p50, long p99, long p999, long max) {
+        public static final Snapshot EMPTY = new Snapshot(0, 0, 0, 0, 0, 0);
+    }
+
+    @Override
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        counts.incrementAndGet(bucketOf(value));
+        total.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * @return the number of recorded samples
+     */
+    public long count() {
+        return total.sum();
+    }
+
+    /**
+     * Estimates the value at the given quantile
+     *
+     * @param quantile a value in {@code [0, 1]}
+     * @return the upper bound of the bucket containing the quantile, or 0 if empty
+     */
+    public long percentile(double quantile) {
+        long[] copy = copyCounts();
+        long n = 0;
+        for (long c : copy) n += c;
+        return percentile(copy, n, quantile);
+    }
+
+    /**
+     * @return a consistent-enough summary for reporting; concurrent writes may
+     * land in some percentiles but not others
+     */
+    public @NotNull Snapshot snapshot() {
+        long[] copy = copyCounts();
+        long n = 0;
+        for (long c : copy) n += c;
+        if (n == 0) return Snapshot.EMPTY;
+
+        return new Snapshot(
+            n,
+            (double) sum.sum() / Math.max(1L, total.sum()),
+            percentile(copy, n, 0.50),
+            percentile(copy, n, 0.99),
+            percentile(copy, n, 0.999),
+            max.get()
+        );
+    }
+
+    /**
+     * Clears all recorded samples
+     * <p>
+     * Samples recorded concurrently with a reset may be partially kept
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) counts.set(i, 0L);
+        total.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    private long[] copyCounts() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) copy[i] = counts.get(i);
+        return copy;
+    }
+
+    private long percentile(long[] copy, long n, double quantile) {
+        if (n == 0) return 0L;
+        long rank = Math.max(1L, (long) Math.ceil(Math.min(1D, Math.max(0D, quantile)) * n));
+        long seen = 0;
+        for (int i = 0; i < copy.length; i++) {
+            seen += copy[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    static int bucketOf(long value) {
+        if (value < LINEAR_LIMIT) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BITS;
+        int mantissa = (int) (value >>> shift);
+        return shift * SUB_COUNT + mantissa;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < LINEAR_LIMIT) return bucket;
+        int shift = bucket / SUB_COUNT - 1;
+        long mantissa = bucket % SUB_COUNT + SUB_COUNT;
+        long lower = mantissa << shift;
+        return lower + (1L << shift) - 1;
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.glance.codex.api.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Identifies a metric by name and a set of tags
+ *
+ * @param name the dotted metric name (see {@link CodexMetricNames})
+ * @param tags immutable tag key/value pairs, in declaration order
+ *
+ * @author Cammy
+ */
+public record MetricId(@NotNull String name, @NotNull Map<String, String> tags) {
+
+    /**
+     * Creates an ID from a name and an even-length array of tag key/value pairs
+     *
+     * @throws IllegalArgumentException if {@code tags.length} is odd
+     */
+    public static MetricId of(@NotNull String name, String... tags) {
+        if (tags.length == 0) return new MetricId(name, Map.of());
+        if (tags.length % 2 != 0) {
+            throw new IllegalArgumentException("Must pass an even number of tag arguments");
+        }
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < tags.length; i += 2) {
+            map.put(tags[i], tags[i + 1]);
+        }
+        return new MetricId(name, Collections.unmodifiableMap(map));
+    }
+
+}
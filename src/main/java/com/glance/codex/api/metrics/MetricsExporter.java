@@ -0,0 +1,45 @@
+package com.glance.codex.api.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Service-provider interface bridging Codex metrics to an external metrics stack
+ * (Prometheus, Micrometer, StatsD, etc.)
+ * <p>
+ * Each method is called at most once per {@link MetricId}; the returned
+ * instruments are cached and reused on hot paths
+ *
+ * @see CodexMetrics#exporting(MetricsExporter)
+ *
+ * @author Cammy
+ */
+public interface MetricsExporter {
+
+    /**
+     * @param id the metric identity
+     * @return a counter backed by the external stack
+     */
+    @NotNull Counter counter(@NotNull MetricId id);
+
+    /**
+     * @param id the metric identity
+     * @return a latency histogram backed by the external stack
+     */
+    @NotNull Timer timer(@NotNull MetricId id);
+
+    /**
+     * Registers a sampled gauge; the external stack polls {@code value} when it scrapes
+     *
+     * @param id the metric identity
+     * @param value supplies the current value, must be thread-safe
+     */
+    void gauge(@NotNull MetricId id, @NotNull DoubleSupplier value);
+
+    /**
+     * Called when the exporter is replaced or Codex shuts down
+     */
+    default void close() {}
+
+}
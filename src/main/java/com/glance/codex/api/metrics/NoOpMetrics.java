@@ -0,0 +1,39 @@
+package com.glance.codex.api.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Default metrics implementation that discards everything
+ */
+final class NoOpMetrics implements CodexMetrics {
+
+    static final NoOpMetrics INSTANCE = new NoOpMetrics();
+
+    private static final Counter COUNTER = amount -> {};
+    private static final Timer TIMER = nanos -> {};
+
+    private NoOpMetrics() {}
+
+    @Override
+    public @NotNull Counter counter(@NotNull String name, String... tags) {
+        return COUNTER;
+    }
+
+    @Override
+    public @NotNull Timer timer(@NotNull String name, String... tags) {
+        return TIMER;
+    }
+
+    @Override
+    public void gauge(@NotNull String name, @NotNull DoubleSupplier value, String... tags) {
+        // discarded
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.glance.codex.api.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Records latency samples into a histogram
+ *
+ * @author Cammy
+ */
+public interface Timer {
+
+    /**
+     * Records a single duration
+     *
+     * @param nanos the elapsed time in nanoseconds
+     */
+    void record(long nanos);
+
+    /**
+     * Times an asynchronous operation from invocation until its future completes,
+     * whether normally or exceptionally
+     *
+     * @param operation the operation to start
+     * @return the operation's future
+     */
+    default <T> CompletableFuture<T> time(@NotNull Supplier<CompletableFuture<T>> operation) {
+        long start = System.nanoTime();
+        return operation.get().whenComplete((r, t) -> record(System.nanoTime() - start));
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.glance.codex.api.metrics.analytics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Optional destination for periodic {@link AnalyticsSnapshot}s, e.g. a storage table
+ *
+ * @author Cammy
+ */
+@FunctionalInterface
+public interface AnalyticsSink {
+
+    /**
+     * @param snapshot the aggregates to persist
+     * @return future completed once written
+     */
+    @NotNull CompletableFuture<Void> write(@NotNull AnalyticsSnapshot snapshot);
+
+}
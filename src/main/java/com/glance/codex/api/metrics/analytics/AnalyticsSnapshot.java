@@ -0,0 +1,28 @@
+package com.glance.codex.api.metrics.analytics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Windowed aggregates captured for persistence
+ *
+ * @param capturedAtMillis capture time (epoch millis)
+ * @param window the window the counts cover
+ * @param unlocksByRepository namespace -> unlocks in the window
+ * @param replaysByRepository namespace -> replays in the window
+ * @param unlocksByCollectable "namespace:id" -> unlocks in the window, non-zero only
+ * @param replaysByCollectable "namespace:id" -> replays in the window, non-zero only
+ *
+ * @author Cammy
+ */
+public record AnalyticsSnapshot(
+    long capturedAtMillis,
+    @NotNull Duration window,
+    @NotNull Map<String, Long> unlocksByRepository,
+    @NotNull Map<String, Long> replaysByRepository,
+    @NotNull Map<String, Long> unlocksByCollectable,
+    @NotNull Map<String, Long> replaysByCollectable
+) {
+}
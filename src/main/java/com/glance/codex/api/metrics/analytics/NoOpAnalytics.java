@@ -0,0 +1,48 @@
+package com.glance.codex.api.metrics.analytics;
+
+import org.bukkit.NamespacedKey;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+
+/**
+ * Analytics that discards everything
+ *
+ * @author Cammy
+ */
+final class NoOpAnalytics implements UnlockAnalytics {
+
+    static final NoOpAnalytics INSTANCE = new NoOpAnalytics();
+
+    private NoOpAnalytics() {}
+
+    @Override
+    public void record(@NotNull Kind kind, @NotNull NamespacedKey key) {}
+
+    @Override
+    public long total(@NotNull Kind kind, @NotNull Duration window) {
+        return 0;
+    }
+
+    @Override
+    public long repository(@NotNull Kind kind, @NotNull String namespace, @NotNull Duration window) {
+        return 0;
+    }
+
+    @Override
+    public long collectable(@NotNull Kind kind, @NotNull NamespacedKey key, @NotNull Duration window) {
+        return 0;
+    }
+
+    @Override
+    public long @NotNull [] series(@NotNull Kind kind, @Nullable String namespace, int buckets) {
+        return new long[0];
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+}
@@ -0,0 +1,156 @@
+package com.glance.codex.api.metrics.analytics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free, allocation-free event counter over a rolling time window
+ * <p>
+ * Time is divided into fixed-width buckets held in a ring. Every slot packs
+ * the bucket's epoch (high 24 bits) with its count (low 40 bits) into one
+ * long, so a stale bucket is reset and incremented by the same CAS. Each
+ * bucket is striped across several slots chosen by thread, so concurrent
+ * writers rarely touch the same slot
+ * <p>
+ * Reads sum every stripe of the buckets inside the requested window;
+ * buckets older than the ring are ignored by their epoch
+ *
+ * @author Cammy
+ */
+public final class RollingCounter {
+
+    private static final int EPOCH_BITS = 24;
+    private static final int COUNT_BITS = Long.SIZE - EPOCH_BITS;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final long EPOCH_MASK = (1L << EPOCH_BITS) - 1;
+
+    private final long bucketNanos;
+    private final int buckets;
+    private final int stripeMask;
+    private final long origin;
+    private final AtomicLongArray slots;
+
+    /**
+     * @param bucket width of one bucket, e.g. one second or one minute
+     * @param buckets how many buckets the ring keeps, i.e. the longest window in buckets
+     * @param stripes slots per bucket, rounded up to a power of two
+     */
+    public RollingCounter(@NotNull Duration bucket, int buckets, int stripes) {
+        if (bucket.isZero() || bucket.isNegative()) throw new IllegalArgumentException("Bucket width must be positive");
+        int stripeCount = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.bucketNanos = bucket.toNanos();
+        this.buckets = Math.max(1, buckets);
+        this.stripeMask = stripeCount - 1;
+        this.origin = System.nanoTime();
+        this.slots = new AtomicLongArray(this.buckets * stripeCount);
+    }
+
+    /**
+     * Counts one event now
+     */
+    public void increment() {
+        add(1, System.nanoTime());
+    }
+
+    /**
+     * Counts events at the given {@link System#nanoTime()}
+     */
+    public void add(long amount, long nowNanos) {
+        long epoch = epoch(nowNanos);
+        int bucket = (int) (epoch % buckets);
+        int stripe = System.identityHashCode(Thread.currentThread()) & stripeMask;
+        int slot = stripe * buckets + bucket;
+        long tag = (epoch & EPOCH_MASK) << COUNT_BITS;
+
+        while (true) {
+            long current = slots.get(slot);
+            long next = (current & ~COUNT_MASK) == tag
+                ? tag | ((current + amount) & COUNT_MASK)
+                : tag | (amount & COUNT_MASK);
+            if (slots.compareAndSet(slot, current, next)) return;
+        }
+    }
+
+    /**
+     * @param window how far back to count; clamped to the ring length
+     * @return events in the window, including the current partial bucket
+     */
+    public long sum(@NotNull Duration window) {
+        long now = epoch(System.nanoTime());
+        int span = span(window);
+        long total = 0;
+        for (int stripe = 0; stripe <= stripeMask; stripe++) {
+            int base = stripe * buckets;
+            for (int i = 0; i < span; i++) {
+                total += count(base, now - i);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Per-bucket counts for charting, oldest first, ending with the current bucket
+     *
+     * @param count number of buckets; clamped to the ring length
+     * @return the counts
+     */
+    public long @NotNull [] series(int count) {
+        long now = epoch(System.nanoTime());
+        int span = Math.max(1, Math.min(count, buckets));
+        long[] series = new long[span];
+        for (int i = 0; i < span; i++) {
+            long epoch = now - (span - 1 - i);
+            long total = 0;
+            for (int stripe = 0; stripe <= stripeMask; stripe++) {
+                total += count(stripe * buckets, epoch);
+            }
+            series[i] = total;
+        }
+        return series;
+    }
+
+    /**
+     * @return true if no bucket still held by the ring has any events
+     */
+    public boolean isIdle() {
+        long now = epoch(System.nanoTime());
+        for (int stripe = 0; stripe <= stripeMask; stripe++) {
+            for (int i = 0; i < buckets; i++) {
+                if (count(stripe * buckets, now - i) != 0) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the approximate heap used by the ring, in bytes
+     */
+    public long estimatedBytes() {
+        return (long) slots.length() * Long.BYTES;
+    }
+
+    /**
+     * @return the width of one bucket
+     */
+    public @NotNull Duration bucketWidth() {
+        return Duration.ofNanos(bucketNanos);
+    }
+
+    private long count(int base, long epoch) {
+        if (epoch < 0) return 0;
+        long value = slots.get(base + (int) (epoch % buckets));
+        return (value >>> COUNT_BITS) == (epoch & EPOCH_MASK) ? value & COUNT_MASK : 0;
+    }
+
+    private int span(Duration window) {
+        long requested = (window.toNanos() + bucketNanos - 1) / bucketNanos;
+        return (int) Math.max(1, Math.min(requested, buckets));
+    }
+
+    private long epoch(long nowNanos) {
+        return (nowNanos - origin) / bucketNanos;
+    }
+
+}
@@ -0,0 +1,200 @@
+package com.glance.codex.api.metrics.analytics;
+
+import org.bukkit.NamespacedKey;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * {@link UnlockAnalytics} backed by {@link RollingCounter}s
+ * <p>
+ * Keeps one counter per kind for the whole server, per repository and per
+ * collectable. Counters are created the first time a key is seen; after that
+ * recording is a map lookup and a CAS with no allocation
+ * <p>
+ * Server and repository counters use the full resolution and are striped.
+ * Collectable counters exist for every key, so they use a single stripe and
+ * at most {@value #COLLECTABLE_BUCKETS} wider buckets spanning the same
+ * period; per-collectable windows are rounded to that coarser width.
+ * Collectable counters that saw no events for the whole period are dropped
+ * on {@link #flush(Duration)}, and {@link #retain(Predicate)} drops those of
+ * removed collectables; an event racing such an eviction may be lost
+ *
+ * @author Cammy
+ */
+public final class RollingUnlockAnalytics implements UnlockAnalytics {
+
+    private static final int STRIPES = 4;
+    private static final int COLLECTABLE_BUCKETS = 60;
+
+    private final Duration bucket;
+    private final int buckets;
+    private final Duration collectableBucket;
+    private final int collectableBuckets;
+    private final @Nullable AnalyticsSink sink;
+    private final EnumMap<Kind, Scope> scopes = new EnumMap<>(Kind.class);
+
+    private final class Scope {
+        private final RollingCounter total = fineCounter();
+        private final Map<String, RollingCounter> repositories = new ConcurrentHashMap<>();
+        private final Map<NamespacedKey, RollingCounter> collectables = new ConcurrentHashMap<>();
+
+        void record(NamespacedKey key) {
+            long now = System.nanoTime();
+            total.add(1, now);
+            RollingCounter repository = repositories.get(key.getNamespace());
+            if (repository == null) repository = repositories.computeIfAbsent(key.getNamespace(), k -> fineCounter());
+            repository.add(1, now);
+
+            RollingCounter collectable = collectables.get(key);
+            if (collectable == null) collectable = collectables.computeIfAbsent(key, k -> coarseCounter());
+            collectable.add(1, now);
+        }
+    }
+
+    /**
+     * @param bucket width of one bucket, e.g. one second for per-second charts
+     * @param buckets how many buckets to keep, bounding the longest window
+     * @param sink where {@link #flush(Duration)} writes aggregates, or null to keep them in memory only
+     */
+    public RollingUnlockAnalytics(@NotNull Duration bucket, int buckets, @Nullable AnalyticsSink sink) {
+        this.bucket = bucket;
+        this.buckets = Math.max(1, buckets);
+        this.collectableBuckets = Math.min(this.buckets, COLLECTABLE_BUCKETS);
+        this.collectableBucket = bucket.multipliedBy((this.buckets + collectableBuckets - 1) / collectableBuckets);
+        this.sink = sink;
+        for (Kind kind : Kind.values()) {
+            scopes.put(kind, new Scope());
+        }
+    }
+
+    /**
+     * Per-second buckets covering the last hour, without a sink
+     */
+    public static @NotNull RollingUnlockAnalytics perSecond() {
+        return new RollingUnlockAnalytics(Duration.ofSeconds(1), 3600, null);
+    }
+
+    /**
+     * Per-minute buckets covering the last day, without a sink
+     */
+    public static @NotNull RollingUnlockAnalytics perMinute() {
+        return new RollingUnlockAnalytics(Duration.ofMinutes(1), 1440, null);
+    }
+
+    @Override
+    public void record(@NotNull Kind kind, @NotNull NamespacedKey key) {
+        scopes.get(kind).record(key);
+    }
+
+    @Override
+    public long total(@NotNull Kind kind, @NotNull Duration window) {
+        return scopes.get(kind).total.sum(window);
+    }
+
+    @Override
+    public long repository(@NotNull Kind kind, @NotNull String namespace, @NotNull Duration window) {
+        RollingCounter counter = scopes.get(kind).repositories.get(namespace);
+        return counter == null ? 0 : counter.sum(window);
+    }
+
+    @Override
+    public long collectable(@NotNull Kind kind, @NotNull NamespacedKey key, @NotNull Duration window) {
+        RollingCounter counter = scopes.get(kind).collectables.get(key);
+        return counter == null ? 0 : counter.sum(window);
+    }
+
+    @Override
+    public long @NotNull [] series(@NotNull Kind kind, @Nullable String namespace, int buckets) {
+        Scope scope = scopes.get(kind);
+        RollingCounter counter = namespace == null ? scope.total : scope.repositories.get(namespace);
+        return counter == null ? new long[Math.max(1, Math.min(buckets, this.buckets))] : counter.series(buckets);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> flush(@NotNull Duration window) {
+        CompletableFuture<Void> written = sink == null
+            ? CompletableFuture.completedFuture(null)
+            : sink.write(snapshot(window));
+        evictIdle();
+        return written;
+    }
+
+    /**
+     * Drops collectable counters whose key is no longer known, e.g. after a reload
+     *
+     * @param known returns true for collectables that still exist
+     */
+    public void retain(@NotNull Predicate<NamespacedKey> known) {
+        for (Scope scope : scopes.values()) {
+            scope.collectables.keySet().removeIf(known.negate());
+        }
+    }
+
+    /**
+     * Drops collectable counters without events in their whole period
+     */
+    public void evictIdle() {
+        for (Scope scope : scopes.values()) {
+            scope.collectables.entrySet().removeIf(e -> e.getValue().isIdle());
+        }
+    }
+
+    /**
+     * @return the approximate heap used by all counters, in bytes
+     */
+    public long estimatedBytes() {
+        long bytes = 0;
+        for (Scope scope : scopes.values()) {
+            bytes += scope.total.estimatedBytes();
+            for (RollingCounter counter : scope.repositories.values()) bytes += counter.estimatedBytes();
+            for (RollingCounter counter : scope.collectables.values()) bytes += counter.estimatedBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Captures the current aggregates over a window
+     */
+    public @NotNull AnalyticsSnapshot snapshot(@NotNull Duration window) {
+        Scope unlocks = scopes.get(Kind.UNLOCK);
+        Scope replays = scopes.get(Kind.REPLAY);
+        return new AnalyticsSnapshot(
+            System.currentTimeMillis(), window,
+            sums(unlocks.repositories, window, false),
+            sums(replays.repositories, window, false),
+            keyed(sums(unlocks.collectables, window, true)),
+            keyed(sums(replays.collectables, window, true)));
+    }
+
+    private RollingCounter fineCounter() {
+        return new RollingCounter(bucket, buckets, STRIPES);
+    }
+
+    private RollingCounter coarseCounter() {
+        return new RollingCounter(collectableBucket, collectableBuckets, 1);
+    }
+
+    private static <K> Map<K, Long> sums(Map<K, RollingCounter> counters, Duration window, boolean skipZero) {
+        Map<K, Long> sums = new HashMap<>();
+        counters.forEach((key, counter) -> {
+            long sum = counter.sum(window);
+            if (sum != 0 || !skipZero) sums.put(key, sum);
+        });
+        return Map.copyOf(sums);
+    }
+
+    private static Map<String, Long> keyed(Map<NamespacedKey, Long> sums) {
+        Map<String, Long> keyed = new HashMap<>(sums.size() * 2);
+        sums.forEach((key, sum) -> keyed.put(key.asString(), sum));
+        return Map.copyOf(keyed);
+    }
+
+}
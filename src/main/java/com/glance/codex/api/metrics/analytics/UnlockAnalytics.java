@@ -0,0 +1,78 @@
+package com.glance.codex.api.metrics.analytics;
+
+import org.bukkit.NamespacedKey;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Live, in-memory unlock and replay rates per server, repository and collectable
+ * <p>
+ * Fed from the unlock/replay path; recording must be cheap and allocation-free.
+ * Queries return counts over a rolling window without touching storage
+ *
+ * @author Cammy
+ */
+public interface UnlockAnalytics {
+
+    /** What was recorded */
+    enum Kind { UNLOCK, REPLAY }
+
+    /**
+     * Records one unlock or replay of a collectable
+     */
+    void record(@NotNull Kind kind, @NotNull NamespacedKey key);
+
+    /**
+     * @return events of a kind across all repositories within the window
+     */
+    long total(@NotNull Kind kind, @NotNull Duration window);
+
+    /**
+     * @return events of a kind in a repository within the window
+     */
+    long repository(@NotNull Kind kind, @NotNull String namespace, @NotNull Duration window);
+
+    /**
+     * @return events of a kind for one collectable within the window, which
+     * implementations may round to a coarser resolution than the totals
+     */
+    long collectable(@NotNull Kind kind, @NotNull NamespacedKey key, @NotNull Duration window);
+
+    /**
+     * Per-bucket counts for a repository, oldest first, for charting
+     *
+     * @param kind what to chart
+     * @param namespace the repository, or null for all repositories
+     * @param buckets how many buckets to return
+     * @return the counts
+     */
+    long @NotNull [] series(@NotNull Kind kind, @Nullable String namespace, int buckets);
+
+    /**
+     * Captures the current windowed aggregates and writes them to the sink, if one is configured
+     *
+     * @param window the window to aggregate over
+     * @return future completed once written, or immediately if there is no sink
+     */
+    default @NotNull CompletableFuture<Void> flush(@NotNull Duration window) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * @return false if recording is discarded
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * @return the shared analytics instance that records nothing
+     */
+    static @NotNull UnlockAnalytics noop() {
+        return NoOpAnalytics.INSTANCE;
+    }
+
+}
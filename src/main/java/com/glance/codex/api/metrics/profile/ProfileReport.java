@@ -0,0 +1,47 @@
+package com.glance.codex.api.metrics.profile;
+
+import com.glance.codex.api.metrics.LatencyHistogram;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Per-repository, per-stage latency summary of the unlock pipeline
+ *
+ * @param rows one row per (namespace, stage) with at least one sample
+ *
+ * @author Cammy
+ */
+public record ProfileReport(@NotNull List<Row> rows) {
+
+    /** Namespace used for rows aggregated across every repository */
+    public static final String ALL = "*";
+
+    /**
+     * @param namespace the repository namespace, or {@link #ALL}
+     * @param stage the pipeline stage
+     * @param stats latency summary in nanoseconds
+     */
+    public record Row(@NotNull String namespace, @NotNull UnlockStage stage, @NotNull LatencyHistogram.Snapshot stats) {}
+
+    /**
+     * Formats the report as plain text lines, suitable for command output or logs
+     *
+     * @return header plus one line per row, durations in milliseconds
+     */
+    public @NotNull List<String> toLines() {
+        List<String> lines = new ArrayList<>(rows.size() + 1);
+        lines.add(String.format(Locale.ROOT, "%-16s %-10s %8s %9s %9s %9s %9s",
+            "repository", "stage", "count", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)"));
+        for (Row row : rows) {
+            LatencyHistogram.Snapshot s = row.stats();
+            lines.add(String.format(Locale.ROOT, "%-16s %-10s %8d %9.3f %9.3f %9.3f %9.3f",
+                row.namespace(), row.stage().name().toLowerCase(Locale.ROOT), s.count(),
+                s.p50() / 1e6, s.p99() / 1e6, s.p999() / 1e6, s.max() / 1e6));
+        }
+        return lines;
+    }
+
+}
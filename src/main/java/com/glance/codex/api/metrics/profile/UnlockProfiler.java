@@ -0,0 +1,247 @@
+package com.glance.codex.api.metrics.profile;
+
+import com.glance.codex.api.metrics.LatencyHistogram;
+import org.bukkit.NamespacedKey;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Per-stage latency tracing for the unlock pipeline
+ * <p>
+ * Each unlock opens a {@link Trace}, marks the end of every stage it passes
+ * through, then {@link Trace#finish() finishes}. Stage timings are recorded
+ * into {@link LatencyHistogram}s, both per repository and across all
+ * repositories
+ * <p>
+ * Pipelines slower than the configured threshold are logged with their stage
+ * breakdown, at most once per log interval; the rest are counted and reported
+ * with the next logged entry
+ *
+ * <pre>{@code
+ * UnlockProfiler.Trace trace = profiler.begin(key, player.getUniqueId());
+ * storage.putUnlock(...).thenApply(added -> {
+ *     trace.mark(UnlockStage.STORAGE);
+ *     callEvent(...);
+ *     trace.mark(UnlockStage.EVENT);
+ *     ...
+ *     trace.finish();
+ * });
+ * }</pre>
+ *
+ * @author Cammy
+ */
+public final class UnlockProfiler {
+
+    private static final UnlockStage[] STAGES = UnlockStage.values();
+    private static final UnlockProfiler DISABLED = new UnlockProfiler();
+
+    private final boolean enabled;
+    private final @Nullable Logger logger;
+    private final long slowThresholdNanos;
+    private final long slowLogIntervalNanos;
+
+    private final LatencyHistogram[] overall = newStageHistograms();
+    private final Map<String, LatencyHistogram[]> byNamespace = new ConcurrentHashMap<>();
+    private final AtomicLong lastSlowLog = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicLong suppressedSlow = new AtomicLong();
+
+    private UnlockProfiler() {
+        this.enabled = false;
+        this.logger = null;
+        this.slowThresholdNanos = Long.MAX_VALUE;
+        this.slowLogIntervalNanos = Long.MAX_VALUE;
+    }
+
+    /**
+     * @param logger where slow pipelines are logged
+     * @param slowThreshold pipelines taking at least this long are considered slow
+     * @param slowLogInterval minimum time between two slow-pipeline log entries
+     */
+    public UnlockProfiler(@NotNull Logger logger, @NotNull Duration slowThreshold, @NotNull Duration slowLogInterval) {
+        this.enabled = true;
+        this.logger = logger;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.slowLogIntervalNanos = slowLogInterval.toNanos();
+    }
+
+    /**
+     * @return a shared profiler that records nothing
+     */
+    public static @NotNull UnlockProfiler disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * @return true if this profiler records samples
+     */
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts tracing a single unlock
+     *
+     * @param key the collectable being unlocked
+     * @param playerId the player unlocking it
+     * @return a trace to mark stages on; a shared no-op trace if disabled
+     */
+    public @NotNull Trace begin(@NotNull NamespacedKey key, @NotNull UUID playerId) {
+        if (!enabled) return Trace.NOOP;
+        return new Trace(this, key, playerId, histogramsFor(key.getNamespace()));
+    }
+
+    /**
+     * Records a stage duration directly, without a trace
+     *
+     * @param namespace the repository namespace
+     * @param stage the pipeline stage
+     * @param nanos elapsed nanoseconds
+     */
+    public void record(@NotNull String namespace, @NotNull UnlockStage stage, long nanos) {
+        if (!enabled) return;
+        overall[stage.ordinal()].record(nanos);
+        histogramsFor(namespace)[stage.ordinal()].record(nanos);
+    }
+
+    /**
+     * Builds a report of every stage with samples; the aggregate
+     * ({@link ProfileReport#ALL}) rows come first, then repositories by name
+     *
+     * @return the current report
+     */
+    public @NotNull ProfileReport report() {
+        List<ProfileReport.Row> rows = new ArrayList<>();
+        addRows(rows, ProfileReport.ALL, overall);
+        new TreeMap<>(byNamespace).forEach((ns, histograms) -> addRows(rows, ns, histograms));
+        return new ProfileReport(List.copyOf(rows));
+    }
+
+    /**
+     * Clears every recorded sample
+     */
+    public void reset() {
+        for (LatencyHistogram h : overall) h.reset();
+        byNamespace.values().forEach(hs -> { for (LatencyHistogram h : hs) h.reset(); });
+        suppressedSlow.set(0);
+    }
+
+    private static void addRows(List<ProfileReport.Row> rows, String namespace, LatencyHistogram[] histograms) {
+        for (UnlockStage stage : STAGES) {
+            LatencyHistogram.Snapshot snapshot = histograms[stage.ordinal()].snapshot();
+            if (snapshot.count() > 0) {
+                rows.add(new ProfileReport.Row(namespace, stage, snapshot));
+            }
+        }
+    }
+
+    private LatencyHistogram[] histogramsFor(String namespace) {
+        return byNamespace.computeIfAbsent(namespace, k -> newStageHistograms());
+    }
+
+    private static LatencyHistogram[] newStageHistograms() {
+        LatencyHistogram[] histograms = new LatencyHistogram[STAGES.length];
+        for (int i = 0; i < histograms.length; i++) histograms[i] = new LatencyHistogram();
+        return histograms;
+    }
+
+    private void onFinished(Trace trace, long totalNanos) {
+        if (totalNanos < slowThresholdNanos || logger == null) return;
+
+        long now = System.nanoTime();
+        long last = lastSlowLog.get();
+        if (last != Long.MIN_VALUE && now - last < slowLogIntervalNanos) {
+            suppressedSlow.incrementAndGet();
+            return;
+        }
+        if (!lastSlowLog.compareAndSet(last, now)) {
+            suppressedSlow.incrementAndGet();
+            return;
+        }
+
+        StringJoiner stages = new StringJoiner(", ");
+        for (UnlockStage stage : STAGES) {
+            long nanos = trace.stageNanos[stage.ordinal()];
+            if (stage != UnlockStage.TOTAL && nanos > 0) {
+                stages.add(stage.name().toLowerCase(Locale.ROOT) + "=" + formatMillis(nanos));
+            }
+        }
+        long suppressed = suppressedSlow.getAndSet(0);
+        logger.warning("Slow unlock " + trace.key + " for " + trace.playerId + " took "
+            + formatMillis(totalNanos) + " (" + stages + ")"
+            + (suppressed > 0 ? " [" + suppressed + " similar suppressed]" : ""));
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.2fms", nanos / 1e6);
+    }
+
+    /**
+     * An in-progress unlock pipeline trace
+     * <p>
+     * A trace is owned by a single pipeline; stages may be marked from
+     * different threads as long as marks are sequential
+     */
+    public static final class Trace {
+
+        static final Trace NOOP = new Trace(null, null, null, null);
+
+        private final @Nullable UnlockProfiler profiler;
+        private final NamespacedKey key;
+        private final UUID playerId;
+        private final LatencyHistogram[] repository;
+        private final long[] stageNanos = new long[STAGES.length];
+        private final long start;
+        private long last;
+        private boolean finished;
+
+        private Trace(@Nullable UnlockProfiler profiler, NamespacedKey key, UUID playerId, LatencyHistogram[] repository) {
+            this.profiler = profiler;
+            this.key = key;
+            this.playerId = playerId;
+            this.repository = repository;
+            this.start = profiler != null ? System.nanoTime() : 0L;
+            this.last = start;
+        }
+
+        /**
+         * Marks the end of a stage; the time since the previous mark
+         * (or the start of the trace) is attributed to it
+         *
+         * @param stage the stage that just completed
+         * @return this trace
+         */
+        public @NotNull Trace mark(@NotNull UnlockStage stage) {
+            if (profiler == null || finished) return this;
+            long now = System.nanoTime();
+            long elapsed = now - last;
+            last = now;
+            stageNanos[stage.ordinal()] += elapsed;
+            profiler.overall[stage.ordinal()].record(elapsed);
+            repository[stage.ordinal()].record(elapsed);
+            return this;
+        }
+
+        /**
+         * Completes the trace, recording the total and logging it if slow
+         * <p>
+         * Further calls are ignored
+         */
+        public void finish() {
+            if (profiler == null || finished) return;
+            finished = true;
+            long total = System.nanoTime() - start;
+            stageNanos[UnlockStage.TOTAL.ordinal()] = total;
+            profiler.overall[UnlockStage.TOTAL.ordinal()].record(total);
+            repository[UnlockStage.TOTAL.ordinal()].record(total);
+            profiler.onFinished(this, total);
+        }
+
+    }
+
+}
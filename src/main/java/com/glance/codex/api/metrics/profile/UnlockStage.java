@@ -0,0 +1,21 @@
+package com.glance.codex.api.metrics.profile;
+
+/**
+ * Stages of the {@code CollectableManager.unlock} pipeline, in execution order
+ *
+ * @author Cammy
+ */
+public enum UnlockStage {
+    /** Reading and writing unlock state through {@code CollectableStorage} */
+    STORAGE,
+    /** Calling unlock/replay events and their listeners */
+    EVENT,
+    /** {@code Discoverable.onDiscover} / {@code onReplay} */
+    DISCOVER,
+    /** Configured command execution */
+    COMMANDS,
+    /** Player and broadcast messaging */
+    MESSAGING,
+    /** Whole pipeline, start to finish */
+    TOTAL
+}
@@ -68,6 +68,23 @@ public interface PlaceholderService {
      */
     Set<String> listRegistered();
 
+    /**
+     * Resolve a single globally registered token
+     * <p>
+     * Used by pre-compiled templates that have already located their slots.
+     * The default implementation routes through {@link #apply(String, OfflinePlayer, Map)};
+     * implementations should override it with a direct registry lookup
+     * </p>
+     *
+     * @param key the token name (without braces)
+     * @param player optional player context for the resolver
+     * @return the replacement, or {@code null} if no token is registered under {@code key}
+     */
+    default @Nullable String resolve(String key, @Nullable OfflinePlayer player) {
+        if (!listRegistered().contains(key)) return null;
+        return apply("{" + key + "}", player, Collections.emptyMap());
+    }
+
     /**
      * Perform placeholder replacements on a single string
      * <p>
@@ -0,0 +1,186 @@
+package com.glance.codex.api.text.broadcast;
+
+import com.glance.codex.api.text.PlaceholderService;
+import com.glance.codex.utils.format.StringUtils;
+import com.glance.codex.utils.lifecycle.Manager;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.bukkit.Bukkit;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Coalesces global discover/replay broadcasts on a shared schedule
+ * <p>
+ * Instead of rendering and sending every broadcast to every online player
+ * as it happens, broadcasts are grouped by collectable, kind and template
+ * for the configured window. On flush each group is rendered once per
+ * client locale, parsed once, and the resulting {@link Component} is sent
+ * to every player sharing that locale
+ * <p>
+ * Available locals in templates:
+ * <ul>
+ *   <li>{@code {player}} - the first player in the group</li>
+ *   <li>{@code {players}} - the listed player names</li>
+ *   <li>{@code {others}} - how many players were not listed</li>
+ *   <li>{@code {count}} - total number of players in the group</li>
+ *   <li>{@code {locale}} - the locale tag being rendered for</li>
+ * </ul>
+ * <p>
+ * {@link #submit} is safe to call from any thread; flushing always happens
+ * on the main thread
+ *
+ * @author Cammy
+ */
+public final class BroadcastAggregator implements Manager {
+
+    private final Plugin plugin;
+    private final PlaceholderService placeholders;
+    private final BroadcastConfig config;
+    private final MiniMessage miniMessage = MiniMessage.miniMessage();
+
+    private final Object lock = new Object();
+    private Map<GroupKey, Group> pending = new LinkedHashMap<>();
+    private @Nullable BukkitTask task;
+
+    public BroadcastAggregator(
+        @NotNull Plugin plugin,
+        @NotNull PlaceholderService placeholders,
+        @NotNull BroadcastConfig config
+    ) {
+        this.plugin = plugin;
+        this.placeholders = placeholders;
+        this.config = config;
+    }
+
+    /**
+     * Kind of broadcast being submitted
+     */
+    public enum Kind {
+        DISCOVER,
+        REPLAY
+    }
+
+    @Override
+    public void onEnable() {
+        if (!config.enabled() || task != null) return;
+        long periodTicks = Math.max(1L, (config.windowMillis() + 49L) / 50L);
+        task = Bukkit.getScheduler().runTaskTimer(plugin, this::flush, periodTicks, periodTicks);
+    }
+
+    @Override
+    public void onDisable() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        if (Bukkit.isPrimaryThread()) flush();
+    }
+
+    /**
+     * Queues a broadcast for the next flush
+     * <p>
+     * Blank templates are ignored. When coalescing is disabled the
+     * broadcast is sent on the next tick without waiting for the window
+     *
+     * @param player the player who triggered the broadcast
+     * @param key the collectable being discovered or replayed
+     * @param kind whether this is a discover or replay broadcast
+     * @param template the single-player template (e.g. {@code globalMessageOnDiscover()})
+     * @param groupedTemplate the template to use for merged groups, or null/blank
+     *                        to fall back to {@link BroadcastConfig#groupedFormat()}
+     */
+    public void submit(
+        @NotNull Player player,
+        @NotNull NamespacedKey key,
+        @NotNull Kind kind,
+        @Nullable String template,
+        @Nullable String groupedTemplate
+    ) {
+        if (StringUtils.isNullOrBlank(template)) return;
+
+        GroupKey groupKey = new GroupKey(key, kind, template,
+            StringUtils.isNullOrBlank(groupedTemplate) ? config.groupedFormat() : groupedTemplate);
+        synchronized (lock) {
+            pending.computeIfAbsent(groupKey, k -> new Group(player)).add(player, config.maxNamedPlayers());
+        }
+
+        if (!config.enabled()) {
+            Bukkit.getScheduler().runTask(plugin, this::flush);
+        }
+    }
+
+    /**
+     * Sends every pending group and clears the queue
+     * <p>
+     * Must be called on the main thread
+     */
+    public void flush() {
+        Map<GroupKey, Group> drained;
+        synchronized (lock) {
+            if (pending.isEmpty()) return;
+            drained = pending;
+            pending = new LinkedHashMap<>();
+        }
+
+        Map<Locale, List<Player>> byLocale = new HashMap<>();
+        for (Player online : Bukkit.getOnlinePlayers()) {
+            byLocale.computeIfAbsent(online.locale(), k -> new ArrayList<>()).add(online);
+        }
+
+        drained.forEach((key, group) -> {
+            for (Map.Entry<Locale, List<Player>> entry : byLocale.entrySet()) {
+                Component message = render(key, group, entry.getKey());
+                for (Player recipient : entry.getValue()) {
+                    recipient.sendMessage(message);
+                }
+            }
+            Bukkit.getConsoleSender().sendMessage(render(key, group, Locale.ROOT));
+        });
+    }
+
+    private Component render(GroupKey key, Group group, Locale locale) {
+        Map<String, String> locals = new HashMap<>();
+        locals.put("player", group.first.getName());
+        locals.put("players", String.join(config.nameSeparator(), group.names));
+        locals.put("others", Integer.toString(group.count - group.names.size()));
+        locals.put("count", Integer.toString(group.count));
+        locals.put("locale", locale.toLanguageTag());
+
+        String single = placeholders.apply(key.template(), group.first, locals);
+        if (group.count <= group.names.size()) {
+            return miniMessage.deserialize(single);
+        }
+
+        locals.put("message", single);
+        return miniMessage.deserialize(placeholders.apply(key.groupedTemplate(), group.first, locals));
+    }
+
+    private record GroupKey(NamespacedKey key, Kind kind, String template, String groupedTemplate) {}
+
+    private static final class Group {
+        private final Player first;
+        private final List<String> names = new ArrayList<>(2);
+        private final Set<UUID> seen = new HashSet<>();
+        private int count;
+
+        private Group(Player first) {
+            this.first = first;
+        }
+
+        private void add(Player player, int maxNamed) {
+            if (!seen.add(player.getUniqueId())) return;
+            if (names.size() < Math.max(1, maxNamed)) {
+                names.add(player.getName());
+            }
+            count++;
+        }
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.glance.codex.api.text.broadcast;
+
+/**
+ * Configuration for coalescing global discover/replay broadcasts
+ * <p>
+ * Broadcasts submitted within the same window for the same collectable
+ * are merged into a single message (e.g. "Steve and 14 others discovered X")
+ *
+ * @author Cammy
+ */
+public interface BroadcastConfig {
+
+    /**
+     * @return true if broadcasts should be coalesced, false to send each one immediately
+     */
+    default boolean enabled() {
+        return true;
+    }
+
+    /**
+     * @return the coalescing window in milliseconds, rounded up to whole ticks
+     */
+    default long windowMillis() {
+        return 1000L;
+    }
+
+    /**
+     * @return the maximum number of player names listed before the
+     * remainder is collapsed into {@code {others}}
+     */
+    default int maxNamedPlayers() {
+        return 1;
+    }
+
+    /**
+     * @return the separator placed between listed player names
+     */
+    default String nameSeparator() {
+        return ", ";
+    }
+
+    /**
+     * Template used when more players than {@link #maxNamedPlayers()} share a broadcast
+     * and the collectable does not define its own grouped message
+     * <p>
+     * Supports {@code {players}}, {@code {others}}, {@code {count}} and {@code {message}},
+     * where {@code {message}} is the rendered single-player message of the first player
+     *
+     * @return the fallback grouped template
+     */
+    default String groupedFormat() {
+        return "{message} <gray>(and {others} others)</gray>";
+    }
+
+}
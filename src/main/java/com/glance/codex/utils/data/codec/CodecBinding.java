@@ -0,0 +1,53 @@
+package com.glance.codex.utils.data.codec;
+
+import com.glance.codex.utils.data.TypeCodec;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * A {@link Type} resolved once by a {@link CodecRegistry}
+ * <p>
+ * Type arguments are resolved recursively, so the element codec of
+ * {@code List<ItemConfig>} is {@code binding.argument(0).codec()} with no
+ * further reflection
+ *
+ * @param type the resolved type
+ * @param rawType the erased class of the type
+ * @param codec the codec handling the type, or null if none is registered
+ * @param arguments bindings for each type argument, empty for non-generic types
+ *
+ * @author Cammy
+ */
+public record CodecBinding(
+    @NotNull Type type,
+    @NotNull Class<?> rawType,
+    @Nullable TypeCodec<?> codec,
+    @NotNull List<CodecBinding> arguments
+) {
+
+    /**
+     * @return the binding of the N-th type argument, or null if absent
+     */
+    public @Nullable CodecBinding argument(int index) {
+        return index >= 0 && index < arguments.size() ? arguments.get(index) : null;
+    }
+
+    /**
+     * @return true if a codec was found for the type
+     */
+    public boolean hasCodec() {
+        return codec != null;
+    }
+
+    /**
+     * @return the codec cast to the caller's expected type
+     */
+    @SuppressWarnings("unchecked")
+    public <T> @Nullable TypeCodec<T> typedCodec() {
+        return (TypeCodec<T>) codec;
+    }
+
+}
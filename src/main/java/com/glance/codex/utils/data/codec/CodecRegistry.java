@@ -0,0 +1,185 @@
+package com.glance.codex.utils.data.codec;
+
+import com.glance.codex.utils.data.TypeCodec;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * Resolves {@link TypeCodec}s by {@link Type}, once per type
+ * <p>
+ * Lookup order for a type:
+ * <ol>
+ *   <li>a codec registered for the exact erased class</li>
+ *   <li>the first fallback codec whose {@link TypeCodec#supports(Type)} accepts the full type</li>
+ *   <li>a codec registered for the nearest superclass or interface</li>
+ * </ol>
+ * Results, including misses, are cached per {@link Type} in a concurrent map,
+ * so parameterized types like {@code List<ItemConfig>} are only taken apart
+ * the first time they are seen. Registering a codec clears the cache
+ * <p>
+ * The registry also caches a {@link DecodePlan} per config class
+ *
+ * @author Cammy
+ */
+public final class CodecRegistry {
+
+    private final Map<Class<?>, TypeCodec<?>> exact = new ConcurrentHashMap<>();
+    private final List<TypeCodec<?>> fallbacks = new CopyOnWriteArrayList<>();
+    private final Map<Type, CodecBinding> bindings = new ConcurrentHashMap<>();
+    private final Map<Class<?>, DecodePlan<?>> plans = new ConcurrentHashMap<>();
+    private final Function<Field, String> pathResolver;
+
+    /**
+     * Creates a registry whose decode plans read each field from a path equal to its name
+     */
+    public CodecRegistry() {
+        this(Field::getName);
+    }
+
+    /**
+     * @param pathResolver maps a config field to the path it is read from
+     */
+    public CodecRegistry(@NotNull Function<Field, String> pathResolver) {
+        this.pathResolver = pathResolver;
+    }
+
+    /**
+     * Registers a codec for an exact class
+     *
+     * @param type the class handled by the codec
+     * @param codec the codec
+     */
+    public <T> void register(@NotNull Class<T> type, @NotNull TypeCodec<? extends T> codec) {
+        exact.put(type, codec);
+        invalidate();
+    }
+
+    /**
+     * Registers a codec consulted through {@link TypeCodec#supports(Type)}
+     * for types with no exact registration
+     *
+     * @param codec the codec
+     */
+    public void registerFallback(@NotNull TypeCodec<?> codec) {
+        fallbacks.add(codec);
+        invalidate();
+    }
+
+    /**
+     * Resolves the codec and type arguments of a type, using the cache if possible
+     *
+     * @param type the type to resolve
+     * @return the binding
+     */
+    public @NotNull CodecBinding resolve(@NotNull Type type) {
+        CodecBinding binding = bindings.get(type);
+        if (binding != null) return binding;
+
+        // Resolved outside the map since arguments recurse into resolve()
+        binding = bind(type);
+        CodecBinding existing = bindings.putIfAbsent(type, binding);
+        return existing != null ? existing : binding;
+    }
+
+    /**
+     * @return the codec for a type, if one is registered
+     */
+    public @NotNull Optional<TypeCodec<?>> find(@NotNull Type type) {
+        return Optional.ofNullable(resolve(type).codec());
+    }
+
+    /**
+     * Returns the cached decode plan for a config class, building it on first use
+     *
+     * @param type the config class
+     * @return the plan
+     */
+    @SuppressWarnings("unchecked")
+    public <T> @NotNull DecodePlan<T> plan(@NotNull Class<T> type) {
+        DecodePlan<?> plan = plans.get(type);
+        if (plan == null) {
+            plan = DecodePlan.build(type, this, pathResolver);
+            DecodePlan<?> existing = plans.putIfAbsent(type, plan);
+            if (existing != null) plan = existing;
+        }
+        return (DecodePlan<T>) plan;
+    }
+
+    /**
+     * Drops every cached binding and plan
+     */
+    public void invalidate() {
+        bindings.clear();
+        plans.clear();
+    }
+
+    private CodecBinding bind(Type type) {
+        Class<?> raw = erase(type);
+        List<CodecBinding> arguments = List.of();
+        if (type instanceof ParameterizedType parameterized) {
+            Type[] args = parameterized.getActualTypeArguments();
+            CodecBinding[] resolved = new CodecBinding[args.length];
+            for (int i = 0; i < args.length; i++) {
+                resolved[i] = resolve(args[i]);
+            }
+            arguments = List.of(resolved);
+        } else if (type instanceof GenericArrayType array) {
+            arguments = List.of(resolve(array.getGenericComponentType()));
+        } else if (raw.isArray()) {
+            arguments = List.of(resolve(raw.getComponentType()));
+        }
+        return new CodecBinding(type, raw, findCodec(type, raw), arguments);
+    }
+
+    private @Nullable TypeCodec<?> findCodec(Type type, Class<?> raw) {
+        TypeCodec<?> codec = exact.get(raw);
+        if (codec != null) return codec;
+
+        for (TypeCodec<?> fallback : fallbacks) {
+            if (fallback.supports(type)) return fallback;
+        }
+
+        Deque<Class<?>> queue = new ArrayDeque<>();
+        Set<Class<?>> seen = new HashSet<>();
+        enqueueSupertypes(raw, queue);
+        while (!queue.isEmpty()) {
+            Class<?> candidate = queue.poll();
+            if (!seen.add(candidate)) continue;
+            codec = exact.get(candidate);
+            if (codec != null) return codec;
+            enqueueSupertypes(candidate, queue);
+        }
+        return null;
+    }
+
+    private static void enqueueSupertypes(Class<?> type, Deque<Class<?>> queue) {
+        if (type.getSuperclass() != null && type.getSuperclass() != Object.class) {
+            queue.add(type.getSuperclass());
+        }
+        queue.addAll(Arrays.asList(type.getInterfaces()));
+    }
+
+    static Class<?> erase(Type type) {
+        if (type instanceof Class<?> cls) return cls;
+        if (type instanceof ParameterizedType parameterized) return erase(parameterized.getRawType());
+        if (type instanceof GenericArrayType array) {
+            return erase(array.getGenericComponentType()).arrayType();
+        }
+        if (type instanceof WildcardType wildcard) {
+            Type[] upper = wildcard.getUpperBounds();
+            return upper.length > 0 ? erase(upper[0]) : Object.class;
+        }
+        if (type instanceof TypeVariable<?> variable) {
+            Type[] bounds = variable.getBounds();
+            return bounds.length > 0 ? erase(bounds[0]) : Object.class;
+        }
+        return Object.class;
+    }
+
+}
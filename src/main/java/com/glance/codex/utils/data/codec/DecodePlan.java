@@ -0,0 +1,136 @@
+package com.glance.codex.utils.data.codec;
+
+import com.glance.codex.utils.data.TypeCodec;
+import com.glance.codex.utils.lifecycle.ClassAccessors;
+import com.glance.codex.utils.lifecycle.FieldAccessor;
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Precomputed decode steps for a config class
+ * <p>
+ * Built once per class by {@link CodecRegistry#plan(Class)}: every non-static,
+ * non-transient field (including inherited ones) is paired with its config path,
+ * cached {@link FieldAccessor} and resolved {@link CodecBinding}. Decoding an
+ * entry then only walks the step list
+ * <p>
+ * Fields keep their initializer value when the path is missing, and fields
+ * with no codec are assigned the raw config value when its type already matches
+ *
+ * @param <T> the config class
+ *
+ * @author Cammy
+ */
+public final class DecodePlan<T> {
+
+    private final Class<T> type;
+    private final ClassAccessors accessors;
+    private final List<Step> steps;
+
+    /**
+     * A single field binding
+     *
+     * @param path the config path
+     * @param accessor the field accessor
+     * @param binding the resolved type of the field
+     */
+    public record Step(@NotNull String path, @NotNull FieldAccessor accessor, @NotNull CodecBinding binding) {}
+
+    private DecodePlan(Class<T> type, List<Step> steps) {
+        this.type = type;
+        this.accessors = ClassAccessors.of(type);
+        this.steps = List.copyOf(steps);
+    }
+
+    static <T> DecodePlan<T> build(Class<T> type, CodecRegistry registry, Function<Field, String> pathResolver) {
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            hierarchy.add(0, c);
+        }
+
+        List<Step> steps = new ArrayList<>();
+        for (Class<?> c : hierarchy) {
+            for (Field field : c.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) continue;
+                if (!field.trySetAccessible()) continue;
+
+                ClassAccessors owner = ClassAccessors.of(c);
+                steps.add(new Step(pathResolver.apply(field), owner.field(field), registry.resolve(field.getGenericType())));
+            }
+        }
+        return new DecodePlan<>(type, steps);
+    }
+
+    /**
+     * @return the class this plan decodes
+     */
+    public @NotNull Class<T> type() {
+        return type;
+    }
+
+    /**
+     * @return the decode steps in field declaration order, superclass fields first
+     */
+    public @NotNull List<Step> steps() {
+        return steps;
+    }
+
+    /**
+     * Creates a new instance and populates it from a section
+     *
+     * @param section the entry's config section
+     * @return the decoded instance
+     */
+    public @NotNull T decode(@NotNull ConfigurationSection section) {
+        T instance = accessors.newInstance();
+        decodeInto(section, instance);
+        return instance;
+    }
+
+    /**
+     * Populates an existing instance from a section
+     *
+     * @param section the entry's config section
+     * @param instance the instance to populate
+     */
+    public void decodeInto(@NotNull ConfigurationSection section, @NotNull T instance) {
+        for (Step step : steps) {
+            if (!section.contains(step.path())) continue;
+
+            FieldAccessor accessor = step.accessor();
+            Object current = accessor.get(instance);
+            TypeCodec<Object> codec = step.binding().typedCodec();
+
+            Object value;
+            if (codec != null) {
+                value = codec.decode(section, step.path(), step.binding().type(), current);
+            } else {
+                Object raw = section.get(step.path());
+                value = isAssignable(step.binding().rawType(), raw) ? raw : current;
+            }
+            if (value == null && step.binding().rawType().isPrimitive()) continue;
+            if (value != current) accessor.set(instance, value);
+        }
+    }
+
+    private static boolean isAssignable(Class<?> type, Object raw) {
+        if (raw == null) return false;
+        if (!type.isPrimitive()) return type.isInstance(raw);
+        return type == int.class && raw instanceof Integer
+            || type == long.class && raw instanceof Long
+            || type == double.class && raw instanceof Double
+            || type == boolean.class && raw instanceof Boolean
+            || type == float.class && raw instanceof Float
+            || type == short.class && raw instanceof Short
+            || type == byte.class && raw instanceof Byte
+            || type == char.class && raw instanceof Character;
+    }
+
+}
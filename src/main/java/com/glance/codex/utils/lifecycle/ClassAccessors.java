@@ -0,0 +1,145 @@
+package com.glance.codex.utils.lifecycle;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Per-class cache of generated constructors and field accessors used by config binding
+ * <p>
+ * Built once per class through a {@link ClassValue} and reused for every entry
+ * loaded afterwards, replacing per-call reflective lookups and access checks.
+ * The no-arg constructor is spun into a {@link Supplier} with
+ * {@link LambdaMetafactory} where the class is reachable from this module,
+ * falling back to a plain {@link MethodHandle} otherwise
+ * <p>
+ * Access rules match plain reflection: only constructors and fields that
+ * {@link ReflectionUtils} could already use are exposed. A cached field
+ * accessor is only handed out for a {@link Field} copy that is itself
+ * accessible; other copies go through the same checks as on first use
+ *
+ * @author Cammy
+ */
+public final class ClassAccessors {
+
+    private static final ClassValue<ClassAccessors> CACHE = new ClassValue<>() {
+        @Override
+        protected ClassAccessors computeValue(Class<?> type) {
+            return new ClassAccessors(type);
+        }
+    };
+
+    private final Class<?> type;
+    private final Map<Field, FieldAccessor> fields = new ConcurrentHashMap<>();
+    private volatile Supplier<?> constructor;
+
+    private ClassAccessors(Class<?> type) {
+        this.type = type;
+    }
+
+    /**
+     * @param type the class to bind
+     * @return the shared accessors for the class
+     */
+    public static @NotNull ClassAccessors of(@NotNull Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    /**
+     * Creates a new instance through the cached no-arg constructor
+     *
+     * @return the new instance
+     * @throws RuntimeException if the class has no accessible no-arg constructor or it throws
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T newInstance() {
+        try {
+            Supplier<?> ctor = constructor;
+            if (ctor == null) {
+                constructor = ctor = createConstructor();
+            }
+            return (T) ctor.get();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to instantiate " + type, e);
+        }
+    }
+
+    /**
+     * @param field a field declared by this class or one of its superclasses
+     * @return the cached accessor for the field
+     * @throws RuntimeException if the field is not accessible
+     */
+    public @NotNull FieldAccessor field(@NotNull Field field) {
+        FieldAccessor accessor = fields.get(field);
+        if (accessor != null && accessible(field)) return accessor;
+        try {
+            accessor = new FieldAccessor(field);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+        // The accessible flag is checked on creation, so only cache handles that were allowed
+        FieldAccessor existing = fields.putIfAbsent(field, accessor);
+        return existing != null ? existing : accessor;
+    }
+
+    /**
+     * Field equality ignores the accessible flag, so only copies that plain
+     * reflection would let through may share a cached accessor
+     */
+    @SuppressWarnings("deprecation")
+    private static boolean accessible(Field field) {
+        return field.isAccessible()
+            || Modifier.isPublic(field.getModifiers()) && Modifier.isPublic(field.getDeclaringClass().getModifiers());
+    }
+
+    private Supplier<?> createConstructor() throws ReflectiveOperationException {
+        Constructor<?> ctor = type.getDeclaredConstructor();
+        MethodHandle handle = MethodHandles.lookup().unreflectConstructor(ctor);
+
+        Supplier<?> generated = spinSupplier();
+        if (generated != null) return generated;
+
+        MethodHandle generic = handle.asType(MethodType.methodType(Object.class));
+        return () -> {
+            try {
+                return (Object) generic.invokeExact();
+            } catch (Throwable t) {
+                // Checked exceptions from the constructor are wrapped once by newInstance
+                throw ClassAccessors.<RuntimeException>rethrow(t);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> E rethrow(Throwable t) throws E {
+        throw (E) t;
+    }
+
+    private Supplier<?> spinSupplier() {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            if (!lookup.hasFullPrivilegeAccess()) return null;
+            MethodHandle ctor = lookup.findConstructor(type, MethodType.methodType(void.class));
+            CallSite site = LambdaMetafactory.metafactory(
+                lookup, "get",
+                MethodType.methodType(Supplier.class),
+                MethodType.methodType(Object.class),
+                ctor,
+                MethodType.methodType(type));
+            return (Supplier<?>) site.getTarget().invokeExact();
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.glance.codex.utils.lifecycle;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Cached getter/setter pair for a single field, backed by {@link MethodHandle}s
+ * adapted once to {@code (Object)Object} and {@code (Object, Object)void}
+ * <p>
+ * Access rules match {@link Field#get}/{@link Field#set}: the field must be
+ * public or have been made accessible before the accessor is created
+ *
+ * @see ClassAccessors#field(Field)
+ *
+ * @author Cammy
+ */
+public final class FieldAccessor {
+
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Field field;
+    private final MethodHandle getter;
+    private final @Nullable MethodHandle setter;
+
+    FieldAccessor(@NotNull Field field) throws IllegalAccessException {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        boolean isStatic = Modifier.isStatic(field.getModifiers());
+
+        MethodHandle get = lookup.unreflectGetter(field);
+        if (isStatic) get = MethodHandles.dropArguments(get, 0, Object.class);
+
+        MethodHandle set;
+        try {
+            set = lookup.unreflectSetter(field);
+            if (isStatic) set = MethodHandles.dropArguments(set, 0, Object.class);
+        } catch (IllegalAccessException e) {
+            // Final field without write access; set() reports it
+            set = null;
+        }
+
+        this.field = field;
+        this.getter = get.asType(GETTER);
+        this.setter = set == null ? null : set.asType(SETTER);
+    }
+
+    /**
+     * @return the underlying field
+     */
+    public @NotNull Field field() {
+        return field;
+    }
+
+    /**
+     * @param instance the owning instance, ignored for static fields
+     * @return the field's value, boxed for primitives
+     */
+    public Object get(Object instance) {
+        try {
+            return (Object) getter.invokeExact(instance);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new RuntimeException("Failed to read " + field, t);
+        }
+    }
+
+    /**
+     * @param instance the owning instance, ignored for static fields
+     * @param value the new value, unboxed for primitives
+     */
+    public void set(Object instance, Object value) {
+        if (setter == null) {
+            throw new RuntimeException(new IllegalAccessException("Cannot write final field " + field));
+        }
+        try {
+            setter.invokeExact(instance, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new RuntimeException("Failed to write " + field, t);
+        }
+    }
+
+}
@@ -9,28 +9,31 @@ import java.lang.reflect.Type;
 @UtilityClass
 public class ReflectionUtils {
 
+    /**
+     * Instantiates a class through its cached no-arg constructor
+     *
+     * @see ClassAccessors#newInstance()
+     */
     public <T> T instantiate(Class<? extends T> cls) {
-        try {
-            return cls.getDeclaredConstructor().newInstance();
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to instantiate " + cls, e);
-        }
+        return ClassAccessors.of(cls).newInstance();
     }
 
+    /**
+     * Reads a field through its cached accessor
+     *
+     * @see ClassAccessors#field(Field)
+     */
     public Object getFieldValue(Field f, Object instance) {
-        try {
-            return f.get(instance);
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException(e);
-        }
+        return ClassAccessors.of(f.getDeclaringClass()).field(f).get(instance);
     }
 
+    /**
+     * Writes a field through its cached accessor
+     *
+     * @see ClassAccessors#field(Field)
+     */
     public void setFieldValue(Field f, Object instance, Object value) {
-        try {
-            f.set(instance, value);
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException(e);
-        }
+        ClassAccessors.of(f.getDeclaringClass()).field(f).set(instance, value);
     }
 
     /**
@@ -40,6 +43,7 @@ public class ReflectionUtils {
      * @param index the position of the type argument (0 for first, etc.)
      * @param fallback the fallback if extraction fails
      * @return the extracted type argument, or fallback
+     * @see com.glance.codex.utils.data.codec.CodecBinding#argument(int) for a cached alternative
      */
     public Type extractTypeArgument(Type type, int index, Type fallback) {
         if (type instanceof ParameterizedType pt) {